@@ -0,0 +1,105 @@
+package sprint.server.domain.track;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import sprint.server.domain.RunningRawData;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.StringTokenizer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 러닝 종료 시 거리 계산 비교
+ * ./gradlew jmh
+ *
+ * - legacy : 기존 calculateTotalDistance (StringTokenizer + Timestamp.valueOf + Math.pow)
+ * - haversine / equirectangular : 미리 파싱해둔 primitive 배열에 대한 DistanceKernel
+ * - accumulator : 실제 종료 요청 경로 (문자열 시간 파싱 + TrackAccumulator)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DistanceKernelBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int points;
+
+    private List<RunningRawData> rawData;
+    private double[] latitude;
+    private double[] longitude;
+    private long[] epochMillis;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        rawData = new ArrayList<>(points);
+        latitude = new double[points];
+        longitude = new double[points];
+        epochMillis = new long[points];
+
+        long time = TrackTimestamps.toEpochMillis("2022-08-02 07:48:26.382Z");
+        double lat = 37.33028771;
+        double lon = 127.02810514;
+        for (int i = 0; i < points; i++) {
+            //가끔 멈춘 구간이 생기도록 간격을 섞는다
+            time += i % 200 == 0 ? 5000 : 900 + random.nextInt(200);
+            lat += (random.nextDouble() - 0.5) * 0.0001;
+            lon += (random.nextDouble() - 0.5) * 0.0001;
+            latitude[i] = lat;
+            longitude[i] = lon;
+            epochMillis[i] = time;
+            rawData.add(new RunningRawData(null, lat, lon, 3.0, TrackTimestamps.toTimestampString(time)));
+        }
+    }
+
+    @Benchmark
+    public double legacy() {
+        double distance = 0;
+        for (int i = 0; i < rawData.size() - 1; i++) {
+            Timestamp t1 = Timestamp.valueOf(new StringTokenizer(rawData.get(i).getTimestamp(), "Z").nextToken());
+            Timestamp t2 = Timestamp.valueOf(new StringTokenizer(rawData.get(i + 1).getTimestamp(), "Z").nextToken());
+            if (t2.getTime() - t1.getTime() > 1500) continue;
+            distance += legacyDistance(rawData.get(i).getLongitude(), rawData.get(i + 1).getLongitude(),
+                    rawData.get(i).getLatitude(), rawData.get(i + 1).getLatitude());
+        }
+        return distance;
+    }
+
+    @Benchmark
+    public double haversine() {
+        return DistanceKernel.HAVERSINE.totalDistance(latitude, longitude, epochMillis, points);
+    }
+
+    @Benchmark
+    public double equirectangular() {
+        return DistanceKernel.EQUIRECTANGULAR.totalDistance(latitude, longitude, epochMillis, points);
+    }
+
+    @Benchmark
+    public double accumulator() {
+        TrackAccumulator accumulator = new TrackAccumulator(DistanceKernel.HAVERSINE);
+        for (RunningRawData data : rawData) {
+            accumulator.add(data.getLatitude(), data.getLongitude(), TrackTimestamps.toEpochMillis(data.getTimestamp()));
+        }
+        return accumulator.getDistance();
+    }
+
+    private static double legacyDistance(double startLongitude, double endLongitude, double startLatitude, double endLatitude) {
+        double dLat = (endLatitude - startLatitude) * Math.PI / 180.0;
+        double dLon = (endLongitude - startLongitude) * Math.PI / 180.0;
+        double a = Math.pow(Math.sin(dLat / 2), 2) +
+                Math.pow(Math.sin(dLon / 2), 2) *
+                        Math.cos(startLatitude * Math.PI / 180.0) *
+                        Math.cos(endLatitude * Math.PI / 180.0);
+        return 6378137.0 * 2 * Math.asin(Math.sqrt(a));
+    }
+}
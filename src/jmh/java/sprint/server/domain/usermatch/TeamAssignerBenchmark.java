@@ -0,0 +1,80 @@
+package sprint.server.domain.usermatch;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 리그 매칭의 팀 나누기 비교
+ * ./gradlew jmh
+ *
+ * - legacy : 기존 matchingApplyUser 의 applyList.indexOf(apply) 루프 (O(n²), 신청자 수를 줄여서 측정)
+ * - teamAssigner : primitive 배열 정렬 후 5명씩 나누기 (MatchingEngine 의 메모리 단계)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TeamAssignerBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int applicants;
+
+    private long[] memberIds;
+    private long[] scores;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        memberIds = new long[applicants];
+        scores = new long[applicants];
+        for (int i = 0; i < applicants; i++) {
+            memberIds[i] = i + 1;
+            scores[i] = (long) (random.nextDouble() * 1000_000_000);
+        }
+    }
+
+    @Benchmark
+    public int[] teamAssigner() {
+        return TeamAssigner.assign(memberIds, scores, applicants);
+    }
+
+    @State(Scope.Benchmark)
+    public static class LegacyState {
+        @Param({"10000"})
+        private int legacyApplicants;
+        private List<UserMatchApply> applyList;
+
+        @Setup
+        public void setUp() {
+            Random random = new Random(42);
+            applyList = new ArrayList<>(legacyApplicants);
+            for (int i = 0; i < legacyApplicants; i++) {
+                applyList.add(new UserMatchApply(new UserMatchApplyId((long) i + 1, null), MatchStatus.WAIT,
+                        (long) (random.nextDouble() * 1000_000_000)));
+            }
+        }
+    }
+
+    @Benchmark
+    public int legacy(LegacyState state) {
+        int matchingNumber = 0;
+        int sum = 0;
+        for (UserMatchApply apply : state.applyList) {
+            if (state.applyList.indexOf(apply) % 5 == 0) {
+                matchingNumber++;
+            }
+            sum += matchingNumber;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,156 @@
+package sprint.server.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import sprint.server.controller.datatransferobject.response.StatisticsCacheMetricsResponse;
+import sprint.server.controller.datatransferobject.response.StatisticsInfoVO;
+import sprint.server.domain.statistics.StatisticsType;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * (멤버, 통계 타입, 기간 시작시간) 별 통계 조회 결과 캐시
+ * 크기가 정해져 있고 가장 오래 조회되지 않은 항목부터 내보낸다 (LRU)
+ * 러닝 종료로 통계가 바뀌면 그 러닝이 속한 기간의 항목만 지운다 (StatisticsService.accumulateStatistics)
+ */
+@Component
+public class StatisticsCache {
+
+    private final int capacity;
+    private final Map<Key, StatisticsInfoVO> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    // 조회하는 동안 같은 키가 무효화되었으면 조회한 값이 이미 지난 값일 수 있으므로 저장하지 않는다
+    // 키별 마지막 무효화 시점을 오래된 순서로 capacity 개까지 기억하고, 잊어버린 시점 이전에 시작한 조회는 저장하지 않는다
+    private final AtomicLong clock = new AtomicLong();
+    private final Map<Key, Long> invalidatedAt;
+    private long forgottenBefore;
+
+    public StatisticsCache(@Value("${sprint.statistics.cache-size:10000}") int capacity) {
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, StatisticsInfoVO> eldest) {
+                if (size() <= StatisticsCache.this.capacity) return false;
+                evictions.increment();
+                return true;
+            }
+        };
+        this.invalidatedAt = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Long> eldest) {
+                if (size() <= StatisticsCache.this.capacity) return false;
+                forgottenBefore = eldest.getValue();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * @param bucket 기간 시작시간 (전체 통계는 0)
+     * @param loader 캐시에 없을때 조회하는 함수
+     */
+    public StatisticsInfoVO get(Long memberId, StatisticsType statisticsType, long bucket, Supplier<StatisticsInfoVO> loader) {
+        Key key = new Key(memberId, statisticsType, bucket);
+        StatisticsInfoVO value;
+        synchronized (entries) {
+            value = entries.get(key);
+        }
+        if (value != null) {
+            hits.increment();
+            return value;
+        }
+        misses.increment();
+        long version = clock.get();
+        value = loader.get();
+        put(key, value, version);
+        return value;
+    }
+
+    public StatisticsInfoVO getIfPresent(Long memberId, StatisticsType statisticsType, long bucket) {
+        StatisticsInfoVO value;
+        synchronized (entries) {
+            value = entries.get(new Key(memberId, statisticsType, bucket));
+        }
+        if (value != null) hits.increment();
+        else misses.increment();
+        return value;
+    }
+
+    /**
+     * @return 조회를 시작할때의 무효화 시점 (put 에 넘긴다)
+     */
+    public long version() {
+        return clock.get();
+    }
+
+    public void put(Long memberId, StatisticsType statisticsType, long bucket, StatisticsInfoVO value, long version) {
+        put(new Key(memberId, statisticsType, bucket), value, version);
+    }
+
+    public void evict(Long memberId, StatisticsType statisticsType, long bucket) {
+        Key key = new Key(memberId, statisticsType, bucket);
+        synchronized (entries) {
+            entries.remove(key);
+            //오래된 순서를 유지하도록 지우고 다시 넣는다
+            invalidatedAt.remove(key);
+            invalidatedAt.put(key, clock.incrementAndGet());
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            invalidatedAt.clear();
+            forgottenBefore = clock.incrementAndGet();
+        }
+    }
+
+    public StatisticsCacheMetricsResponse getMetrics() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new StatisticsCacheMetricsResponse(size, capacity, hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    private void put(Key key, StatisticsInfoVO value, long version) {
+        synchronized (entries) {
+            if (version < forgottenBefore) return;
+            Long invalidated = invalidatedAt.get(key);
+            if (invalidated != null && invalidated > version) return;
+            entries.put(key, value);
+        }
+    }
+
+    private static class Key {
+        private final Long memberId;
+        private final StatisticsType statisticsType;
+        private final long bucket;
+
+        private Key(Long memberId, StatisticsType statisticsType, long bucket) {
+            this.memberId = memberId;
+            this.statisticsType = statisticsType;
+            this.bucket = bucket;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return bucket == key.bucket && memberId.equals(key.memberId) && statisticsType == key.statisticsType;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(memberId, statisticsType, bucket);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package sprint.server.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class AsyncConfig implements WebMvcConfigurer {
+
+    private static final long EXPORT_TIMEOUT_MILLIS = 30 * 60 * 1000L;
+
+    /**
+     * 러닝 종료 후처리용 스레드풀
+     * 큐가 가득 차면 작업을 거절하고, 거절된 작업은 outbox 스케줄러가 재시도한다
+     */
+    @Bean(name = "runningEventExecutor")
+    public ThreadPoolTaskExecutor runningEventExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(500);
+        executor.setThreadNamePrefix("running-event-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * 기록 내보내기(StreamingResponseBody)용 스레드풀
+     * 내보내기는 커넥션을 오래 잡고 있으므로 동시에 실행되는 수를 제한한다
+     */
+    @Bean(name = "exportExecutor")
+    public ThreadPoolTaskExecutor exportExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("export-");
+        return executor;
+    }
+
+    /**
+     * 리그 정산용 스레드풀
+     * 팀 청크마다 트랜잭션(커넥션)을 하나씩 사용하므로 커넥션 풀보다 작게 유지한다
+     */
+    @Bean(name = "leagueSettlementExecutor")
+    public ThreadPoolTaskExecutor leagueSettlementExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.setThreadNamePrefix("league-settlement-");
+        return executor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(exportExecutor());
+        configurer.setDefaultTimeout(EXPORT_TIMEOUT_MILLIS);
+    }
+}
@@ -0,0 +1,25 @@
+package sprint.server.config;
+
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JpaConfig {
+
+    /**
+     * JDBC 배치 설정
+     * 엔티티별 시퀀스를 50개씩 미리 할당(pooled-lo)하기 때문에 insert 마다 id 를 조회하지 않고,
+     * 같은 테이블의 insert/update 를 모아서 한번에 보낸다
+     */
+    @Bean
+    public HibernatePropertiesCustomizer batchPropertiesCustomizer() {
+        return properties -> {
+            properties.putIfAbsent("hibernate.jdbc.batch_size", 100);
+            properties.putIfAbsent("hibernate.order_inserts", true);
+            properties.putIfAbsent("hibernate.order_updates", true);
+            properties.putIfAbsent("hibernate.jdbc.batch_versioned_data", true);
+            properties.putIfAbsent("hibernate.id.optimizer.pooled.preferred", "pooled-lo");
+        };
+    }
+}
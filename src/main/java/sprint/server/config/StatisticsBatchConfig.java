@@ -0,0 +1,261 @@
+package sprint.server.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersInvalidException;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.launch.support.RunIdIncrementer;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.core.partition.support.TaskExecutorPartitionHandler;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.database.JdbcPagingItemReader;
+import org.springframework.batch.item.database.Order;
+import org.springframework.batch.item.database.builder.JdbcPagingItemReaderBuilder;
+import org.springframework.batch.item.database.support.MySqlPagingQueryProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import sprint.server.domain.member.Member;
+import sprint.server.domain.statistics.Statistics;
+import sprint.server.domain.statistics.StatisticsType;
+import sprint.server.repository.MemberRepository;
+import sprint.server.repository.StatisticsRepository;
+import sprint.server.repository.StatisticsRepository.StatisticsSum;
+import sprint.server.service.StatisticsService;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 지난 주/월/년 통계를 저장하는 배치
+ *
+ * 멤버 아이디 범위로 파티션을 나누어 스레드풀에서 동시에 처리하고, 파티션 안에서는 멤버 아이디를 키로 페이징해서 읽는다
+ * (재시작하면 완료된 파티션은 건너뛰고, 실패한 파티션은 마지막으로 커밋된 멤버 다음부터 읽는다)
+ * 이미 통계 행이 있는 멤버는 러닝 종료 시 누적(StatisticsService.accumulateStatistics)되고 있으므로 건너뛰고
+ * 없는 멤버만 청크 단위로 한번에 저장한다
+ * 러닝 종료와 같은 기간 행을 두번 만들지 않도록 멤버 행을 잠그고 다시 확인한 뒤 저장한다
+ *
+ * 잡 파라미터
+ * - statisticsType : Weekly/Monthly/Yearly (기본값 Weekly)
+ * - baseDate : 기간에 포함되는 날짜 yyyy-MM-dd (기본값 지난 기간의 마지막 날)
+ * 끝나지 않은 기간은 실행하지 않는다 (파라미터 없이 실행되는 서버 시작시에도 지난 기간만 처리한다)
+ * 같은 파라미터로 다시 실행하면 실패한 파티션만 이어서 처리한다
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class StatisticsBatchConfig {
+
+    public static final String JOB_NAME = "statisticsJob";
+    private static final int GRID_SIZE = 8;
+    private static final int CHUNK_SIZE = 500;
+
+    private final JobBuilderFactory jobBuilderFactory;
+    private final StepBuilderFactory stepBuilderFactory;
+    private final PlatformTransactionManager transactionManager;
+    private final DataSource dataSource;
+    private final MemberRepository memberRepository;
+    private final StatisticsRepository statisticsRepository;
+    private final StatisticsService statisticsService;
+
+    @Bean
+    public Job statisticsJob() {
+        return jobBuilderFactory.get(JOB_NAME)
+                .incrementer(new RunIdIncrementer())
+                .validator(this::validateClosedPeriod)
+                .start(statisticsManagerStep())
+                .build();
+    }
+
+    @Bean
+    public Step statisticsManagerStep() {
+        return stepBuilderFactory.get("statisticsManagerStep")
+                .partitioner("statisticsWorkerStep", memberRangePartitioner())
+                .partitionHandler(statisticsPartitionHandler())
+                .build();
+    }
+
+    @Bean
+    public TaskExecutorPartitionHandler statisticsPartitionHandler() {
+        TaskExecutorPartitionHandler partitionHandler = new TaskExecutorPartitionHandler();
+        partitionHandler.setStep(statisticsWorkerStep());
+        partitionHandler.setTaskExecutor(statisticsBatchExecutor());
+        partitionHandler.setGridSize(GRID_SIZE);
+        return partitionHandler;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor statisticsBatchExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.setThreadNamePrefix("statistics-batch-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    @Bean
+    public Step statisticsWorkerStep() {
+        return stepBuilderFactory.get("statisticsWorkerStep")
+                .transactionManager(transactionManager)
+                .<Long, Long>chunk(CHUNK_SIZE)
+                .reader(memberIdReader(null, null))
+                .writer(statisticsWriter(null, null))
+                .build();
+    }
+
+    /**
+     * 멤버 아이디 전체 범위를 gridSize 개의 연속된 구간으로 나눈다
+     */
+    @Bean
+    public Partitioner memberRangePartitioner() {
+        return gridSize -> {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            Long minId = jdbcTemplate.queryForObject("select min(member_id) from member", Long.class);
+            Long maxId = jdbcTemplate.queryForObject("select max(member_id) from member", Long.class);
+            Map<String, ExecutionContext> partitions = new HashMap<>();
+            if (minId == null) return partitions;
+            long range = (maxId - minId) / gridSize + 1;
+            for (int i = 0; i < gridSize; i++) {
+                long start = minId + range * i;
+                if (start > maxId) break;
+                ExecutionContext context = new ExecutionContext();
+                context.putLong("minId", start);
+                context.putLong("maxId", Math.min(start + range - 1, maxId));
+                partitions.put("partition" + i, context);
+            }
+            return partitions;
+        };
+    }
+
+    @Bean
+    @StepScope
+    public JdbcPagingItemReader<Long> memberIdReader(
+            @Value("#{stepExecutionContext['minId']}") Long minId,
+            @Value("#{stepExecutionContext['maxId']}") Long maxId) {
+        MySqlPagingQueryProvider queryProvider = new MySqlPagingQueryProvider();
+        queryProvider.setSelectClause("member_id");
+        queryProvider.setFromClause("member");
+        queryProvider.setWhereClause("member_id between :minId and :maxId");
+        queryProvider.setSortKeys(Collections.singletonMap("member_id", Order.ASCENDING));
+
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("minId", minId);
+        parameters.put("maxId", maxId);
+
+        return new JdbcPagingItemReaderBuilder<Long>()
+                .name("memberIdReader")
+                .dataSource(dataSource)
+                .queryProvider(queryProvider)
+                .parameterValues(parameters)
+                .pageSize(CHUNK_SIZE)
+                .rowMapper((rs, rowNum) -> rs.getLong("member_id"))
+                .build();
+    }
+
+    /**
+     * 청크의 멤버들의 일별 통계 합계를 쿼리 한번으로 구하고, 해당 기간 통계 행이 없는 멤버만 한번에 저장한다
+     * 러닝 기록이 없는 멤버는 행을 만들지 않는다 (조회 시 0으로 계산된다)
+     * 행을 만들 멤버들을 아이디 순서로 잠근 뒤 잠금 읽기로 기존 행을 확인한다 (StatisticsService 의 러닝 종료와 같은 잠금)
+     */
+    @Bean
+    @StepScope
+    public ItemWriter<Long> statisticsWriter(
+            @Value("#{jobParameters['statisticsType']}") String statisticsType,
+            @Value("#{jobParameters['baseDate']}") String baseDate) {
+        StatisticsType type = statisticsType(statisticsType);
+        Timestamp[] period = period(statisticsType, baseDate);
+        return memberIds -> {
+            List<StatisticsSum> sums = statisticsRepository.sumByMemberIds(StatisticsType.Daily, memberIds, period[0], period[1]);
+            if (sums.isEmpty()) return;
+            Map<Long, Member> members = memberRepository.findAllWithLockByIdIn(sums.stream()
+                            .map(StatisticsSum::getMemberId).collect(Collectors.toList())).stream()
+                    .collect(Collectors.toMap(Member::getId, Function.identity()));
+            Set<Long> existing = statisticsRepository.findPeriodsForShare(type, members.keySet(), period[0], period[1]).stream()
+                    .map(statistics -> statistics.getMember().getId())
+                    .collect(Collectors.toSet());
+            List<Statistics> created = new ArrayList<>();
+            for (StatisticsSum sum : sums) {
+                if (existing.contains(sum.getMemberId()) || !members.containsKey(sum.getMemberId())) continue;
+                created.add(Statistics.builder()
+                        .member(members.get(sum.getMemberId()))
+                        .distance(sum.getDistance())
+                        .totalSeconds(sum.getTotalSeconds())
+                        .count(sum.getRunningCount().intValue())
+                        .energy(sum.getEnergy())
+                        .time(period[0])
+                        .statisticsType(type)
+                        .build());
+            }
+            statisticsRepository.saveAll(created);
+            log.info("statistics batch : {} {} created {} / {} members", type, period[0], created.size(), memberIds.size());
+        };
+    }
+
+    //내부 로직
+
+    /**
+     * 끝나지 않은 기간의 통계 행을 만들면 그 뒤의 러닝이 빠진 값으로 저장되므로 실행하지 않는다
+     */
+    private void validateClosedPeriod(JobParameters parameters) throws JobParametersInvalidException {
+        String statisticsType = parameters == null ? null : parameters.getString("statisticsType");
+        String baseDate = parameters == null ? null : parameters.getString("baseDate");
+        Timestamp[] period;
+        try {
+            period = period(statisticsType, baseDate);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new JobParametersInvalidException(e.getMessage());
+        }
+        if (period[1].getTime() >= System.currentTimeMillis()) {
+            throw new JobParametersInvalidException("statistics period is not closed : " + statisticsType + " " + period[0]);
+        }
+    }
+
+    private StatisticsType statisticsType(String statisticsType) {
+        StatisticsType type = statisticsType == null ? StatisticsType.Weekly : StatisticsType.valueOf(statisticsType);
+        if (type == StatisticsType.Daily || type == StatisticsType.Totally) {
+            throw new IllegalArgumentException("unsupported statistics type : " + type);
+        }
+        return type;
+    }
+
+    /**
+     * @return 기준 날짜가 포함된 기간의 [시작시간, 종료시간]
+     */
+    private Timestamp[] period(String statisticsType, String baseDate) {
+        StatisticsType type = statisticsType(statisticsType);
+        Timestamp base = baseDate == null ? lastClosedDate(type) : Timestamp.valueOf(LocalDate.parse(baseDate).atStartOfDay());
+        return new Timestamp[]{
+                new Timestamp(statisticsService.getCalendarStart(base, type).getTimeInMillis()),
+                new Timestamp(statisticsService.getCalendarEnd(base, type).getTimeInMillis())};
+    }
+
+    /**
+     * @return 지금이 속한 기간 바로 전 기간의 마지막 날
+     */
+    private Timestamp lastClosedDate(StatisticsType type) {
+        Calendar start = statisticsService.getCalendarStart(new Timestamp(System.currentTimeMillis()), type);
+        start.add(Calendar.DATE, -1);
+        return new Timestamp(start.getTimeInMillis());
+    }
+}
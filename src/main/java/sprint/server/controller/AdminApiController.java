@@ -0,0 +1,48 @@
+package sprint.server.controller;
+
+import io.swagger.annotations.ApiOperation;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.*;
+import sprint.server.cache.StatisticsCache;
+import sprint.server.controller.datatransferobject.response.StatisticsCacheMetricsResponse;
+import sprint.server.controller.datatransferobject.response.StatisticsRebuildReport;
+import sprint.server.service.RunningService;
+import sprint.server.service.StatisticsRebuildService;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/admin/")
+public class AdminApiController {
+
+    private final RunningService runningService;
+    private final StatisticsCache statisticsCache;
+    private final StatisticsRebuildService statisticsRebuildService;
+
+    @ApiOperation(value="관리자용/로우데이터 트랙 변환", notes = "기존 RunningRawData 행을 러닝별 트랙 blob으로 옮깁니다.\n" +
+            "옮겨진 러닝 개수를 반환하며, 0이 반환될때까지 반복 호출합니다")
+    @PostMapping("running/track-migration")
+    public int migrateRunningTrack(@RequestParam(value="batchSize", defaultValue = "100") int batchSize){
+        int migrated = runningService.migrateLegacyRawData(batchSize);
+        log.info("running track migration : {} runnings", migrated);
+        return migrated;
+    }
+
+    @ApiOperation(value="관리자용/통계 캐시 지표", notes = "통계 캐시의 크기, 적중/미스/내보낸 횟수를 반환합니다")
+    @GetMapping("statistics/cache")
+    public StatisticsCacheMetricsResponse statisticsCacheMetrics(){
+        return statisticsCache.getMetrics();
+    }
+
+    @ApiOperation(value="관리자용/통계 재계산", notes = "전체 러닝 기록으로 일/주/월/년/전체 통계를 다시 계산하고 기존 통계와의 차이를 반환합니다\n" +
+            "apply=false(기본값) 이면 차이만 확인하고, apply=true 이면 기존 통계를 지우고 다시 저장합니다 (점검 시간에 실행)\n" +
+            "memberId 를 넣으면 해당 멤버들만 다시 계산합니다")
+    @PostMapping("statistics/rebuild")
+    public StatisticsRebuildReport rebuildStatistics(@RequestParam(value="apply", defaultValue = "false") boolean apply,
+                                                     @RequestParam(value="memberId", required = false) List<Long> memberIds){
+        return statisticsRebuildService.rebuild(apply, memberIds == null || memberIds.isEmpty() ? null : memberIds);
+    }
+}
@@ -14,6 +14,7 @@ import sprint.server.domain.Groups;
 import sprint.server.domain.groupmember.GroupMember;
 import sprint.server.domain.groupmember.GroupMemberState;
 import sprint.server.domain.member.Member;
+import sprint.server.domain.statistics.StatisticsType;
 import sprint.server.service.GroupService;
 import sprint.server.service.MemberService;
 import sprint.server.service.StatisticsService;
@@ -153,7 +154,7 @@ public class GroupsApiController {
         Groups group = groupService.findGroupByGroupId(groupId);
         List<Member> memberList = groupService.findAllMemberByGroup(group);
         List<GroupUserDataVo> groupWeeklyUserDataVoList = memberList.stream()
-                .map(m -> new GroupUserDataVo(m, statisticsService.findWeeklyStatistics(m.getId(), Calendar.getInstance())))
+                .map(m -> new GroupUserDataVo(m, statisticsService.findCachedStatistics(m.getId(), Calendar.getInstance(), StatisticsType.Weekly)))
                 .collect(Collectors.toList());
         GroupWeeklyUserDataDto groupWeeklyUserDataDto = new GroupWeeklyUserDataDto(groupWeeklyUserDataVoList.size(), groupWeeklyUserDataVoList);
         double totalTime = groupWeeklyUserDataVoList.stream().mapToDouble(GroupUserDataVo::getTotalSeconds).sum();
@@ -172,7 +173,7 @@ public class GroupsApiController {
         Groups group = groupService.findGroupByGroupId(groupId);
         List<Member> memberList = groupService.findAllMemberByGroup(group);
         List<GroupUserDataVo> groupUserDataVoList = memberList.stream()
-                .map(m -> new GroupUserDataVo(m, statisticsService.findWeeklyStatistics(m.getId(), Calendar.getInstance())))
+                .map(m -> new GroupUserDataVo(m, statisticsService.findCachedStatistics(m.getId(), Calendar.getInstance(), StatisticsType.Weekly)))
                 .sorted(GroupUserDataVo.COMPARE_BY_NICKNAME)
                 .collect(Collectors.toList());
         log.info("Group ID : {}, 모든 그룹원 정보 불러오기 완료", groupId);
@@ -0,0 +1,48 @@
+package sprint.server.controller;
+
+import io.swagger.annotations.ApiOperation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+import sprint.server.controller.datatransferobject.response.LeaderboardEntryResponse;
+import sprint.server.controller.datatransferobject.response.MyLeaderboardResponse;
+import sprint.server.domain.statistics.StatisticsType;
+import sprint.server.service.LeaderboardService;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/leaderboard/")
+public class LeaderboardApiController {
+
+    private final LeaderboardService leaderboardService;
+
+    @ApiOperation(value="리더보드 상위 순위 반환", notes = "이번 주(Weekly), 이번 달(Monthly), 전체(Totally) 거리 순위를 1위부터 size 명(최대 100) 반환합니다")
+    @GetMapping("{type}/top")
+    public List<LeaderboardEntryResponse> viewTop(@PathVariable("type") StatisticsType statisticsType,
+                                                  @RequestParam(value="size", defaultValue = "10") int size){
+        return leaderboardService.findTop(statisticsType, size);
+    }
+
+    @ApiOperation(value="내 순위 반환", notes = "기간 내 기록이 없으면 rank 는 null 입니다")
+    @GetMapping("{type}/me")
+    public MyLeaderboardResponse viewMyRank(@PathVariable("type") StatisticsType statisticsType,
+                                            @RequestParam("userId") Long memberId){
+        return leaderboardService.findMyRank(statisticsType, memberId);
+    }
+
+    @ApiOperation(value="내 주변 순위 반환", notes = "내 순위 앞뒤로 radius 명씩 반환합니다")
+    @GetMapping("{type}/around")
+    public List<LeaderboardEntryResponse> viewAround(@PathVariable("type") StatisticsType statisticsType,
+                                                     @RequestParam("userId") Long memberId,
+                                                     @RequestParam(value="radius", defaultValue = "5") int radius){
+        return leaderboardService.findAround(statisticsType, memberId, radius);
+    }
+
+    @ApiOperation(value="친구 순위 반환", notes = "나와 친구들의 순위를 반환합니다. 기록이 없는 친구는 거리 0 으로 포함됩니다")
+    @GetMapping("{type}/friends")
+    public List<LeaderboardEntryResponse> viewFriends(@PathVariable("type") StatisticsType statisticsType,
+                                                      @RequestParam("userId") Long memberId){
+        return leaderboardService.findFriends(statisticsType, memberId);
+    }
+}
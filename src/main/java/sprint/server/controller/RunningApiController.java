@@ -1,22 +1,38 @@
 package sprint.server.controller;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.annotations.ApiImplicitParam;
 import io.swagger.annotations.ApiOperation;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import sprint.server.controller.datatransferobject.response.*;
+import sprint.server.controller.datatransferobject.request.AddRunningPointsRequest;
 import sprint.server.controller.datatransferobject.request.CreateRunningRequest;
 import sprint.server.controller.datatransferobject.request.FinishRunningRequest;
+import sprint.server.controller.datatransferobject.request.FinishRunningStream;
+import sprint.server.controller.exception.ApiException;
+import sprint.server.controller.exception.ExceptionEnum;
 import sprint.server.domain.Running;
 import sprint.server.domain.friend.FriendState;
 import sprint.server.domain.member.Member;
-import sprint.server.domain.statistics.StatisticsType;
+import sprint.server.domain.track.RunningProgress;
+import sprint.server.domain.track.TrackAccumulator;
+import sprint.server.domain.track.TrackResolution;
+import sprint.server.service.ExportFormat;
+import sprint.server.service.ExportService;
 import sprint.server.service.FriendService;
 import sprint.server.service.MemberService;
 import sprint.server.service.RunningService;
-import sprint.server.service.StatisticsService;
+import sprint.server.service.TimelineService;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
+import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.util.List;
 
@@ -27,8 +43,10 @@ public class RunningApiController {
 
     private final RunningService runningService;
     private final MemberService memberService;
-    private final StatisticsService statisticsService;
     private final FriendService friendService;
+    private final TimelineService timelineService;
+    private final ExportService exportService;
+    private final ObjectMapper objectMapper;
 
 
     @ApiOperation(value="개발자용/러닝 시작", notes = "성공시 저장된 runningId를 반환합니다")
@@ -38,14 +56,11 @@ public class RunningApiController {
         Long runningId = runningService.addRun(member,request.getStartTime());
         return new CreateRunningResponse(runningId);
     }
-    @ApiOperation(value="개발자용/러닝 종료", notes = "성공시 저장및 계산된 running 정보를 반환합니다. 통계정보가 존재하지 않는다면 통계정보도 생성 및 업데이트 시켜줍니다")
+    @ApiOperation(value="개발자용/러닝 종료", notes = "성공시 저장및 계산된 running 정보를 반환합니다. 통계정보가 존재하지 않는다면 통계정보도 생성 및 업데이트 시켜줍니다\n" +
+            "통계 업데이트는 러닝 저장 후 비동기로 처리됩니다")
     @PostMapping("developer/finish")
     public FinishRunningResponse developFinishRunning(@RequestBody @Valid FinishRunningRequest request) throws JsonProcessingException {
         Running running = runningService.finishRunning(request);
-        statisticsService.updateStatistics(running, StatisticsType.Daily);
-        statisticsService.updateStatistics(running, StatisticsType.Weekly);
-        statisticsService.updateStatistics(running, StatisticsType.Monthly);
-        statisticsService.updateStatistics(running, StatisticsType.Yearly);
         return new FinishRunningResponse(running.getId(),running.getDistance(),running.getDuration(),running.getEnergy());
     }
 
@@ -57,19 +72,40 @@ public class RunningApiController {
         return new CreateRunningResponse(runningId);
     }
 
-    @ApiOperation(value="러닝 종료", notes = "성공시 저장및 계산된 running 정보를 반환합니다")
+    @ApiOperation(value="러닝 종료", notes = "성공시 저장및 계산된 running 정보를 반환합니다. 통계 업데이트는 러닝 저장 후 비동기로 처리됩니다\n" +
+            "runningData는 한번에 바인딩하지 않고 포인트 단위로 읽어서 처리합니다")
+    @ApiImplicitParam(name = "request", paramType = "body", dataTypeClass = FinishRunningRequest.class)
     @PostMapping("finish")
-    public FinishRunningResponse finishRunning(@RequestBody @Valid FinishRunningRequest request) throws JsonProcessingException {
+    public FinishRunningResponse finishRunning(HttpServletRequest httpServletRequest) throws IOException {
+        FinishRunningStream request;
+        try (JsonParser parser = objectMapper.getFactory().createParser(httpServletRequest.getInputStream())) {
+            request = FinishRunningStream.read(parser, runningService.newTrackAccumulator());
+        } catch (JsonProcessingException e) {
+            throw new ApiException(ExceptionEnum.RUNNING_INVALID_REQUEST, e.getOriginalMessage());
+        }
         Running running = runningService.finishRunning(request);
-        statisticsService.updateStatistics(running, StatisticsType.Daily);
         return new FinishRunningResponse(running.getId(),running.getDistance(),running.getDuration(),running.getEnergy());
     }
 
 
-    @ApiOperation(value="러닝 정보 반환", notes = "성공시 저장된 running 정보의 자세한 정보들을 반환합니다")
+    @ApiOperation(value="러닝 중 포인트 업로드", notes = "러닝 중에 포인트를 묶음 단위로 업로드합니다.\n" +
+            "sequence는 1부터 순서대로 증가해야 하며, 이미 반영된 sequence를 다시 보내면 무시하고 현재 누적 정보를 반환합니다")
+    @PostMapping("{runningId}/points")
+    public RunningProgressResponse addRunningPoints(@PathVariable("runningId") Long runningId,
+                                                    @RequestBody @Valid AddRunningPointsRequest request) {
+        RunningProgress progress = runningService.addRunningPoints(runningId, request);
+        TrackAccumulator accumulator = progress.getAccumulator();
+        return new RunningProgressResponse(runningId, progress.getLastSequence(), accumulator.getPointCount(),
+                accumulator.getDistance(), accumulator.getMovingSeconds());
+    }
+
+
+    @ApiOperation(value="러닝 정보 반환", notes = "성공시 저장된 running 정보의 자세한 정보들을 반환합니다\n" +
+            "resolution(FULL, HIGH, MEDIUM, LOW)으로 단순화된 트랙을 받을 수 있으며 기본값은 FULL 입니다")
     @GetMapping("detail")
     public ViewRunningResponse viewRunningDetail(@RequestParam(value="runningId")Long runningId,
-                                                 @RequestParam(value="userId")Long memberId )throws JsonProcessingException{
+                                                 @RequestParam(value="userId")Long memberId,
+                                                 @RequestParam(value="resolution", defaultValue = "FULL") TrackResolution resolution)throws JsonProcessingException{
         Running running = runningService.findOne(runningId).get();
         /**
          * 아직 러닝 정보 공개 정책이 없기때문에 전부 받아서 반환해줌 -> 추후 수정 필요
@@ -77,34 +113,59 @@ public class RunningApiController {
 
         return new ViewRunningResponse(running.getId(),running.getDistance(),
                 running.getDuration(),running.getEnergy(),
-                running.getRunningRawDataList());
+                runningService.findRunningData(running, resolution));
     }
 
 
-    @ApiOperation(value="유저의 최근 러닝 3개 리스트 반환", notes = "성공시 저장된 3개의 running 정보를 반환합니다")
+    @ApiOperation(value="유저의 최근 러닝 3개 리스트 반환", notes = "성공시 저장된 3개의 running 정보를 반환합니다\n" +
+            "beforeRunningId에 이전 응답의 마지막 runningId를 넣으면 그 이전 러닝들을 반환합니다 (pageNumber보다 우선, 빈 리스트면 마지막)")
     @GetMapping("personal")
     public List<PersonalRunningInfoDTO> viewPersonalRecentRunningList(@RequestParam(value="userId")Long memberId,
-                                                                      @RequestParam(value="pageNumber") Integer pageNumber){
+                                                                      @RequestParam(value="pageNumber", required = false) Integer pageNumber,
+                                                                      @RequestParam(value="beforeRunningId", required = false) Long beforeRunningId){
         SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
         Member member = memberService.findById(memberId);
-        return runningService.fetchPersonalRunningPages(pageNumber,member).toList().stream()
+        Slice<Running> runnings = beforeRunningId == null && pageNumber != null
+                ? runningService.fetchPersonalRunningPages(pageNumber,member)
+                : runningService.fetchPersonalRunningSlice(beforeRunningId,member);
+        return runnings.stream()
                 .map(running -> new PersonalRunningInfoDTO(running.getId(),running.getDuration(),running.getDistance(),dateFormat.format(running.getStartTime()),running.getEnergy()))
                 .collect(java.util.stream.Collectors.toList());
     }
 
 
-    @ApiOperation(value="유저 및 친구의 최근 러닝 3개 리스트 반환", notes = "성공시 저장된 3개의 running 정보를 반환합니다")
+    @ApiOperation(value="유저 및 친구의 최근 러닝 3개 리스트 반환", notes = "성공시 저장된 3개의 running 정보를 반환합니다\n" +
+            "beforeRunningId에 이전 응답의 마지막 runningId를 넣으면 그 이전 러닝들을 반환합니다 (pageNumber보다 우선, 빈 리스트면 마지막)")
     @GetMapping("public")
     public List<PublicRunningInfoDTO> viewPublicRecentRunningList(@RequestParam(value="userId")Long memberId,
-                                                      @RequestParam(value="pageNumber") Integer pageNumber){
+                                                      @RequestParam(value="pageNumber", required = false) Integer pageNumber,
+                                                      @RequestParam(value="beforeRunningId", required = false) Long beforeRunningId){
         SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
         Member member = memberService.findById(memberId);
-        List<Member> relationMembers = friendService.findFriendsByMemberId(member, FriendState.ACCEPT);
-        relationMembers.add(member);
-        return runningService.fetchPublicRunningPages(pageNumber,relationMembers).toList().stream()
+        List<Running> runnings;
+        if(beforeRunningId == null && pageNumber != null){
+            List<Member> relationMembers = friendService.findFriendsByMemberId(member, FriendState.ACCEPT);
+            relationMembers.add(member);
+            runnings = runningService.fetchPublicRunningPages(pageNumber,relationMembers).getContent();
+        }else{
+            runnings = timelineService.fetchTimeline(member.getId(), beforeRunningId, 3);
+        }
+        return runnings.stream()
                 .map(running -> new PublicRunningInfoDTO(running.getId(),running.getMember().getId(),running.getDuration(),running.getDistance(),dateFormat.format(running.getStartTime()),running.getEnergy()))
                 .collect(java.util.stream.Collectors.toList());
     }
 
 
+    @ApiOperation(value="러닝 기록 내보내기", notes = "유저의 전체 러닝 기록을 파일로 내려받습니다\n" +
+            "format(CSV, GPX) 기본값은 CSV 이며 GPX 는 GPS 트랙을 포함합니다. gzip=true 이면 압축된 파일(.gz)로 내려받습니다")
+    @GetMapping("export")
+    public ResponseEntity<StreamingResponseBody> exportRunnings(@RequestParam(value="userId")Long memberId,
+                                                                @RequestParam(value="format", defaultValue = "CSV") ExportFormat format,
+                                                                @RequestParam(value="gzip", defaultValue = "false") boolean gzip){
+        Member member = memberService.findById(memberId);
+        return exportService.stream("running-" + member.getId(), format, gzip,
+                writer -> exportService.writeRunnings(member.getId(), format, writer));
+    }
+
+
 }
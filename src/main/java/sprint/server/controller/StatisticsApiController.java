@@ -2,12 +2,28 @@ package sprint.server.controller;
 
 import io.swagger.annotations.ApiOperation;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import sprint.server.controller.datatransferobject.response.PaceDistributionResponse;
+import sprint.server.controller.datatransferobject.response.RangeStatisticsResponse;
+import sprint.server.controller.datatransferobject.response.StatisticsInfoVO;
+import sprint.server.controller.datatransferobject.response.StreakResponse;
 import sprint.server.controller.datatransferobject.response.ViewStatisticsResponse;
+import sprint.server.domain.member.Member;
+import sprint.server.domain.statistics.StatisticsType;
+import sprint.server.service.ExportFormat;
+import sprint.server.service.ExportService;
+import sprint.server.service.MemberService;
+import sprint.server.service.PaceHistogramService;
+import sprint.server.service.StatisticsSeriesService;
 import sprint.server.service.StatisticsService;
 
+import java.time.LocalDate;
 import java.util.Calendar;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequiredArgsConstructor
@@ -15,19 +31,59 @@ import java.util.List;
 public class StatisticsApiController {
 
     private final StatisticsService statisticsService;
+    private final StatisticsSeriesService statisticsSeriesService;
+    private final MemberService memberService;
+    private final ExportService exportService;
+    private final PaceHistogramService paceHistogramService;
 
     @ApiOperation(value="통계 정보 반환", notes = "조회를 요청하는 날짜에 해당하는 전체 통계정보를 반환합니다")
     @GetMapping("{id}")
     public ViewStatisticsResponse viewStatisticsDetail(@PathVariable("id")Long memberID){
-        Calendar calendar = Calendar.getInstance();
+        Map<StatisticsType, StatisticsInfoVO> statistics = statisticsService.findAllStatistics(memberID, Calendar.getInstance());
         return new ViewStatisticsResponse(
-                statisticsService.findDailyStatistics(memberID,calendar),
-                statisticsService.findWeeklyStatistics(memberID,calendar),
-                statisticsService.findMonthlyStatistics(memberID,calendar),
-                statisticsService.findYearlyStatistics(memberID,calendar),
-                statisticsService.findTotalStatistics(memberID,calendar));
+                statistics.get(StatisticsType.Daily),
+                statistics.get(StatisticsType.Weekly),
+                statistics.get(StatisticsType.Monthly),
+                statistics.get(StatisticsType.Yearly),
+                statistics.get(StatisticsType.Totally));
+    }
+
+
+    @ApiOperation(value="기간 통계 반환", notes = "from 부터 to 까지(양 끝 포함, yyyy-MM-dd) 의 거리, 시간, 칼로리, 러닝 횟수 합계를 반환합니다")
+    @GetMapping("{id}/range")
+    public RangeStatisticsResponse viewRangeStatistics(@PathVariable("id")Long memberID,
+                                                       @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                       @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to){
+        return statisticsSeriesService.findRange(memberID, from, to);
     }
 
+    @ApiOperation(value="페이스 분포 반환", notes = "조회를 요청하는 날짜가 속한 기간(type)의 백분위별 페이스(초/km)를 반환합니다\n" +
+            "percentile 은 여러개 보낼 수 있으며 기본값은 10, 50, 90 입니다. 50 이면 전체 거리의 절반을 그 페이스 이하로 뛰었다는 뜻입니다")
+    @GetMapping("{id}/pace")
+    public PaceDistributionResponse viewPaceDistribution(@PathVariable("id")Long memberID,
+                                                         @RequestParam(value="type", defaultValue = "Monthly") StatisticsType statisticsType,
+                                                         @RequestParam(value="percentile", defaultValue = "10,50,90") List<Double> percentiles){
+        return paceHistogramService.findDistribution(memberID, statisticsType, Calendar.getInstance(), percentiles);
+    }
+
+    @ApiOperation(value="기간 페이스 분포 반환", notes = "from 부터 to 까지(양 끝 포함, yyyy-MM-dd) 의 백분위별 페이스(초/km)를 반환합니다")
+    @GetMapping("{id}/pace/range")
+    public PaceDistributionResponse viewRangePaceDistribution(@PathVariable("id")Long memberID,
+                                                              @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                              @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                              @RequestParam(value="percentile", defaultValue = "10,50,90") List<Double> percentiles){
+        return paceHistogramService.findRangeDistribution(memberID, from, to, percentiles);
+    }
+
+    @ApiOperation(value="통계 내보내기", notes = "유저의 저장된 일/주/월/년/전체 통계 전체를 CSV 파일로 내려받습니다\n" +
+            "gzip=true 이면 압축된 파일(.gz)로 내려받습니다")
+    @GetMapping("export")
+    public ResponseEntity<StreamingResponseBody> exportStatistics(@RequestParam("userId")Long memberID,
+                                                                  @RequestParam(value="gzip", defaultValue = "false") boolean gzip){
+        Member member = memberService.findById(memberID);
+        return exportService.stream("statistics-" + member.getId(), ExportFormat.CSV, gzip,
+                writer -> exportService.writeStatistics(member.getId(), writer));
+    }
 
     /**
      * 특정 달의 스트릭을 반환하는 함수
@@ -43,4 +99,17 @@ public class StatisticsApiController {
         return statisticsService.findMonthlyStreak(memberID, calendar);
     }
 
+    @ApiOperation(value="연간 스트릭 반환", notes = "특정 해의 1월부터 12월까지 월별 스트릭을 한번에 반환합니다")
+    @GetMapping("streak/{id}/year")
+    public List<List<Double>> viewYearlyStreak(@PathVariable("id")Long memberID, @RequestParam("year")int year){
+        return statisticsService.findYearlyStreak(memberID, year);
+    }
+
+    @ApiOperation(value="연속 기록 반환", notes = "오늘까지 이어진 연속 러닝 일수와 최장 연속 러닝 일수를 반환합니다\n" +
+            "오늘 아직 러닝하지 않았으면 어제까지 이어진 기록을 반환합니다")
+    @GetMapping("streak/{id}/summary")
+    public StreakResponse viewStreakSummary(@PathVariable("id")Long memberID){
+        return statisticsService.findStreak(memberID);
+    }
+
 }
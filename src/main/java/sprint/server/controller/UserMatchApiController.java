@@ -3,10 +3,13 @@ package sprint.server.controller;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 import sprint.server.controller.datatransferobject.response.ApplyUserMatchResponse;
+import sprint.server.controller.datatransferobject.response.LeagueCareerResponse;
+import sprint.server.controller.datatransferobject.response.LeagueHistoryResponse;
 import sprint.server.controller.datatransferobject.response.LeagueInfoResponse;
 import sprint.server.domain.member.Member;
 import sprint.server.domain.statistics.StatisticsType;
 import sprint.server.domain.usermatch.UserMatchApply;
+import sprint.server.service.LeagueHistoryService;
 import sprint.server.service.MemberService;
 import sprint.server.service.StatisticsService;
 import sprint.server.service.UserMatchService;
@@ -23,6 +26,7 @@ public class UserMatchApiController {
     private final UserMatchService userMatchService;
     private final MemberService memberService;
     private final StatisticsService statisticsService;
+    private final LeagueHistoryService leagueHistoryService;
     @GetMapping("apply/{id}")
     public ApplyUserMatchResponse applyUserMatch(@PathVariable("id")Long memberID){
         memberService.findById(memberID);
@@ -57,6 +61,27 @@ public class UserMatchApiController {
         return new LeagueInfoResponse(userMatchService.viewLeagueInfo(member, new Timestamp(calendar.getTimeInMillis())));
     }
 
+    /**
+     * 지난 리그 기록을 최신순으로 조회하는 API
+     * beforeMatchTime 에 이전 응답의 nextBeforeMatchTime 을 넣으면 그 이전 기록들을 반환한다
+     */
+    @GetMapping("history/{id}")
+    public LeagueHistoryResponse viewLeagueHistory(@PathVariable("id")Long memberId,
+                                                   @RequestParam(value="beforeMatchTime", required = false) Long beforeMatchTime,
+                                                   @RequestParam(value="size", defaultValue = "10") int size){
+        memberService.findById(memberId);
+        return leagueHistoryService.findHistory(memberId, beforeMatchTime, size);
+    }
+
+    /**
+     * 리그 누적 기록(참여한 리그 수, 최고 순위, 3위 이내 횟수)을 조회하는 API
+     */
+    @GetMapping("career/{id}")
+    public LeagueCareerResponse viewLeagueCareer(@PathVariable("id")Long memberId){
+        memberService.findById(memberId);
+        return leagueHistoryService.findCareer(memberId);
+    }
+
     @GetMapping("apply/test/save")
     public void save(){
         //이번주의 시작인 월요일로 설정
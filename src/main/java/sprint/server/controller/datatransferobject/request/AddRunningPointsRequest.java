@@ -0,0 +1,31 @@
+package sprint.server.controller.datatransferobject.request;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import sprint.server.domain.RunningRawData;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.util.List;
+
+/**
+ * 러닝 중 업로드하는 포인트 묶음
+ * sequence 는 러닝마다 1부터 순서대로 증가해야 하며, 이미 반영된 sequence 는 무시된다
+ */
+@Data
+@NoArgsConstructor
+public class AddRunningPointsRequest {
+    @NotNull
+    private Long userId;
+    @NotNull
+    @Min(1)
+    private Integer sequence;
+    @NotNull
+    private List<RunningRawData> runningData;
+
+    public AddRunningPointsRequest(Long userId, Integer sequence, List<RunningRawData> runningData) {
+        this.userId = userId;
+        this.sequence = sequence;
+        this.runningData = runningData;
+    }
+}
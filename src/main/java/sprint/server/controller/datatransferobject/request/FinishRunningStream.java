@@ -0,0 +1,113 @@
+package sprint.server.controller.datatransferobject.request;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import lombok.Getter;
+import sprint.server.controller.exception.ApiException;
+import sprint.server.controller.exception.ExceptionEnum;
+import sprint.server.domain.track.TrackAccumulator;
+import sprint.server.domain.track.TrackEncoder;
+import sprint.server.domain.track.TrackTimestamps;
+
+import java.io.IOException;
+
+/**
+ * 러닝 종료 요청(FinishRunningRequest 와 같은 JSON)을 토큰 단위로 읽은 결과
+ * runningData 는 리스트로 만들지 않고 포인트마다 바로 거리 계산과 트랙 인코딩에 넘긴다
+ */
+@Getter
+public class FinishRunningStream {
+    private Long userId;
+    private Long runningId;
+    private double duration;
+    private double distance;
+    private final TrackEncoder encoder = new TrackEncoder();
+    private final TrackAccumulator accumulator;
+
+    private FinishRunningStream(TrackAccumulator accumulator) {
+        this.accumulator = accumulator;
+    }
+
+    /**
+     * @param accumulator 포인트를 넘겨받을 누적 계산기 (RunningService.newTrackAccumulator)
+     */
+    public static FinishRunningStream read(JsonParser parser, TrackAccumulator accumulator) throws IOException {
+        FinishRunningStream stream = new FinishRunningStream(accumulator);
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new ApiException(ExceptionEnum.RUNNING_INVALID_REQUEST);
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "userId":
+                    stream.userId = parser.getValueAsLong();
+                    break;
+                case "runningId":
+                    stream.runningId = parser.getValueAsLong();
+                    break;
+                case "duration":
+                    stream.duration = parser.getValueAsDouble();
+                    break;
+                case "distance":
+                    stream.distance = parser.getValueAsDouble();
+                    break;
+                case "runningData":
+                    stream.readRunningData(parser);
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        if (stream.userId == null || stream.runningId == null) {
+            throw new ApiException(ExceptionEnum.RUNNING_INVALID_REQUEST);
+        }
+        return stream;
+    }
+
+    private void readRunningData(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) return;
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new ApiException(ExceptionEnum.RUNNING_INVALID_REQUEST);
+        }
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            // 객체가 아닌 원소(숫자, 문자열, 중첩 배열, 입력 끝)를 만나면 남은 포인트를 버리지 않고 요청을 거절한다
+            if (token != JsonToken.START_OBJECT) {
+                throw new ApiException(ExceptionEnum.RUNNING_INVALID_REQUEST);
+            }
+            double latitude = 0;
+            double longitude = 0;
+            double speed = 0;
+            String timestamp = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                switch (field) {
+                    case "latitude":
+                        latitude = parser.getValueAsDouble();
+                        break;
+                    case "longitude":
+                        longitude = parser.getValueAsDouble();
+                        break;
+                    case "speed":
+                        speed = parser.getValueAsDouble();
+                        break;
+                    case "timestamp":
+                        timestamp = parser.getValueAsString();
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+            long epochMillis;
+            try {
+                epochMillis = TrackTimestamps.toEpochMillis(timestamp);
+            } catch (IllegalArgumentException e) {
+                throw new ApiException(ExceptionEnum.RUNNING_INVALID_REQUEST, e.getMessage());
+            }
+            encoder.add(latitude, longitude, speed, epochMillis);
+            accumulator.add(latitude, longitude, epochMillis);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package sprint.server.controller.datatransferobject.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 리더보드 한 줄 (rank 는 1위부터, distance 는 m단위)
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LeaderboardEntryResponse {
+
+    private long rank;
+    private Long memberId;
+    private String nickname;
+    private double distance;
+}
@@ -0,0 +1,14 @@
+package sprint.server.controller.datatransferobject.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class LeagueCareerResponse {
+
+    private int leagueCount;
+    // 리그에 참여한 적 없으면 null
+    private Integer bestRanking;
+    private int podiumCount;
+}
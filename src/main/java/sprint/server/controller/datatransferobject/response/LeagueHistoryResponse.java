@@ -0,0 +1,16 @@
+package sprint.server.controller.datatransferobject.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class LeagueHistoryResponse {
+
+    private List<LeagueHistoryVo> histories;
+
+    // 다음 페이지 조회시 beforeMatchTime 에 넣을 값 (마지막 페이지면 null)
+    private Long nextBeforeMatchTime;
+}
@@ -0,0 +1,17 @@
+package sprint.server.controller.datatransferobject.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class LeagueHistoryVo {
+
+    private Long matchId;
+    private String matchTime;
+    private Integer teamNumber;
+    private Integer ranking;
+    private Integer totalScore;
+    private Double totalDistance;
+    private Integer totalCount;
+}
@@ -0,0 +1,20 @@
+package sprint.server.controller.datatransferobject.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 리더보드에서 내 순위
+ * rank : 1위부터 (기간 내 기록이 없으면 null)
+ * memberCount : 리더보드에 있는 전체 멤버 수
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MyLeaderboardResponse {
+
+    private Long rank;
+    private double distance;
+    private long memberCount;
+}
@@ -0,0 +1,29 @@
+package sprint.server.controller.datatransferobject.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 기간 페이스 분포
+ * distance : 페이스가 기록된 전체 거리 (m단위)
+ * percentiles : 백분위별 페이스 (초/km, 기록이 없으면 null)
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PaceDistributionResponse {
+
+    private double distance;
+    private List<PacePercentile> percentiles;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class PacePercentile {
+        private double percentile;
+        private Double pace;
+    }
+}
@@ -0,0 +1,20 @@
+package sprint.server.controller.datatransferobject.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RangeStatisticsResponse {
+
+    private LocalDate from;
+    private LocalDate to;
+    private double distance;
+    private double totalSeconds;
+    private double energy;
+    private long count;
+}
@@ -0,0 +1,17 @@
+package sprint.server.controller.datatransferobject.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 러닝 중 업로드 후 반환할 누적 정보
+ */
+@Data
+@AllArgsConstructor
+public class RunningProgressResponse {
+    private Long runningId;
+    private int lastSequence;
+    private int pointCount;
+    private double distance;
+    private double movingSeconds;
+}
@@ -0,0 +1,90 @@
+package sprint.server.controller.datatransferobject.response;
+
+import lombok.Getter;
+import sprint.server.domain.statistics.StatisticsType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 통계 재계산 결과와 기존 통계 행과의 차이
+ * - unchanged : 기존 행과 값이 같은 기간
+ * - changed : 기존 행과 값이 다른 기간
+ * - missing : 러닝 기록은 있는데 기존 행이 없는 기간
+ * - extra : 기존 행은 있는데 러닝 기록이 없는 기간
+ */
+@Getter
+public class StatisticsRebuildReport {
+
+    private static final int MAX_SAMPLES = 100;
+
+    private final boolean applied;
+    private long members;
+    private long runnings;
+    private long elapsedMillis;
+    private final Map<StatisticsType, Diff> diffs = new EnumMap<>(StatisticsType.class);
+    private final List<String> samples = Collections.synchronizedList(new ArrayList<>());
+
+    public StatisticsRebuildReport(boolean applied) {
+        this.applied = applied;
+        for (StatisticsType statisticsType : StatisticsType.values()) {
+            diffs.put(statisticsType, new Diff());
+        }
+    }
+
+    public void finish(long members, long runnings, long elapsedMillis) {
+        this.members = members;
+        this.runnings = runnings;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public void unchanged(StatisticsType statisticsType) {
+        diffs.get(statisticsType).unchanged.increment();
+    }
+
+    public void changed(StatisticsType statisticsType, String sample) {
+        diffs.get(statisticsType).changed.increment();
+        addSample(sample);
+    }
+
+    public void missing(StatisticsType statisticsType, String sample) {
+        diffs.get(statisticsType).missing.increment();
+        addSample(sample);
+    }
+
+    public void extra(StatisticsType statisticsType, String sample) {
+        diffs.get(statisticsType).extra.increment();
+        addSample(sample);
+    }
+
+    private void addSample(String sample) {
+        if (samples.size() < MAX_SAMPLES) samples.add(sample);
+    }
+
+    public static class Diff {
+        private final LongAdder unchanged = new LongAdder();
+        private final LongAdder changed = new LongAdder();
+        private final LongAdder missing = new LongAdder();
+        private final LongAdder extra = new LongAdder();
+
+        public long getUnchanged() {
+            return unchanged.sum();
+        }
+
+        public long getChanged() {
+            return changed.sum();
+        }
+
+        public long getMissing() {
+            return missing.sum();
+        }
+
+        public long getExtra() {
+            return extra.sum();
+        }
+    }
+}
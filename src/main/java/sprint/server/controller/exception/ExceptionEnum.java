@@ -46,7 +46,17 @@ public enum ExceptionEnum {
     REPORT_SELF(HttpStatus.BAD_REQUEST, "R0002", "자신을 신고할 수 없습니다." ),
     BLOCK_SELF(HttpStatus.BAD_REQUEST, "B0003", "자신을 차단/해제 할 수 없습니다." ),
     BLOCK_NOT_FOUND(HttpStatus.BAD_REQUEST, "B0004", "차단 내용을 찾을 수 없습니다." ),
-    BLOCK_ALREADY(HttpStatus.BAD_REQUEST, "B0005", "이미 차단된 유저입니다.");
+    BLOCK_ALREADY(HttpStatus.BAD_REQUEST, "B0005", "이미 차단된 유저입니다."),
+    RUNNING_INVALID_REQUEST(HttpStatus.BAD_REQUEST, "RN001", "잘못된 러닝 정보입니다."),
+    RUNNING_NOT_FOUND(HttpStatus.BAD_REQUEST, "RN002", "해당 러닝이 존재하지 않습니다."),
+    RUNNING_ALREADY_FINISHED(HttpStatus.BAD_REQUEST, "RN003", "이미 종료된 러닝입니다."),
+    RUNNING_CHUNK_OUT_OF_ORDER(HttpStatus.CONFLICT, "RN004", "이전 포인트 묶음이 아직 업로드되지 않았습니다."),
+    STATISTICS_INVALID_RANGE(HttpStatus.BAD_REQUEST, "ST001", "잘못된 조회 기간입니다."),
+    STATISTICS_INVALID_PERCENTILE(HttpStatus.BAD_REQUEST, "ST002", "백분위는 0 초과 100 이하여야 합니다."),
+    LEADERBOARD_UNSUPPORTED_TYPE(HttpStatus.BAD_REQUEST, "LB001", "지원하지 않는 리더보드 기간입니다. (Weekly, Monthly, Totally)"),
+    LEADERBOARD_INVALID_SIZE(HttpStatus.BAD_REQUEST, "LB002", "리더보드는 한번에 1명부터 100명까지 조회할 수 있습니다."),
+    MATCH_NOT_FOUND(HttpStatus.BAD_REQUEST, "UM001", "이번 주 리그에 매칭되지 않았습니다."),
+    MATCH_INVALID_SIZE(HttpStatus.BAD_REQUEST, "UM002", "리그 기록은 한번에 1개부터 50개까지 조회할 수 있습니다.");
 
     private final HttpStatus status;
     private final String code;
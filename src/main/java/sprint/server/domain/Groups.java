@@ -8,7 +8,9 @@ import javax.persistence.*;
 @Getter
 public class Groups extends BaseEntity {
 
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "groups_seq_generator")
+    @SequenceGenerator(name = "groups_seq_generator", sequenceName = "groups_seq", allocationSize = 50)
     @Column(name = "group_id")
     private Integer id;
 
@@ -5,13 +5,17 @@ import lombok.NoArgsConstructor;
 
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
 
 @Entity
 @Getter
 @NoArgsConstructor
 public class Report extends BaseEntity {
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "report_seq_generator")
+    @SequenceGenerator(name = "report_seq_generator", sequenceName = "report_seq", allocationSize = 50)
     private Long id;
     private Long sourceMemberId;
     private Long targetMemberId;
@@ -13,8 +13,11 @@ import java.util.List;
 @Entity
 @Getter @Setter
 @RequiredArgsConstructor
+@Table(indexes = @Index(name = "idx_running_member_running", columnList = "member_id, running_id"))
 public class Running {
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "running_seq_generator")
+    @SequenceGenerator(name = "running_seq_generator", sequenceName = "running_seq", allocationSize = 50)
     @Column(name = "running_id")
     private Long id;
 
@@ -13,7 +13,9 @@ import javax.persistence.*;
 @RequiredArgsConstructor
 public class RunningRawData {
 
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "running_raw_data_seq_generator")
+    @SequenceGenerator(name = "running_raw_data_seq_generator", sequenceName = "running_raw_data_seq", allocationSize = 50)
     @Column(name = "raw_data_id")
     private Long id;
 
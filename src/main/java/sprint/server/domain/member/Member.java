@@ -11,7 +11,9 @@ import java.time.LocalDate;
 @Getter
 public class Member extends BaseEntity {
 
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "member_seq_generator")
+    @SequenceGenerator(name = "member_seq_generator", sequenceName = "member_seq", allocationSize = 50)
     @NotNull
     @Column(name = "member_id")
     private Long id;
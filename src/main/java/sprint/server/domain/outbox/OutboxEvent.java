@@ -0,0 +1,77 @@
+package sprint.server.domain.outbox;
+
+import lombok.Getter;
+import sprint.server.domain.BaseEntity;
+
+import javax.persistence.*;
+import java.sql.Timestamp;
+
+/**
+ * 러닝 종료 후처리 작업 하나 (핸들러당 한 행)
+ * 러닝 저장과 같은 트랜잭션에서 만들어지기 때문에, 커밋된 러닝의 후처리는 유실되지 않는다
+ * 핸들러 작업과 DONE 처리를 같은 트랜잭션에서 하고, 동시에 처리되면 @Version 으로 한쪽만 커밋된다
+ */
+@Entity
+@Getter
+@Table(indexes = @Index(name = "idx_outbox_event_status", columnList = "status, next_attempt_at"))
+public class OutboxEvent extends BaseEntity {
+
+    public static final int MAX_ATTEMPTS = 10;
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq_generator")
+    @SequenceGenerator(name = "outbox_event_seq_generator", sequenceName = "outbox_event_seq", allocationSize = 50)
+    @Column(name = "outbox_event_id")
+    private Long id;
+
+    private String handler;
+    private Long runningId;
+    private Long memberId;
+
+    @Enumerated(EnumType.STRING)
+    private OutboxStatus status;
+
+    private int attempts;
+
+    @Column(name = "next_attempt_at")
+    private Timestamp nextAttemptAt;
+
+    @Column(length = MAX_ERROR_LENGTH)
+    private String lastError;
+
+    @Version
+    private Long version;
+
+    protected OutboxEvent() {
+    }
+
+    public OutboxEvent(String handler, Long runningId, Long memberId, Timestamp nextAttemptAt) {
+        this.handler = handler;
+        this.runningId = runningId;
+        this.memberId = memberId;
+        this.status = OutboxStatus.WAIT;
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public void done() {
+        this.status = OutboxStatus.DONE;
+    }
+
+    /**
+     * 처리 결과가 나중에 반영되는 경우, 그때까지 다시 실행되지 않도록 재시도 시간을 미룬다
+     */
+    public void defer(Timestamp nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    /**
+     * 실패 횟수를 늘리고, MAX_ATTEMPTS 에 도달하면 더 이상 재시도하지 않는다
+     */
+    public void failed(String error, Timestamp nextAttemptAt) {
+        this.attempts++;
+        this.lastError = error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        this.nextAttemptAt = nextAttemptAt;
+        if (attempts >= MAX_ATTEMPTS) this.status = OutboxStatus.FAILED;
+    }
+}
@@ -0,0 +1,5 @@
+package sprint.server.domain.outbox;
+
+public enum OutboxStatus {
+    WAIT, DONE, FAILED;
+}
@@ -0,0 +1,111 @@
+package sprint.server.domain.statistics;
+
+import lombok.Getter;
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+import java.util.BitSet;
+
+/**
+ * 멤버가 러닝한 날짜를 하루 1비트로 저장한다
+ * startDay(epoch day) 가 0번 비트이며, 10년치 기록이 약 460 byte 이다
+ * 현재/최장 연속 기록은 비트 연산(nextSetBit, nextClearBit)으로 구간 단위로 계산한다
+ */
+@Entity
+@Getter
+public class MemberActivity implements Persistable<Long> {
+
+    @Id
+    @Column(name = "member_id")
+    private Long memberId;
+
+    private long startDay;
+
+    @Lob
+    private byte[] days;
+
+    @Transient
+    private boolean isNew = true;
+
+    protected MemberActivity() {
+    }
+
+    public MemberActivity(Long memberId) {
+        this.memberId = memberId;
+        this.days = new byte[0];
+    }
+
+    /**
+     * 특정 날짜에 러닝한 것으로 표시한다
+     */
+    public void mark(LocalDate date) {
+        long day = date.toEpochDay();
+        BitSet bits = BitSet.valueOf(days);
+        if (bits.isEmpty()) {
+            startDay = day;
+        } else if (day < startDay) {
+            //시작일보다 이전 기록이 들어오면 앞쪽으로 늘린다
+            BitSet shifted = new BitSet();
+            int offset = (int) (startDay - day);
+            for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+                shifted.set(i + offset);
+            }
+            bits = shifted;
+            startDay = day;
+        }
+        bits.set((int) (day - startDay));
+        days = bits.toByteArray();
+    }
+
+    public boolean isActive(LocalDate date) {
+        long index = date.toEpochDay() - startDay;
+        return index >= 0 && index <= Integer.MAX_VALUE && BitSet.valueOf(days).get((int) index);
+    }
+
+    /**
+     * @param today 기준 날짜
+     * @return 기준 날짜까지 이어진 연속 기록 (기준 날짜에 아직 뛰지 않았으면 전날까지 이어진 기록)
+     */
+    public int currentStreak(LocalDate today) {
+        BitSet bits = BitSet.valueOf(days);
+        long index = today.toEpochDay() - startDay;
+        if (bits.isEmpty() || index < 0) return 0;
+        int last = (int) Math.min(index, Integer.MAX_VALUE);
+        if (!bits.get(last)) {
+            if (last == 0 || !bits.get(last - 1)) return 0;
+            last--;
+        }
+        return last - bits.previousClearBit(last);
+    }
+
+    /**
+     * @return 가장 길게 이어진 연속 기록
+     */
+    public int longestStreak() {
+        BitSet bits = BitSet.valueOf(days);
+        int longest = 0;
+        for (int start = bits.nextSetBit(0); start >= 0; ) {
+            int end = bits.nextClearBit(start);
+            longest = Math.max(longest, end - start);
+            start = bits.nextSetBit(end);
+        }
+        return longest;
+    }
+
+    @Override
+    public Long getId() {
+        return memberId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
@@ -0,0 +1,74 @@
+package sprint.server.domain.statistics;
+
+import lombok.Getter;
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * 멤버의 하루 단위 누적 기록 (처음 러닝한 날부터 그날까지의 합계)
+ * 러닝한 날만 행이 있으며, 행이 없는 날의 누적값은 그 이전 가장 가까운 행의 값과 같다
+ * [from, to] 기간의 합계는 to 까지의 누적값 - (from 전날까지의 누적값) 으로 구한다
+ */
+@Entity
+@Getter
+@IdClass(MemberDailyTotalId.class)
+public class MemberDailyTotal implements Persistable<MemberDailyTotalId> {
+
+    @Id
+    @Column(name = "member_id")
+    private Long memberId;
+
+    @Id
+    @Column(name = "running_day")
+    private LocalDate day;
+
+    private double distance;
+    private double totalSeconds;
+    private double energy;
+    private long count;
+
+    @Transient
+    private boolean isNew = true;
+
+    protected MemberDailyTotal() {
+    }
+
+    /**
+     * @param previous 이전 가장 가까운 날의 누적 기록 (없으면 null)
+     */
+    public MemberDailyTotal(Long memberId, LocalDate day, MemberDailyTotal previous) {
+        this.memberId = memberId;
+        this.day = day;
+        if (previous != null) {
+            this.distance = previous.distance;
+            this.totalSeconds = previous.totalSeconds;
+            this.energy = previous.energy;
+            this.count = previous.count;
+        }
+    }
+
+    public void add(double distance, double totalSeconds, double energy, long count) {
+        this.distance += distance;
+        this.totalSeconds += totalSeconds;
+        this.energy += energy;
+        this.count += count;
+    }
+
+    @Override
+    public MemberDailyTotalId getId() {
+        return new MemberDailyTotalId(memberId, day);
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
@@ -0,0 +1,16 @@
+package sprint.server.domain.statistics;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MemberDailyTotalId implements Serializable {
+    private Long memberId;
+    private LocalDate day;
+}
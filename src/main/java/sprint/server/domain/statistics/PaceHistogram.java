@@ -0,0 +1,180 @@
+package sprint.server.domain.statistics;
+
+import sprint.server.domain.RunningRawData;
+import sprint.server.domain.track.DistanceKernel;
+import sprint.server.domain.track.TrackAccumulator;
+import sprint.server.domain.track.TrackDecoder;
+import sprint.server.domain.track.TrackTimestamps;
+
+import java.util.List;
+
+/**
+ * 페이스(초/km)별로 뛴 거리를 모은 히스토그램
+ *
+ * 구간 경계가 MIN_PACE 부터 GROWTH 배씩 커지는 고정 로그 구간이므로 (상대오차 1% 이내)
+ * 러닝, 일, 주, 월 단위 히스토그램을 구간끼리 더하기만 하면 합쳐지고
+ * 백분위는 원본 트랙 없이 구간 수(BUCKETS)만큼만 보고 구한다
+ */
+public class PaceHistogram {
+
+    /** 2:00 /km 보다 빠른 페이스는 첫 구간에 넣는다 */
+    public static final double MIN_PACE = 120;
+    /** 30:00 /km 보다 느린 페이스는 마지막 구간에 넣는다 */
+    public static final double MAX_PACE = 1800;
+    private static final double GROWTH = 1.02;
+    private static final double LOG_GROWTH = Math.log(GROWTH);
+    public static final int BUCKETS = (int) Math.ceil(Math.log(MAX_PACE / MIN_PACE) / LOG_GROWTH);
+
+    /** 페이스는 이 거리 이상 이어진 구간 단위로 계산한다 (포인트 간격 수 m 의 GPS 오차를 줄인다) */
+    private static final double WINDOW_METERS = 50;
+
+    private final double[] distances = new double[BUCKETS];
+
+    /**
+     * @param pace 초/km
+     * @param distance 그 페이스로 뛴 거리 (m단위)
+     */
+    public void add(double pace, double distance) {
+        if (distance <= 0 || Double.isNaN(pace)) return;
+        distances[bucketOf(pace)] += distance;
+    }
+
+    public void addBucket(int bucket, double distance) {
+        distances[bucket] += distance;
+    }
+
+    public void merge(PaceHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) distances[i] += other.distances[i];
+    }
+
+    public double getDistance(int bucket) {
+        return distances[bucket];
+    }
+
+    public double getTotalDistance() {
+        double total = 0;
+        for (double distance : distances) total += distance;
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return getTotalDistance() == 0;
+    }
+
+    /**
+     * @param percentile 0 초과 100 이하
+     * @return 전체 거리 중 percentile% 를 이 페이스 이하(더 빠르게)로 뛰었다 (기록이 없으면 NaN)
+     */
+    public double percentile(double percentile) {
+        double total = getTotalDistance();
+        if (total == 0) return Double.NaN;
+        double target = total * percentile / 100;
+        double sum = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            sum += distances[i];
+            if (distances[i] > 0 && sum >= target) return midpoint(i);
+        }
+        return midpoint(lastNonEmpty());
+    }
+
+    public static int bucketOf(double pace) {
+        if (pace <= MIN_PACE) return 0;
+        int bucket = (int) (Math.log(pace / MIN_PACE) / LOG_GROWTH);
+        return Math.min(bucket, BUCKETS - 1);
+    }
+
+    /**
+     * @return 구간의 대표 페이스 (구간 양 끝의 기하평균)
+     */
+    public static double midpoint(int bucket) {
+        return MIN_PACE * Math.pow(GROWTH, bucket + 0.5);
+    }
+
+    private int lastNonEmpty() {
+        for (int i = BUCKETS - 1; i > 0; i--) {
+            if (distances[i] > 0) return i;
+        }
+        return 0;
+    }
+
+    /**
+     * TrackEncoder 로 인코딩된 트랙으로 러닝 한 번의 히스토그램을 만든다
+     */
+    public static PaceHistogram of(byte[] track) {
+        Recorder recorder = new Recorder();
+        try (TrackDecoder decoder = new TrackDecoder(track)) {
+            while (decoder.next()) {
+                recorder.add(decoder.getLatitude(), decoder.getLongitude(), decoder.getEpochMillis());
+            }
+        }
+        return recorder.finish();
+    }
+
+    /**
+     * 트랙 blob 으로 옮겨지지 않은 러닝의 로우데이터로 히스토그램을 만든다
+     * timestamp 가 잘못된 포인트는 건너뛴다 (예외를 던지면 outbox 재시도마다 같은 이유로 실패한다)
+     */
+    public static PaceHistogram of(List<RunningRawData> rawData) {
+        Recorder recorder = new Recorder();
+        for (RunningRawData data : rawData) {
+            long epochMillis;
+            try {
+                epochMillis = TrackTimestamps.toEpochMillis(data.getTimestamp());
+            } catch (IllegalArgumentException e) {
+                continue;
+            }
+            recorder.add(data.getLatitude(), data.getLongitude(), epochMillis);
+        }
+        return recorder.finish();
+    }
+
+    /**
+     * 포인트를 순서대로 받아서 WINDOW_METERS 단위로 페이스를 기록한다
+     * 멈춘 구간(PAUSE_THRESHOLD_MILLIS 초과)은 거리 계산과 같이 제외하고 새 구간을 시작한다
+     */
+    private static class Recorder {
+        private final PaceHistogram histogram = new PaceHistogram();
+        private boolean started;
+        private double lastLatitude;
+        private double lastLongitude;
+        private double lastCos;
+        private long lastEpochMillis;
+        private double windowDistance;
+        private long windowMillis;
+
+        void add(double latitude, double longitude, long epochMillis) {
+            double currentLatitude = DistanceKernel.toRadians(latitude);
+            double currentLongitude = DistanceKernel.toRadians(longitude);
+            double currentCos = Math.cos(currentLatitude);
+            if (started) {
+                long millis = epochMillis - lastEpochMillis;
+                if (millis > 0 && millis <= TrackAccumulator.PAUSE_THRESHOLD_MILLIS) {
+                    windowDistance += DistanceKernel.HAVERSINE.distance(lastLatitude, lastLongitude, lastCos,
+                            currentLatitude, currentLongitude, currentCos);
+                    windowMillis += millis;
+                    if (windowDistance >= WINDOW_METERS) flush();
+                } else if (millis > 0) {
+                    flush();
+                }
+            }
+            started = true;
+            lastLatitude = currentLatitude;
+            lastLongitude = currentLongitude;
+            lastCos = currentCos;
+            lastEpochMillis = epochMillis;
+        }
+
+        private void flush() {
+            if (windowDistance > 0) {
+                histogram.add(windowMillis / windowDistance, windowDistance);
+            }
+            windowDistance = 0;
+            windowMillis = 0;
+        }
+
+        PaceHistogram finish() {
+            flush();
+            return histogram;
+        }
+    }
+}
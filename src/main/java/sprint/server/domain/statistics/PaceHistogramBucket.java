@@ -0,0 +1,60 @@
+package sprint.server.domain.statistics;
+
+import lombok.Getter;
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * 멤버의 기간별 페이스 히스토그램(PaceHistogram) 중 한 구간
+ * 거리가 있는 구간만 행이 있고, 러닝이 끝날때 해당 기간 행들에 거리를 더한다
+ * 전체 기간(Totally)의 periodStart 는 TOTAL_PERIOD 이다
+ */
+@Entity
+@Getter
+@IdClass(PaceHistogramBucketId.class)
+public class PaceHistogramBucket implements Persistable<PaceHistogramBucketId> {
+
+    public static final LocalDate TOTAL_PERIOD = LocalDate.EPOCH;
+
+    @Id
+    @Column(name = "member_id")
+    private Long memberId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "statistics_type")
+    private StatisticsType statisticsType;
+
+    @Id
+    @Column(name = "period_start")
+    private LocalDate periodStart;
+
+    @Id
+    private int bucket;
+
+    private double distance;
+
+    @Transient
+    private boolean isNew = true;
+
+    protected PaceHistogramBucket() {
+    }
+
+    @Override
+    public PaceHistogramBucketId getId() {
+        return new PaceHistogramBucketId(memberId, statisticsType, periodStart, bucket);
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
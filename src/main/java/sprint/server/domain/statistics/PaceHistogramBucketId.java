@@ -0,0 +1,18 @@
+package sprint.server.domain.statistics;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaceHistogramBucketId implements Serializable {
+    private Long memberId;
+    private StatisticsType statisticsType;
+    private LocalDate periodStart;
+    private int bucket;
+}
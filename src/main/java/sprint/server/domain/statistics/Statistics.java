@@ -12,9 +12,15 @@ import java.sql.Timestamp;
 @Entity
 @Getter @Setter
 @NoArgsConstructor
+@Table(indexes = {
+        @Index(name = "idx_statistics_member_type_time", columnList = "member_id, statistics_type, time"),
+        @Index(name = "idx_statistics_type_time", columnList = "statistics_type, time")
+})
 public class Statistics {
 
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "statistics_seq_generator")
+    @SequenceGenerator(name = "statistics_seq_generator", sequenceName = "statistics_seq", allocationSize = 50)
     @Column(name = "statistics_id")
     private Long id;
 
@@ -0,0 +1,87 @@
+package sprint.server.domain.track;
+
+/**
+ * 두 포인트 사이의 거리를 계산하는 커널
+ *
+ * 위도/경도는 라디안으로, cos(위도)는 포인트마다 한번만 계산해서 넘긴다
+ * 연속된 구간에서는 앞 포인트의 cos 값을 그대로 재사용하므로 포인트당 cos 계산은 한번이다
+ *
+ * - HAVERSINE : 기존 RunningService.calculateDistance 와 같은 식
+ * - EQUIRECTANGULAR : 삼각함수 없이 평면 근사로 계산한다
+ *   위도 ±80도 범위에서 HAVERSINE 대비 상대오차는 구간 1km 이하일 때 4e-8 미만이고 (10km 에서 약 4e-6)
+ *   오차는 구간 길이의 제곱에 비례한다. 러닝 포인트 간격(1500ms 이하, 수 m ~ 수십 m)에서는 1e-9 수준이다
+ */
+public enum DistanceKernel {
+
+    HAVERSINE {
+        @Override
+        public double distance(double startLatitude, double startLongitude, double startCos,
+                               double endLatitude, double endLongitude, double endCos) {
+            double sinLat = Math.sin((endLatitude - startLatitude) * 0.5);
+            double sinLon = Math.sin((endLongitude - startLongitude) * 0.5);
+            double a = sinLat * sinLat + sinLon * sinLon * startCos * endCos;
+            return 2 * EARTH_RADIUS * Math.asin(Math.sqrt(Math.min(a, 1)));
+        }
+    },
+
+    EQUIRECTANGULAR {
+        @Override
+        public double distance(double startLatitude, double startLongitude, double startCos,
+                               double endLatitude, double endLongitude, double endCos) {
+            double dLon = endLongitude - startLongitude;
+            //날짜 변경선을 넘는 구간
+            if (dLon > Math.PI) dLon -= 2 * Math.PI;
+            else if (dLon < -Math.PI) dLon += 2 * Math.PI;
+            double x = dLon * (startCos + endCos) * 0.5;
+            double y = endLatitude - startLatitude;
+            return EARTH_RADIUS * Math.sqrt(x * x + y * y);
+        }
+    };
+
+    public static final double EARTH_RADIUS = 6378137.0;
+    private static final double RADIANS_PER_DEGREE = Math.PI / 180.0;
+
+    /**
+     * @param startLatitude 출발지 위도 (라디안)
+     * @param startLongitude 출발지 경도 (라디안)
+     * @param startCos cos(출발지 위도)
+     * @param endLatitude 도착지 위도 (라디안)
+     * @param endLongitude 도착지 경도 (라디안)
+     * @param endCos cos(도착지 위도)
+     * @return 두 포인트 사이의 거리 (m단위)
+     */
+    public abstract double distance(double startLatitude, double startLongitude, double startCos,
+                                    double endLatitude, double endLongitude, double endCos);
+
+    /**
+     * 트랙 전체 거리를 계산한다. 시간 차이가 PAUSE_THRESHOLD_MILLIS 보다 큰 구간은 멈춘 상태이므로 제외한다
+     * @param latitude 위도 (도 단위)
+     * @param longitude 경도 (도 단위)
+     * @param epochMillis 미리 파싱해둔 시간
+     * @param count 앞에서부터 사용할 포인트 개수
+     * @return 전체 뛴 거리 (m단위)
+     */
+    public double totalDistance(double[] latitude, double[] longitude, long[] epochMillis, int count) {
+        if (count < 2) return 0;
+        double lastLatitude = toRadians(latitude[0]);
+        double lastLongitude = toRadians(longitude[0]);
+        double lastCos = Math.cos(lastLatitude);
+        double total = 0;
+        for (int i = 1; i < count; i++) {
+            double currentLatitude = toRadians(latitude[i]);
+            double currentLongitude = toRadians(longitude[i]);
+            double currentCos = Math.cos(currentLatitude);
+            if (epochMillis[i] - epochMillis[i - 1] <= TrackAccumulator.PAUSE_THRESHOLD_MILLIS) {
+                total += distance(lastLatitude, lastLongitude, lastCos, currentLatitude, currentLongitude, currentCos);
+            }
+            lastLatitude = currentLatitude;
+            lastLongitude = currentLongitude;
+            lastCos = currentCos;
+        }
+        return total;
+    }
+
+    public static double toRadians(double degree) {
+        return degree * RADIANS_PER_DEGREE;
+    }
+}
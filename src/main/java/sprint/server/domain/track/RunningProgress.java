@@ -0,0 +1,45 @@
+package sprint.server.domain.track;
+
+import lombok.Getter;
+
+import javax.persistence.*;
+
+/**
+ * 러닝 중 업로드된 청크들의 누적 계산 결과
+ * 마지막으로 반영된 청크 번호를 같이 저장해서 같은 청크가 재전송되어도 한번만 반영한다
+ */
+@Entity
+@Getter
+public class RunningProgress {
+
+    @Id
+    @Column(name = "running_id")
+    private Long runningId;
+
+    private int lastSequence;
+
+    @Embedded
+    private TrackAccumulator accumulator = new TrackAccumulator();
+
+    @Version
+    private Long version;
+
+    protected RunningProgress() {
+    }
+
+    public RunningProgress(Long runningId) {
+        this.runningId = runningId;
+    }
+
+    public boolean isApplied(int sequence) {
+        return sequence <= lastSequence;
+    }
+
+    public boolean isNext(int sequence) {
+        return sequence == lastSequence + 1;
+    }
+
+    public void applied(int sequence) {
+        this.lastSequence = sequence;
+    }
+}
@@ -0,0 +1,80 @@
+package sprint.server.domain.track;
+
+import lombok.Getter;
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Lob;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.Transient;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+
+/**
+ * 러닝 한 번의 전체 GPS 트랙을 하나의 압축 blob 으로 저장한다 (포맷은 TrackEncoder 참고)
+ * 포인트마다 RunningRawData 행을 만들던 방식을 대체한다
+ */
+@Entity
+@Getter
+public class RunningTrack implements Persistable<Long> {
+
+    @Id
+    @Column(name = "running_id")
+    private Long runningId;
+
+    private int pointCount;
+
+    @Lob
+    @Column(name = "track_data")
+    private byte[] data;
+
+    // 항상 새로 만들어서 저장하므로 save 할때 존재 여부를 조회하지 않도록 한다
+    @Transient
+    private boolean isNew = true;
+
+    protected RunningTrack() {
+    }
+
+    public RunningTrack(Long runningId, TrackEncoder encoder) {
+        this.runningId = runningId;
+        this.pointCount = encoder.getPointCount();
+        this.data = encoder.toByteArray();
+    }
+
+    /**
+     * 러닝 중 업로드된 청크들과 종료 요청에 포함된 나머지 포인트를 디코딩 없이 이어붙인다
+     */
+    public RunningTrack(Long runningId, List<RunningTrackChunk> chunks, TrackEncoder tail) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        for (RunningTrackChunk chunk : chunks) {
+            bytes.write(chunk.getData(), 0, chunk.getData().length);
+            this.pointCount += chunk.getPointCount();
+        }
+        byte[] tailData = tail.toByteArray();
+        if (tail.getPointCount() > 0 || chunks.isEmpty()) {
+            bytes.write(tailData, 0, tailData.length);
+            this.pointCount += tail.getPointCount();
+        }
+        this.runningId = runningId;
+        this.data = bytes.toByteArray();
+    }
+
+    @Override
+    public Long getId() {
+        return runningId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
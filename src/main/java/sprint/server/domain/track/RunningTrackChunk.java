@@ -0,0 +1,59 @@
+package sprint.server.domain.track;
+
+import lombok.Getter;
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.*;
+
+/**
+ * 러닝 중에 업로드된 포인트 묶음 하나를 TrackEncoder 세그먼트로 저장한다
+ * 러닝 종료시 순서대로 이어붙여 RunningTrack 이 된다
+ */
+@Entity
+@Getter
+@IdClass(RunningTrackChunkId.class)
+public class RunningTrackChunk implements Persistable<RunningTrackChunkId> {
+
+    @Id
+    @Column(name = "running_id")
+    private Long runningId;
+
+    @Id
+    private Integer sequence;
+
+    private int pointCount;
+
+    @Lob
+    @Column(name = "track_data")
+    private byte[] data;
+
+    // 항상 새로 만들어서 저장하므로 save 할때 존재 여부를 조회하지 않도록 한다
+    @Transient
+    private boolean isNew = true;
+
+    protected RunningTrackChunk() {
+    }
+
+    public RunningTrackChunk(Long runningId, Integer sequence, TrackEncoder encoder) {
+        this.runningId = runningId;
+        this.sequence = sequence;
+        this.pointCount = encoder.getPointCount();
+        this.data = encoder.toByteArray();
+    }
+
+    @Override
+    public RunningTrackChunkId getId() {
+        return new RunningTrackChunkId(runningId, sequence);
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
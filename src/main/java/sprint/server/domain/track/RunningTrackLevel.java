@@ -0,0 +1,59 @@
+package sprint.server.domain.track;
+
+import lombok.Getter;
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.*;
+
+/**
+ * 러닝 종료시 단순화해둔 해상도별 트랙 (포맷은 TrackEncoder 참고)
+ */
+@Entity
+@Getter
+@IdClass(RunningTrackLevelId.class)
+public class RunningTrackLevel implements Persistable<RunningTrackLevelId> {
+
+    @Id
+    @Column(name = "running_id")
+    private Long runningId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private TrackResolution resolution;
+
+    private int pointCount;
+
+    @Lob
+    @Column(name = "track_data")
+    private byte[] data;
+
+    // 항상 새로 만들어서 저장하므로 save 할때 존재 여부를 조회하지 않도록 한다
+    @Transient
+    private boolean isNew = true;
+
+    protected RunningTrackLevel() {
+    }
+
+    public RunningTrackLevel(Long runningId, TrackResolution resolution, TrackEncoder encoder) {
+        this.runningId = runningId;
+        this.resolution = resolution;
+        this.pointCount = encoder.getPointCount();
+        this.data = encoder.toByteArray();
+    }
+
+    @Override
+    public RunningTrackLevelId getId() {
+        return new RunningTrackLevelId(runningId, resolution);
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
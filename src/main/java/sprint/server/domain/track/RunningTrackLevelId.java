@@ -0,0 +1,15 @@
+package sprint.server.domain.track;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RunningTrackLevelId implements Serializable {
+    private Long runningId;
+    private TrackResolution resolution;
+}
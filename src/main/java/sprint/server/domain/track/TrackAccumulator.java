@@ -0,0 +1,146 @@
+package sprint.server.domain.track;
+
+import javax.persistence.Embeddable;
+import javax.persistence.Transient;
+
+/**
+ * 포인트를 하나씩 받아 거리, 이동시간, 멈춤 횟수를 바로 계산한다
+ * 트랙 전체를 메모리에 올리지 않기 때문에 러닝 길이와 상관없이 사용하는 메모리가 일정하다
+ *
+ * 러닝 중 업로드(RunningProgress)에서는 이 상태 자체를 저장해두고 다음 청크에서 이어서 계산한다
+ * 거리 계산 방식(DistanceKernel)은 저장하지 않으며 기본값은 HAVERSINE 이다
+ */
+@Embeddable
+public class TrackAccumulator {
+
+    /**
+     * 시간 차이가 1500ms 이상이면 멈췄던 상태이므로 거리에 카운트 하지 않음
+     */
+    public static final long PAUSE_THRESHOLD_MILLIS = 1500;
+
+    private int pointCount;
+    private double firstLatitude;
+    private double firstLongitude;
+    private long firstEpochMillis;
+    private double lastLatitude;
+    private double lastLongitude;
+    private long lastEpochMillis;
+
+    private double distance;
+    private long movingMillis;
+    private int pauseCount;
+
+    @Transient
+    private DistanceKernel kernel = DistanceKernel.HAVERSINE;
+    // 마지막 포인트의 라디안 좌표와 cos(위도), 다음 구간 계산에 그대로 재사용한다
+    @Transient
+    private boolean lastCached;
+    @Transient
+    private double lastLatitudeRadians;
+    @Transient
+    private double lastLongitudeRadians;
+    @Transient
+    private double lastCos;
+
+    public TrackAccumulator() {
+    }
+
+    public TrackAccumulator(DistanceKernel kernel) {
+        this.kernel = kernel;
+    }
+
+    public void setKernel(DistanceKernel kernel) {
+        this.kernel = kernel;
+    }
+
+    public void add(double latitude, double longitude, long epochMillis) {
+        if (pointCount == 0) {
+            firstLatitude = latitude;
+            firstLongitude = longitude;
+            firstEpochMillis = epochMillis;
+            lastCached = false;
+        } else {
+            addSegment(latitude, longitude, epochMillis);
+        }
+        lastLatitude = latitude;
+        lastLongitude = longitude;
+        lastEpochMillis = epochMillis;
+        pointCount++;
+    }
+
+    /**
+     * 이 트랙 뒤에 이어지는 트랙의 계산 결과를 합친다
+     * 두 트랙이 만나는 구간 하나만 새로 계산하기 때문에 포인트 개수와 상관없이 O(1)이다
+     */
+    public void append(TrackAccumulator next) {
+        if (next.pointCount == 0) return;
+        if (pointCount == 0) {
+            firstLatitude = next.firstLatitude;
+            firstLongitude = next.firstLongitude;
+            firstEpochMillis = next.firstEpochMillis;
+        } else {
+            addSegment(next.firstLatitude, next.firstLongitude, next.firstEpochMillis);
+        }
+        distance += next.distance;
+        movingMillis += next.movingMillis;
+        pauseCount += next.pauseCount;
+        lastLatitude = next.lastLatitude;
+        lastLongitude = next.lastLongitude;
+        lastEpochMillis = next.lastEpochMillis;
+        lastCached = false;
+        pointCount += next.pointCount;
+    }
+
+    private void addSegment(double latitude, double longitude, long epochMillis) {
+        if (!lastCached) {
+            lastLatitudeRadians = DistanceKernel.toRadians(lastLatitude);
+            lastLongitudeRadians = DistanceKernel.toRadians(lastLongitude);
+            lastCos = Math.cos(lastLatitudeRadians);
+        }
+        double latitudeRadians = DistanceKernel.toRadians(latitude);
+        double longitudeRadians = DistanceKernel.toRadians(longitude);
+        double cos = Math.cos(latitudeRadians);
+
+        long elapsed = epochMillis - lastEpochMillis;
+        if (elapsed > PAUSE_THRESHOLD_MILLIS) {
+            pauseCount++;
+        } else {
+            distance += kernel.distance(lastLatitudeRadians, lastLongitudeRadians, lastCos,
+                    latitudeRadians, longitudeRadians, cos);
+            movingMillis += Math.max(elapsed, 0);
+        }
+        lastLatitudeRadians = latitudeRadians;
+        lastLongitudeRadians = longitudeRadians;
+        lastCos = cos;
+        lastCached = true;
+    }
+
+    public int getPointCount() {
+        return pointCount;
+    }
+
+    /**
+     * @return 멈춘 구간을 제외한 거리 (m단위)
+     */
+    public double getDistance() {
+        return distance;
+    }
+
+    /**
+     * @return 멈춘 구간을 제외한 이동 시간 (초단위)
+     */
+    public double getMovingSeconds() {
+        return movingMillis / 1000.0;
+    }
+
+    /**
+     * @return 첫 포인트부터 마지막 포인트까지의 시간 (초단위)
+     */
+    public double getElapsedSeconds() {
+        return pointCount == 0 ? 0 : (lastEpochMillis - firstEpochMillis) / 1000.0;
+    }
+
+    public int getPauseCount() {
+        return pauseCount;
+    }
+}
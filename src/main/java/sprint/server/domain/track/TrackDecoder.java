@@ -0,0 +1,142 @@
+package sprint.server.domain.track;
+
+import sprint.server.domain.RunningRawData;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * TrackEncoder 로 인코딩된 blob 을 포인트 단위로 읽는다
+ *
+ * 포인트마다 객체를 만들지 않도록 커서 방식으로 동작한다
+ * while (decoder.next()) { decoder.getLatitude() ... }
+ *
+ * 여러 blob(세그먼트)을 그대로 이어붙인 데이터도 하나의 트랙으로 읽는다
+ */
+public class TrackDecoder implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 4096;
+
+    private final byte[] data;
+    private final Inflater inflater = new Inflater();
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private boolean segmentStarted;
+
+    private int latitude;
+    private int longitude;
+    private long epochMillis;
+    private int speed;
+
+    public TrackDecoder(byte[] data) {
+        if (data == null || data.length == 0 || data[0] != TrackEncoder.FORMAT_VERSION) {
+            throw new IllegalArgumentException("unsupported track format");
+        }
+        this.data = data;
+        inflater.setInput(data, 1, data.length - 1);
+    }
+
+    /**
+     * 트랙 전체를 RunningRawData 리스트로 복원한다 (running 연관관계는 채우지 않는다)
+     */
+    public static List<RunningRawData> decode(byte[] data) {
+        List<RunningRawData> result = new ArrayList<>();
+        try (TrackDecoder decoder = new TrackDecoder(data)) {
+            while (decoder.next()) {
+                result.add(new RunningRawData(null, decoder.getLatitude(), decoder.getLongitude(),
+                        decoder.getSpeed(), TrackTimestamps.toTimestampString(decoder.getEpochMillis())));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 다음 포인트로 이동한다
+     * @return 더 이상 포인트가 없으면 false
+     */
+    public boolean next() {
+        if (position == limit && !fill()) return false;
+        if (segmentStarted) {
+            //세그먼트는 각각 0을 기준으로 인코딩되어 있다
+            latitude = 0;
+            longitude = 0;
+            epochMillis = 0;
+            speed = 0;
+            segmentStarted = false;
+        }
+        latitude = (int) (latitude + unzigzag(readVarLong()));
+        longitude = (int) (longitude + unzigzag(readVarLong()));
+        epochMillis += unzigzag(readVarLong());
+        speed = (int) (speed + unzigzag(readVarLong()));
+        return true;
+    }
+
+    public double getLatitude() {
+        return latitude / TrackEncoder.COORDINATE_SCALE;
+    }
+
+    public double getLongitude() {
+        return longitude / TrackEncoder.COORDINATE_SCALE;
+    }
+
+    public double getSpeed() {
+        return speed / TrackEncoder.SPEED_SCALE;
+    }
+
+    public long getEpochMillis() {
+        return epochMillis;
+    }
+
+    @Override
+    public void close() {
+        inflater.end();
+    }
+
+    private long readVarLong() {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (position == limit && (!fill() || segmentStarted)) {
+                throw new IllegalStateException("truncated track data");
+            }
+            byte b = buffer[position++];
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return result;
+        }
+        throw new IllegalStateException("malformed track data");
+    }
+
+    private boolean fill() {
+        try {
+            while (true) {
+                if (inflater.finished()) {
+                    int next = data.length - inflater.getRemaining();
+                    if (next >= data.length) return false;
+                    if (data[next] != TrackEncoder.FORMAT_VERSION) {
+                        throw new IllegalStateException("unsupported track format");
+                    }
+                    inflater.reset();
+                    inflater.setInput(data, next + 1, data.length - next - 1);
+                    segmentStarted = true;
+                }
+                int read = inflater.inflate(buffer);
+                if (read > 0) {
+                    position = 0;
+                    limit = read;
+                    return true;
+                }
+                if (!inflater.finished() && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("truncated track data");
+                }
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("malformed track data", e);
+        }
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,106 @@
+package sprint.server.domain.track;
+
+import sprint.server.domain.RunningRawData;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * 러닝 트랙을 하나의 압축 blob 으로 인코딩한다
+ *
+ * 포맷 : [버전 1byte][deflate( 포인트마다 위도, 경도, 시간, 속도의 이전 포인트 대비 차이를 zigzag varint 로 기록 )]
+ * - 위도/경도 : 1e-7 도 단위 고정소수점 int (약 1cm)
+ * - 시간 : epoch millis
+ * - 속도 : 0.01 m/s 단위 int
+ */
+public class TrackEncoder {
+
+    static final int FORMAT_VERSION = 1;
+    static final double COORDINATE_SCALE = 1e7;
+    static final double SPEED_SCALE = 100;
+
+    private static final int BUFFER_SIZE = 4096;
+    // 포인트 하나가 차지할 수 있는 최대 길이 (long varint 10byte * 4)
+    private static final int MAX_POINT_SIZE = 40;
+
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    private final Deflater deflater = new Deflater();
+    private final DeflaterOutputStream body = new DeflaterOutputStream(bytes, deflater, BUFFER_SIZE);
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+
+    private int pointCount;
+    private int lastLatitude;
+    private int lastLongitude;
+    private long lastEpochMillis;
+    private int lastSpeed;
+
+    public TrackEncoder() {
+        bytes.write(FORMAT_VERSION);
+    }
+
+    public void add(RunningRawData data) {
+        add(data.getLatitude(), data.getLongitude(), data.getSpeed(), TrackTimestamps.toEpochMillis(data.getTimestamp()));
+    }
+
+    public void add(double latitude, double longitude, double speed, long epochMillis) {
+        int fixedLatitude = (int) Math.round(latitude * COORDINATE_SCALE);
+        int fixedLongitude = (int) Math.round(longitude * COORDINATE_SCALE);
+        int fixedSpeed = (int) Math.round(speed * SPEED_SCALE);
+
+        if (position + MAX_POINT_SIZE > buffer.length) flushBuffer();
+        writeVarLong(zigzag((long) fixedLatitude - lastLatitude));
+        writeVarLong(zigzag((long) fixedLongitude - lastLongitude));
+        writeVarLong(zigzag(epochMillis - lastEpochMillis));
+        writeVarLong(zigzag((long) fixedSpeed - lastSpeed));
+
+        lastLatitude = fixedLatitude;
+        lastLongitude = fixedLongitude;
+        lastEpochMillis = epochMillis;
+        lastSpeed = fixedSpeed;
+        pointCount++;
+    }
+
+    public int getPointCount() {
+        return pointCount;
+    }
+
+    /**
+     * 인코딩을 마치고 결과 blob 을 반환한다. 이후에는 포인트를 추가할 수 없다
+     */
+    public byte[] toByteArray() {
+        try {
+            flushBuffer();
+            body.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    private void flushBuffer() {
+        try {
+            body.write(buffer, 0, position);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        position = 0;
+    }
+
+    private void writeVarLong(long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+}
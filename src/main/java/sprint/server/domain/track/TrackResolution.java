@@ -0,0 +1,22 @@
+package sprint.server.domain.track;
+
+/**
+ * 러닝 상세 조회시 반환할 트랙의 해상도
+ * FULL 은 원본 트랙(RunningTrack), 나머지는 러닝 종료시 미리 단순화해둔 트랙(RunningTrackLevel)이다
+ */
+public enum TrackResolution {
+    FULL(0), HIGH(1), MEDIUM(3), LOW(10);
+
+    /**
+     * 단순화 허용 오차 (m단위), 원래 경로에서 이 거리 이내로 벗어나는 포인트는 생략된다
+     */
+    private final double tolerance;
+
+    TrackResolution(double tolerance) {
+        this.tolerance = tolerance;
+    }
+
+    public double getTolerance() {
+        return tolerance;
+    }
+}
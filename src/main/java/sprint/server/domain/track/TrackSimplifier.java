@@ -0,0 +1,127 @@
+package sprint.server.domain.track;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Douglas-Peucker 방식으로 트랙을 단순화한다
+ *
+ * 분할 순서는 허용 오차와 상관없이 항상 같기 때문에, 포인트마다 "이 오차까지는 살아남는다"는 값(significance)을
+ * 한번만 계산해두면 모든 해상도를 추가 계산 없이 만들 수 있다
+ * significance = min(분할 당시 선분까지의 거리, 부모 분할의 significance)
+ *
+ * 거리는 첫 포인트 기준 등거리 원통 투영(m단위) 위에서 선분까지의 거리로 계산한다
+ */
+public class TrackSimplifier {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private int count;
+    private double[] latitude = new double[INITIAL_CAPACITY];
+    private double[] longitude = new double[INITIAL_CAPACITY];
+    private double[] speed = new double[INITIAL_CAPACITY];
+    private long[] epochMillis = new long[INITIAL_CAPACITY];
+
+    /**
+     * 원본 트랙 blob 으로 FULL 을 제외한 해상도별 트랙을 만든다
+     */
+    public static Map<TrackResolution, TrackEncoder> simplify(byte[] trackData) {
+        TrackSimplifier simplifier = new TrackSimplifier();
+        try (TrackDecoder decoder = new TrackDecoder(trackData)) {
+            while (decoder.next()) {
+                simplifier.add(decoder.getLatitude(), decoder.getLongitude(), decoder.getSpeed(), decoder.getEpochMillis());
+            }
+        }
+        return simplifier.simplify();
+    }
+
+    public void add(double latitude, double longitude, double speed, long epochMillis) {
+        if (count == this.latitude.length) {
+            int capacity = count * 2;
+            this.latitude = Arrays.copyOf(this.latitude, capacity);
+            this.longitude = Arrays.copyOf(this.longitude, capacity);
+            this.speed = Arrays.copyOf(this.speed, capacity);
+            this.epochMillis = Arrays.copyOf(this.epochMillis, capacity);
+        }
+        this.latitude[count] = latitude;
+        this.longitude[count] = longitude;
+        this.speed[count] = speed;
+        this.epochMillis[count] = epochMillis;
+        count++;
+    }
+
+    public Map<TrackResolution, TrackEncoder> simplify() {
+        double[] significance = significance(latitude, longitude, count);
+        Map<TrackResolution, TrackEncoder> levels = new EnumMap<>(TrackResolution.class);
+        for (TrackResolution resolution : TrackResolution.values()) {
+            if (resolution == TrackResolution.FULL) continue;
+            TrackEncoder encoder = new TrackEncoder();
+            for (int i = 0; i < count; i++) {
+                if (significance[i] > resolution.getTolerance()) {
+                    encoder.add(latitude[i], longitude[i], speed[i], epochMillis[i]);
+                }
+            }
+            levels.put(resolution, encoder);
+        }
+        return levels;
+    }
+
+    /**
+     * @return 포인트별 significance (m단위), 허용 오차보다 큰 포인트만 남기면 해당 오차의 단순화 결과가 된다
+     */
+    static double[] significance(double[] latitude, double[] longitude, int count) {
+        double[] significance = new double[count];
+        if (count == 0) return significance;
+
+        double scaleY = DistanceKernel.EARTH_RADIUS * Math.PI / 180.0;
+        double scaleX = scaleY * Math.cos(DistanceKernel.toRadians(latitude[0]));
+        double[] x = new double[count];
+        double[] y = new double[count];
+        for (int i = 0; i < count; i++) {
+            x[i] = (longitude[i] - longitude[0]) * scaleX;
+            y[i] = (latitude[i] - latitude[0]) * scaleY;
+        }
+
+        significance[0] = Double.POSITIVE_INFINITY;
+        significance[count - 1] = Double.POSITIVE_INFINITY;
+        //재귀 대신 명시적인 스택으로 구간을 나눈다 (긴 트랙에서 StackOverflow 방지)
+        int[] stack = new int[Math.max(count * 2, 2)];
+        int top = 0;
+        stack[top++] = 0;
+        stack[top++] = count - 1;
+        while (top > 0) {
+            int end = stack[--top];
+            int start = stack[--top];
+            if (end - start < 2) continue;
+
+            int farthest = -1;
+            double max = -1;
+            for (int i = start + 1; i < end; i++) {
+                double distance = segmentDistance(x[i], y[i], x[start], y[start], x[end], y[end]);
+                if (distance > max) {
+                    max = distance;
+                    farthest = i;
+                }
+            }
+            significance[farthest] = Math.min(max, Math.min(significance[start], significance[end]));
+            stack[top++] = start;
+            stack[top++] = farthest;
+            stack[top++] = farthest;
+            stack[top++] = end;
+        }
+        return significance;
+    }
+
+    private static double segmentDistance(double px, double py, double ax, double ay, double bx, double by) {
+        double dx = bx - ax;
+        double dy = by - ay;
+        double lengthSquared = dx * dx + dy * dy;
+        double t = lengthSquared == 0 ? 0 : ((px - ax) * dx + (py - ay) * dy) / lengthSquared;
+        if (t < 0) t = 0;
+        else if (t > 1) t = 1;
+        double ex = px - (ax + t * dx);
+        double ey = py - (ay + t * dy);
+        return Math.sqrt(ex * ex + ey * ey);
+    }
+}
@@ -0,0 +1,111 @@
+package sprint.server.domain.track;
+
+/**
+ * 러닝 로우데이터의 timestamp 문자열("yyyy-MM-dd HH:mm:ss.SSSZ")과 epoch millis 사이의 변환
+ * 포인트마다 호출되기 때문에 Timestamp/DateTimeFormatter 객체를 만들지 않고 직접 파싱한다
+ */
+public final class TrackTimestamps {
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    private TrackTimestamps() {
+    }
+
+    /**
+     * @param timestamp "2022-08-02 07:48:26.382Z" 형식 (구분자 'T', 소수점 이하 생략, 끝의 'Z' 생략 허용)
+     * @return UTC 기준 epoch millis
+     * @throws IllegalArgumentException 구분자가 다르거나 월/일/시/분/초가 범위를 벗어나면 (다른 날짜로 넘어가지 않게 한다)
+     */
+    public static long toEpochMillis(String timestamp) {
+        if (timestamp == null || timestamp.length() < 19
+                || timestamp.charAt(4) != '-' || timestamp.charAt(7) != '-'
+                || (timestamp.charAt(10) != ' ' && timestamp.charAt(10) != 'T')
+                || timestamp.charAt(13) != ':' || timestamp.charAt(16) != ':') {
+            throw new IllegalArgumentException("invalid timestamp : " + timestamp);
+        }
+        int year = digits(timestamp, 0, 4);
+        int month = digits(timestamp, 5, 2);
+        int day = digits(timestamp, 8, 2);
+        int hour = digits(timestamp, 11, 2);
+        int minute = digits(timestamp, 14, 2);
+        int second = digits(timestamp, 17, 2);
+        if (month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)
+                || hour > 23 || minute > 59 || second > 59) {
+            throw new IllegalArgumentException("invalid timestamp : " + timestamp);
+        }
+
+        int millis = 0;
+        if (timestamp.length() > 19 && timestamp.charAt(19) == '.') {
+            int scale = 100;
+            for (int i = 20; i < timestamp.length() && Character.isDigit(timestamp.charAt(i)); i++) {
+                millis += (timestamp.charAt(i) - '0') * scale;
+                scale /= 10;
+            }
+        }
+        return epochDay(year, month, day) * MILLIS_PER_DAY
+                + ((hour * 60L + minute) * 60L + second) * 1000L + millis;
+    }
+
+    /**
+     * @param epochMillis UTC 기준 epoch millis
+     * @return 클라이언트가 보내는 형식과 같은 "yyyy-MM-dd HH:mm:ss.SSSZ" 문자열
+     */
+    public static String toTimestampString(long epochMillis) {
+        long epochDay = Math.floorDiv(epochMillis, MILLIS_PER_DAY);
+        long millisOfDay = Math.floorMod(epochMillis, MILLIS_PER_DAY);
+
+        // epochDay -> 년/월/일 (Howard Hinnant civil_from_days)
+        long z = epochDay + 719468;
+        long era = Math.floorDiv(z, 146097);
+        long doe = z - era * 146097;
+        long yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+        long doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        long mp = (5 * doy + 2) / 153;
+        int day = (int) (doy - (153 * mp + 2) / 5 + 1);
+        int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        long year = yoe + era * 400 + (month <= 2 ? 1 : 0);
+
+        StringBuilder builder = new StringBuilder(24);
+        pad(builder, year, 4).append('-');
+        pad(builder, month, 2).append('-');
+        pad(builder, day, 2).append(' ');
+        pad(builder, millisOfDay / 3_600_000, 2).append(':');
+        pad(builder, millisOfDay / 60_000 % 60, 2).append(':');
+        pad(builder, millisOfDay / 1000 % 60, 2).append('.');
+        pad(builder, millisOfDay % 1000, 3).append('Z');
+        return builder.toString();
+    }
+
+    private static long epochDay(int year, int month, int day) {
+        // 년/월/일 -> epochDay (Howard Hinnant days_from_civil)
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yoe = y - era * 400;
+        long doy = (153L * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        long doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * 146097 + doe - 719468;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        if (month == 2) return (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+        return month == 4 || month == 6 || month == 9 || month == 11 ? 30 : 31;
+    }
+
+    private static int digits(String value, int offset, int length) {
+        int result = 0;
+        for (int i = offset; i < offset + length; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                throw new IllegalArgumentException("invalid timestamp : " + value);
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    private static StringBuilder pad(StringBuilder builder, long value, int width) {
+        String digits = Long.toString(value);
+        for (int i = digits.length(); i < width; i++) builder.append('0');
+        return builder.append(digits);
+    }
+}
@@ -0,0 +1,46 @@
+package sprint.server.domain.usermatch;
+
+/**
+ * 한 리그의 결과로 멤버들의 Elo 점수를 갱신한다
+ *
+ * 리그 멤버끼리 모두 한번씩 겨룬 것으로 보고, 순위가 높으면 1, 같으면 0.5, 낮으면 0 점을 받는다
+ * 기대 점수는 1 / (1 + 10^((상대 점수 - 내 점수) / 400)) 이고,
+ * 변화량은 K * (실제 - 기대) 의 합을 상대 수로 나눈 값이라 리그 인원과 상관없이 한 리그에서 최대 K 만큼 바뀐다
+ */
+public final class EloRating {
+
+    public static final double K = 32;
+
+    private EloRating() {
+    }
+
+    /**
+     * @param ratings 리그 멤버들의 현재 점수
+     * @param rankings 리그 순위 (1위부터, 같은 점수면 같은 순위)
+     * @return 갱신된 점수 (ratings 와 같은 순서)
+     */
+    public static double[] update(double[] ratings, int[] rankings) {
+        int n = ratings.length;
+        double[] result = ratings.clone();
+        if (n < 2) return result;
+        for (int i = 0; i < n; i++) {
+            double delta = 0;
+            for (int j = 0; j < n; j++) {
+                if (i == j) continue;
+                double expected = 1 / (1 + Math.pow(10, (ratings[j] - ratings[i]) / 400));
+                double actual = rankings[i] < rankings[j] ? 1 : rankings[i] == rankings[j] ? 0.5 : 0;
+                delta += actual - expected;
+            }
+            result[i] = ratings[i] + K * delta / (n - 1);
+        }
+        return result;
+    }
+
+    /**
+     * 매칭 신청 점수 (UserMatchApply.score) 로 변환한다
+     * 점수가 같은 멤버끼리는 매번 다른 팀이 되도록 소수점 아래 자리에 난수를 섞는다
+     */
+    public static long toApplyScore(double rating) {
+        return Math.round(rating * 1000) * 1000 + (long) (Math.random() * 1000);
+    }
+}
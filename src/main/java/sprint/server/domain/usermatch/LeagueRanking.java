@@ -0,0 +1,27 @@
+package sprint.server.domain.usermatch;
+
+/**
+ * 리그 한 팀의 순위를 매긴다
+ * 점수 내림차순이고 점수가 같으면 같은 순위를 준다 (1, 1, 3 ...)
+ * 팀 인원이 TEAM_SIZE 이하라서 정렬하지 않고 나보다 점수가 높은 멤버 수를 센다
+ */
+public final class LeagueRanking {
+
+    private LeagueRanking() {
+    }
+
+    /**
+     * @return scores 와 같은 순서의 순위 (1위부터)
+     */
+    public static int[] rank(int[] scores) {
+        int[] rankings = new int[scores.length];
+        for (int i = 0; i < scores.length; i++) {
+            int higher = 0;
+            for (int score : scores) {
+                if (score > scores[i]) higher++;
+            }
+            rankings[i] = higher + 1;
+        }
+        return rankings;
+    }
+}
@@ -0,0 +1,69 @@
+package sprint.server.domain.usermatch;
+
+import lombok.Getter;
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.*;
+import java.sql.Timestamp;
+
+/**
+ * 멤버의 리그 누적 기록 (참여한 리그 수, 최고 순위, 3위 이내 횟수)
+ * 리그가 정산될때 갱신하므로 프로필 조회에서 UserMatch 기록을 읽지 않는다
+ */
+@Entity
+@Getter
+public class MemberLeagueCareer implements Persistable<Long> {
+
+    public static final int PODIUM_RANKING = 3;
+
+    @Id
+    @Column(name = "member_id")
+    private Long memberId;
+
+    private int leagueCount;
+
+    private Integer bestRanking;
+
+    private int podiumCount;
+
+    // 마지막으로 반영한 리그의 매칭 시간 (같은 리그를 두번 반영하지 않는다)
+    private Timestamp lastMatchTime;
+
+    @Transient
+    private boolean isNew = true;
+
+    protected MemberLeagueCareer() {
+    }
+
+    public MemberLeagueCareer(Long memberId) {
+        this.memberId = memberId;
+    }
+
+    /**
+     * @return 반영했는지 (이미 반영한 리그면 false)
+     */
+    public boolean record(int ranking, Timestamp matchTime) {
+        if (lastMatchTime != null && !lastMatchTime.before(matchTime)) return false;
+        this.leagueCount++;
+        if (bestRanking == null || ranking < bestRanking) this.bestRanking = ranking;
+        if (ranking <= PODIUM_RANKING) this.podiumCount++;
+        this.lastMatchTime = matchTime;
+        return true;
+    }
+
+    @Override
+    public Long getId() {
+        return memberId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
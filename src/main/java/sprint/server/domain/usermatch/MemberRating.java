@@ -0,0 +1,65 @@
+package sprint.server.domain.usermatch;
+
+import lombok.Getter;
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.*;
+import java.sql.Timestamp;
+
+/**
+ * 멤버의 리그 실력 점수 (Elo)
+ * 리그가 정산될때 같은 리그 멤버들과의 순위로 갱신하고(EloRating), 다음 매칭에서 비슷한 점수끼리 묶는데 사용한다
+ */
+@Entity
+@Getter
+public class MemberRating implements Persistable<Long> {
+
+    public static final double INITIAL_RATING = 1500;
+
+    @Id
+    @Column(name = "member_id")
+    private Long memberId;
+
+    private double rating = INITIAL_RATING;
+
+    private int leagueCount;
+
+    // 마지막으로 반영한 리그의 매칭 시간 (같은 리그를 두번 반영하지 않는다)
+    private Timestamp ratedMatchTime;
+
+    @Transient
+    private boolean isNew = true;
+
+    protected MemberRating() {
+    }
+
+    public MemberRating(Long memberId) {
+        this.memberId = memberId;
+    }
+
+    public boolean isRated(Timestamp matchTime) {
+        return ratedMatchTime != null && !ratedMatchTime.before(matchTime);
+    }
+
+    public void rate(double rating, Timestamp matchTime) {
+        this.rating = rating;
+        this.leagueCount++;
+        this.ratedMatchTime = matchTime;
+    }
+
+    @Override
+    public Long getId() {
+        return memberId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
@@ -0,0 +1,84 @@
+package sprint.server.domain.usermatch;
+
+/**
+ * 리그 신청자를 TEAM_SIZE 명 이하의 팀으로 나눈다
+ *
+ * 신청자는 primitive 배열(memberIds[i], scores[i])로 받고 객체를 만들지 않는다
+ * 점수(실력 점수, MemberRating) 내림차순으로 정렬한 뒤 앞에서부터 잘라서 나누므로 비슷한 점수끼리 같은 팀이 된다
+ * 팀 수는 올림(n / TEAM_SIZE) 이고 팀 인원은 많아야 1명 차이가 나도록 나눈다 (마지막 팀만 1~2명이 되지 않는다)
+ */
+public final class TeamAssigner {
+
+    public static final int TEAM_SIZE = 5;
+
+    private TeamAssigner() {
+    }
+
+    /**
+     * @param count 앞에서부터 사용할 신청자 수
+     * @return 팀 순서대로 정렬된 신청자 인덱스, i 번째 신청자의 팀 번호는 teamOf(i, count)
+     */
+    public static int[] assign(long[] memberIds, long[] scores, int count) {
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++) order[i] = i;
+        sort(order, memberIds, scores);
+        return order;
+    }
+
+    public static int teamCount(int count) {
+        return (count + TEAM_SIZE - 1) / TEAM_SIZE;
+    }
+
+    /**
+     * @param position 정렬된 순서 (0부터)
+     * @return 팀 번호 (0부터), 앞쪽 (count % 팀 수) 개 팀이 1명씩 더 많다
+     */
+    public static int teamOf(int position, int count) {
+        int teams = teamCount(count);
+        int base = count / teams;
+        int larger = count % teams;
+        int boundary = larger * (base + 1);
+        return position < boundary ? position / (base + 1) : larger + (position - boundary) / base;
+    }
+
+    /**
+     * @return team 번 팀의 첫번째 순서 (team == teamCount 이면 count)
+     */
+    public static int teamStart(int team, int count) {
+        int teams = teamCount(count);
+        int base = count / teams;
+        int larger = count % teams;
+        return team * base + Math.min(team, larger);
+    }
+
+    /**
+     * 인덱스 배열을 bottom-up 병합정렬한다 (O(n log n), 박싱 없음)
+     */
+    private static void sort(int[] order, long[] memberIds, long[] scores) {
+        int n = order.length;
+        int[] source = order;
+        int[] target = new int[n];
+        for (int width = 1; width < n; width <<= 1) {
+            for (int from = 0; from < n; from += width << 1) {
+                int middle = Math.min(from + width, n);
+                int to = Math.min(from + (width << 1), n);
+                int left = from;
+                int right = middle;
+                int k = from;
+                while (left < middle && right < to) {
+                    target[k++] = before(source[right], source[left], memberIds, scores) ? source[right++] : source[left++];
+                }
+                while (left < middle) target[k++] = source[left++];
+                while (right < to) target[k++] = source[right++];
+            }
+            int[] swap = source;
+            source = target;
+            target = swap;
+        }
+        if (source != order) System.arraycopy(source, 0, order, 0, n);
+    }
+
+    private static boolean before(int a, int b, long[] memberIds, long[] scores) {
+        return scores[a] > scores[b] || scores[a] == scores[b] && memberIds[a] < memberIds[b];
+    }
+}
@@ -7,15 +7,24 @@ import lombok.Setter;
 
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
 import java.sql.Timestamp;
 
 @Entity
 @Getter @Setter
+@Table(indexes = {
+        @Index(name = "idx_user_match_time_team", columnList = "match_time, team_number"),
+        @Index(name = "idx_user_match_member_time", columnList = "member_id, match_time")
+})
 public class UserMatch {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_match_seq_generator")
+    @SequenceGenerator(name = "user_match_seq_generator", sequenceName = "user_match_seq", allocationSize = 50)
     private Long matchId;
 
     private Long memberId;
@@ -5,9 +5,12 @@ import lombok.Getter;
 import javax.persistence.EmbeddedId;
 import javax.persistence.Entity;
 import javax.persistence.Enumerated;
+import javax.persistence.Index;
+import javax.persistence.Table;
 
 @Entity
 @Getter
+@Table(indexes = @Index(name = "idx_user_match_apply_status_time", columnList = "match_status, apply_time"))
 public class UserMatchApply {
 
     @EmbeddedId
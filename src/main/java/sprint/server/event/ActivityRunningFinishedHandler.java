@@ -0,0 +1,30 @@
+package sprint.server.event;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import sprint.server.domain.Running;
+import sprint.server.repository.RunningRepository;
+import sprint.server.service.StatisticsService;
+
+/**
+ * 러닝 종료 후 멤버의 러닝 날짜 비트맵(MemberActivity)에 표시한다
+ */
+@Component
+@RequiredArgsConstructor
+public class ActivityRunningFinishedHandler implements RunningFinishedHandler {
+
+    private final RunningRepository runningRepository;
+    private final StatisticsService statisticsService;
+
+    @Override
+    public String getName() {
+        return "activity";
+    }
+
+    @Override
+    public void handle(RunningFinishedEvent event) {
+        Running running = runningRepository.findById(event.getRunningId())
+                .orElseThrow(() -> new IllegalStateException("running not found : " + event.getRunningId()));
+        statisticsService.markActivity(running);
+    }
+}
@@ -0,0 +1,66 @@
+package sprint.server.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import sprint.server.domain.outbox.OutboxEvent;
+import sprint.server.domain.outbox.OutboxStatus;
+import sprint.server.repository.OutboxEventRepository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * 러닝 종료 트랜잭션이 커밋되면 후처리 작업을 제한된 크기의 스레드풀에 넘긴다
+ * 큐가 가득 찼거나 실행에 실패한 작업은 스케줄러(dispatchPending)가 다시 가져간다
+ */
+@Slf4j
+@Component
+public class OutboxDispatcher {
+
+    private final OutboxProcessor outboxProcessor;
+    private final OutboxEventRepository outboxEventRepository;
+    private final TaskExecutor taskExecutor;
+
+    public OutboxDispatcher(OutboxProcessor outboxProcessor, OutboxEventRepository outboxEventRepository,
+                            @Qualifier("runningEventExecutor") TaskExecutor taskExecutor) {
+        this.outboxProcessor = outboxProcessor;
+        this.outboxEventRepository = outboxEventRepository;
+        this.taskExecutor = taskExecutor;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onRunningFinished(RunningFinishedEvent event) {
+        for (Long outboxEventId : event.getOutboxEventIds()) {
+            try {
+                taskExecutor.execute(() -> run(outboxEventId));
+            } catch (TaskRejectedException e) {
+                log.warn("outbox event {} rejected, will be retried by scheduler", outboxEventId);
+            }
+        }
+    }
+
+    /**
+     * 재시도 시간이 지난 작업들을 현재 스레드에서 실행한다
+     * @return 실행한 작업 개수
+     */
+    public int dispatchPending() {
+        List<OutboxEvent> pending = outboxEventRepository.findTop100ByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+                OutboxStatus.WAIT, new Timestamp(System.currentTimeMillis()));
+        pending.forEach(outboxEvent -> run(outboxEvent.getId()));
+        return pending.size();
+    }
+
+    private void run(Long outboxEventId) {
+        try {
+            outboxProcessor.process(outboxEventId);
+        } catch (Exception e) {
+            log.warn("outbox event {} failed : {}", outboxEventId, e.toString());
+            outboxProcessor.failed(outboxEventId, e);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package sprint.server.event;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import sprint.server.domain.outbox.OutboxEvent;
+import sprint.server.domain.outbox.OutboxStatus;
+import sprint.server.repository.OutboxEventRepository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class OutboxProcessor {
+
+    private static final long RETRY_BASE_MILLIS = 10_000;
+    private static final long RETRY_MAX_MILLIS = 3_600_000;
+    /**
+     * isDeferred 핸들러의 결과가 반영될때까지 재시도를 미루는 시간
+     */
+    public static final long DEFER_LEASE_MILLIS = 60_000;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<RunningFinishedHandler> handlers;
+
+    /**
+     * 핸들러를 실행하고 같은 트랜잭션에서 DONE 으로 바꾼다 (isDeferred 핸들러는 재시도만 미룬다)
+     * 이미 처리된 행이면 아무것도 하지 않는다
+     */
+    @Transactional
+    public void process(Long outboxEventId) {
+        OutboxEvent outboxEvent = outboxEventRepository.findById(outboxEventId).orElse(null);
+        if (outboxEvent == null || outboxEvent.getStatus() != OutboxStatus.WAIT) return;
+
+        RunningFinishedHandler handler = findHandler(outboxEvent.getHandler());
+        handler.handle(new RunningFinishedEvent(outboxEvent.getRunningId(), outboxEvent.getMemberId(),
+                Collections.singletonList(outboxEventId)));
+        if (handler.isDeferred()) outboxEvent.defer(new Timestamp(System.currentTimeMillis() + DEFER_LEASE_MILLIS));
+        else outboxEvent.done();
+    }
+
+    /**
+     * 실패를 기록하고 재시도 시간을 지수적으로 늦춘다 (process 가 롤백된 뒤 별도 트랜잭션에서 실행)
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void failed(Long outboxEventId, Exception exception) {
+        OutboxEvent outboxEvent = outboxEventRepository.findById(outboxEventId).orElse(null);
+        if (outboxEvent == null || outboxEvent.getStatus() != OutboxStatus.WAIT) return;
+
+        long delay = Math.min(RETRY_BASE_MILLIS << Math.min(outboxEvent.getAttempts(), 20), RETRY_MAX_MILLIS);
+        outboxEvent.failed(exception.toString(), new Timestamp(System.currentTimeMillis() + delay));
+    }
+
+    @Transactional
+    public int deleteDone(LocalDateTime before) {
+        return outboxEventRepository.deleteAllByStatusBefore(OutboxStatus.DONE, before);
+    }
+
+    private RunningFinishedHandler findHandler(String name) {
+        for (RunningFinishedHandler handler : handlers) {
+            if (handler.getName().equals(name)) return handler;
+        }
+        throw new IllegalStateException("unknown running finished handler : " + name);
+    }
+}
@@ -0,0 +1,32 @@
+package sprint.server.event;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import sprint.server.domain.Running;
+import sprint.server.repository.RunningRepository;
+import sprint.server.service.PaceHistogramService;
+
+/**
+ * 러닝 종료 후 트랙으로 페이스 히스토그램을 만들어 기간별 히스토그램에 더한다
+ */
+@Component
+@RequiredArgsConstructor
+public class PaceRunningFinishedHandler implements RunningFinishedHandler {
+
+    public static final String NAME = "pace";
+
+    private final RunningRepository runningRepository;
+    private final PaceHistogramService paceHistogramService;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void handle(RunningFinishedEvent event) {
+        Running running = runningRepository.findById(event.getRunningId())
+                .orElseThrow(() -> new IllegalStateException("running not found : " + event.getRunningId()));
+        paceHistogramService.addRunning(running);
+    }
+}
@@ -0,0 +1,40 @@
+package sprint.server.event;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import sprint.server.domain.Running;
+import sprint.server.domain.outbox.OutboxEvent;
+import sprint.server.repository.OutboxEventRepository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class RunningEventPublisher {
+
+    /**
+     * 커밋 직후 실행이 실패하거나 유실된 경우에만 스케줄러가 가져가도록 처음 시도 시간을 늦춘다
+     */
+    private static final long FIRST_RETRY_DELAY_MILLIS = 60_000;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final List<RunningFinishedHandler> handlers;
+
+    /**
+     * 러닝 종료 트랜잭션 안에서 호출해야 한다
+     * 핸들러마다 outbox 행을 만들고, 커밋되면 OutboxDispatcher 가 바로 실행한다
+     */
+    public void publishFinished(Running running) {
+        Timestamp nextAttemptAt = new Timestamp(System.currentTimeMillis() + FIRST_RETRY_DELAY_MILLIS);
+        List<Long> outboxEventIds = new ArrayList<>();
+        for (RunningFinishedHandler handler : handlers) {
+            OutboxEvent outboxEvent = new OutboxEvent(handler.getName(), running.getId(), running.getMember().getId(), nextAttemptAt);
+            outboxEventIds.add(outboxEventRepository.save(outboxEvent).getId());
+        }
+        applicationEventPublisher.publishEvent(new RunningFinishedEvent(running.getId(), running.getMember().getId(), outboxEventIds));
+    }
+}
@@ -0,0 +1,28 @@
+package sprint.server.event;
+
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 러닝이 종료되어 저장되었다는 이벤트
+ * outboxEventIds 는 같은 트랜잭션에서 만들어진 후처리 작업들로, 커밋 직후 바로 실행하는데 사용한다
+ * 핸들러에 넘길때는 지금 처리중인 outbox 행 하나만 담는다
+ */
+@Getter
+public class RunningFinishedEvent {
+    private final Long runningId;
+    private final Long memberId;
+    private final List<Long> outboxEventIds;
+
+    public RunningFinishedEvent(Long runningId, Long memberId) {
+        this(runningId, memberId, Collections.emptyList());
+    }
+
+    public RunningFinishedEvent(Long runningId, Long memberId, List<Long> outboxEventIds) {
+        this.runningId = runningId;
+        this.memberId = memberId;
+        this.outboxEventIds = outboxEventIds;
+    }
+}
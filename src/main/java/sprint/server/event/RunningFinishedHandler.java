@@ -0,0 +1,26 @@
+package sprint.server.event;
+
+/**
+ * 러닝 종료 후처리 (통계, 리그, 피드 등)
+ * 빈으로 등록하면 러닝 종료시 핸들러마다 outbox 행이 만들어지고 비동기로 실행된다
+ *
+ * handle 은 outbox 행의 DONE 처리와 같은 트랜잭션에서 실행되며, 예외가 발생하면 롤백 후 재시도된다
+ */
+public interface RunningFinishedHandler {
+
+    /**
+     * outbox 에 저장되는 핸들러 이름, 한번 정하면 바꾸지 않는다
+     */
+    String getName();
+
+    void handle(RunningFinishedEvent event);
+
+    /**
+     * true 이면 handle 이 끝나도 DONE 으로 바꾸지 않고 재시도만 미뤄둔다 (OutboxProcessor.DEFER_LEASE_MILLIS)
+     * 핸들러가 결과를 실제로 반영하는 트랜잭션에서 직접 DONE 으로 바꾸며 (OutboxEventRepository.markDone),
+     * 그 전에 서버가 종료되면 미뤄둔 시간이 지난 뒤 다시 실행된다
+     */
+    default boolean isDeferred() {
+        return false;
+    }
+}
@@ -0,0 +1,32 @@
+package sprint.server.event;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import sprint.server.domain.Running;
+import sprint.server.repository.RunningRepository;
+import sprint.server.service.StatisticsSeriesService;
+
+/**
+ * 러닝 종료 후 멤버의 하루 단위 누적 기록(MemberDailyTotal)에 더한다
+ */
+@Component
+@RequiredArgsConstructor
+public class SeriesRunningFinishedHandler implements RunningFinishedHandler {
+
+    public static final String NAME = "series";
+
+    private final RunningRepository runningRepository;
+    private final StatisticsSeriesService statisticsSeriesService;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void handle(RunningFinishedEvent event) {
+        Running running = runningRepository.findById(event.getRunningId())
+                .orElseThrow(() -> new IllegalStateException("running not found : " + event.getRunningId()));
+        statisticsSeriesService.addRunning(running);
+    }
+}
@@ -0,0 +1,38 @@
+package sprint.server.event;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import sprint.server.domain.Running;
+import sprint.server.repository.RunningRepository;
+import sprint.server.service.StatisticsService;
+
+/**
+ * 러닝 종료 후 일/주/월/년/전체 통계를 업데이트한다
+ */
+@Component
+@RequiredArgsConstructor
+public class StatisticsRunningFinishedHandler implements RunningFinishedHandler {
+
+    private final RunningRepository runningRepository;
+    private final StatisticsService statisticsService;
+
+    @Override
+    public String getName() {
+        return "statistics";
+    }
+
+    @Override
+    public void handle(RunningFinishedEvent event) {
+        Running running = runningRepository.findById(event.getRunningId())
+                .orElseThrow(() -> new IllegalStateException("running not found : " + event.getRunningId()));
+        statisticsService.accumulateStatistics(running, event.getOutboxEventIds().get(0));
+    }
+
+    /**
+     * 통계는 StatisticsAccumulator 가 모아서 반영할때 DONE 처리된다
+     */
+    @Override
+    public boolean isDeferred() {
+        return true;
+    }
+}
@@ -0,0 +1,17 @@
+package sprint.server.event;
+
+import lombok.Getter;
+
+import java.util.Collection;
+
+/**
+ * 통계 행들의 값이 바뀌어 커밋되었다는 이벤트 (리더보드 갱신용)
+ */
+@Getter
+public class StatisticsUpdatedEvent {
+    private final Collection<Long> statisticsIds;
+
+    public StatisticsUpdatedEvent(Collection<Long> statisticsIds) {
+        this.statisticsIds = statisticsIds;
+    }
+}
@@ -0,0 +1,25 @@
+package sprint.server.event;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import sprint.server.service.TimelineService;
+
+/**
+ * 종료된 러닝을 본인과 친구들의 타임라인에 넣는다
+ */
+@Component
+@RequiredArgsConstructor
+public class TimelineRunningFinishedHandler implements RunningFinishedHandler {
+
+    private final TimelineService timelineService;
+
+    @Override
+    public String getName() {
+        return "timeline";
+    }
+
+    @Override
+    public void handle(RunningFinishedEvent event) {
+        timelineService.fanOut(event.getMemberId(), event.getRunningId());
+    }
+}
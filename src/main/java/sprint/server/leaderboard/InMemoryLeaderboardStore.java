@@ -0,0 +1,145 @@
+package sprint.server.leaderboard;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 서버 메모리에 저장하는 리더보드 (기본값, 단일 서버 및 테스트용)
+ * 리더보드마다 멤버별 점수 맵과 순위 조회용 RankedSkipList 를 함께 유지한다
+ * 여러 서버에서 운영할 때는 sprint.leaderboard.store=redis 를 사용한다
+ */
+@Component
+@ConditionalOnProperty(name = "sprint.leaderboard.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryLeaderboardStore implements LeaderboardStore {
+
+    private final Map<String, Board> boards = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean exists(String board) {
+        return findBoard(board) != null;
+    }
+
+    @Override
+    public void create(String board, Duration ttl) {
+        long expireAt = ttl == null ? Long.MAX_VALUE : System.currentTimeMillis() + ttl.toMillis();
+        purgeExpired();
+        boards.putIfAbsent(board, new Board(expireAt));
+    }
+
+    @Override
+    public void fill(String board, Map<Long, Double> scores) {
+        Board target = findBoard(board);
+        if (target == null) return;
+        synchronized (target) {
+            scores.forEach((memberId, score) -> target.setIfGreater(memberId, score));
+        }
+    }
+
+    @Override
+    public void delete(String board) {
+        boards.remove(board);
+    }
+
+    @Override
+    public void update(String board, Map<Long, Double> scores) {
+        Board target = findBoard(board);
+        if (target == null) return;
+        synchronized (target) {
+            scores.forEach(target::set);
+        }
+    }
+
+    @Override
+    public List<LeaderboardEntry> top(String board, int size) {
+        return range(board, 0, size);
+    }
+
+    @Override
+    public LeaderboardEntry find(String board, Long memberId) {
+        Board target = findBoard(board);
+        if (target == null) return null;
+        synchronized (target) {
+            Double score = target.scores.get(memberId);
+            if (score == null) return null;
+            return new LeaderboardEntry(target.ranking.rank(memberId, score), memberId, score);
+        }
+    }
+
+    @Override
+    public List<LeaderboardEntry> range(String board, long from, int size) {
+        Board target = findBoard(board);
+        if (target == null || from >= Integer.MAX_VALUE) return Collections.emptyList();
+        synchronized (target) {
+            List<LeaderboardEntry> result = new ArrayList<>(Math.min(size, target.scores.size()));
+            long rank = Math.max(from, 0);
+            RankedSkipList.Node node = target.ranking.byRank((int) rank);
+            while (node != null && result.size() < size) {
+                result.add(new LeaderboardEntry(rank++, node.memberId, node.score));
+                node = node.next();
+            }
+            return result;
+        }
+    }
+
+    @Override
+    public Map<Long, Double> scores(String board, Collection<Long> memberIds) {
+        Board target = findBoard(board);
+        if (target == null) return Collections.emptyMap();
+        Map<Long, Double> result = new HashMap<>();
+        synchronized (target) {
+            for (Long memberId : memberIds) {
+                Double score = target.scores.get(memberId);
+                if (score != null) result.put(memberId, score);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public long size(String board) {
+        Board target = findBoard(board);
+        if (target == null) return 0;
+        synchronized (target) {
+            return target.scores.size();
+        }
+    }
+
+    private Board findBoard(String board) {
+        Board target = boards.get(board);
+        if (target != null && target.expireAt < System.currentTimeMillis()) {
+            boards.remove(board, target);
+            return null;
+        }
+        return target;
+    }
+
+    private void purgeExpired() {
+        long now = System.currentTimeMillis();
+        boards.values().removeIf(board -> board.expireAt < now);
+    }
+
+    private static class Board {
+        private final long expireAt;
+        private final Map<Long, Double> scores = new HashMap<>();
+        private final RankedSkipList ranking = new RankedSkipList();
+
+        private Board(long expireAt) {
+            this.expireAt = expireAt;
+        }
+
+        private void set(Long memberId, double score) {
+            Double previous = scores.put(memberId, score);
+            if (previous != null) ranking.delete(memberId, previous);
+            ranking.insert(memberId, score);
+        }
+
+        private void setIfGreater(Long memberId, double score) {
+            Double previous = scores.get(memberId);
+            if (previous == null || previous < score) set(memberId, score);
+        }
+    }
+}
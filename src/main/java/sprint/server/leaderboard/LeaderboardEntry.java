@@ -0,0 +1,16 @@
+package sprint.server.leaderboard;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 리더보드 한 줄
+ * rank 는 0부터 시작한다
+ */
+@Getter
+@AllArgsConstructor
+public class LeaderboardEntry {
+    private final long rank;
+    private final Long memberId;
+    private final double score;
+}
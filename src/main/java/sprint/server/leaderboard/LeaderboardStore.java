@@ -0,0 +1,64 @@
+package sprint.server.leaderboard;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 기간별 거리 리더보드 (점수 내림차순)
+ * board 는 "Weekly:2022-08-01" 처럼 통계 종류와 기간 시작일로 만든 이름이다
+ *
+ * 점수는 증가분이 아니라 통계 행의 현재 값으로 저장하므로 같은 갱신이 여러번 들어와도 결과가 같다
+ * 만들어진 적 없는 리더보드는 DB 로 다시 채운다 (LeaderboardService)
+ */
+public interface LeaderboardStore {
+
+    /**
+     * 리더보드가 만들어져 있는지
+     */
+    boolean exists(String board);
+
+    /**
+     * 빈 리더보드를 만든다. 만든 뒤부터 update 가 반영되므로 DB 로 채우기 전에 호출한다
+     * @param ttl 리더보드 유지 기간 (null 이면 계속 유지)
+     */
+    void create(String board, Duration ttl);
+
+    /**
+     * DB 에서 읽은 점수로 리더보드를 채운다. 그 사이 update 로 더 큰 점수가 들어온 멤버는 그대로 둔다
+     */
+    void fill(String board, Map<Long, Double> scores);
+
+    /**
+     * 리더보드를 지운다. 채우다 실패한 리더보드가 만들어진 채로 남지 않게 한다
+     */
+    void delete(String board);
+
+    /**
+     * 멤버들의 점수를 바꾼다. 만들어지지 않은 리더보드는 조회할때 DB 로 채워지므로 바꾸지 않는다
+     */
+    void update(String board, Map<Long, Double> scores);
+
+    /**
+     * @return 0위부터 size 개
+     */
+    List<LeaderboardEntry> top(String board, int size);
+
+    /**
+     * @return 멤버의 순위와 점수 (리더보드에 없으면 null)
+     */
+    LeaderboardEntry find(String board, Long memberId);
+
+    /**
+     * @return from 위부터 size 개
+     */
+    List<LeaderboardEntry> range(String board, long from, int size);
+
+    /**
+     * @return 멤버별 점수 (리더보드에 없는 멤버는 제외)
+     */
+    Map<Long, Double> scores(String board, Collection<Long> memberIds);
+
+    long size(String board);
+}
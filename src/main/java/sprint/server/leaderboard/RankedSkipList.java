@@ -0,0 +1,151 @@
+package sprint.server.leaderboard;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 점수 내림차순(같으면 memberId 오름차순)으로 정렬된 skip list
+ *
+ * Redis sorted set 과 같이 각 링크가 건너뛰는 원소 수(span)를 함께 저장해서
+ * 삽입, 삭제, 순위 조회, 순위로 찾기가 모두 O(log n) 이다
+ * 동기화하지 않으므로 호출하는 쪽에서 잠근다
+ */
+class RankedSkipList {
+
+    private static final int MAX_LEVEL = 32;
+    private static final double P = 0.25;
+
+    private final Node head = new Node(MAX_LEVEL, 0, Double.POSITIVE_INFINITY);
+    private int level = 1;
+    private int size;
+
+    static final class Node {
+        final long memberId;
+        final double score;
+        final Node[] next;
+        final int[] span;
+
+        private Node(int level, long memberId, double score) {
+            this.memberId = memberId;
+            this.score = score;
+            this.next = new Node[level];
+            this.span = new int[level];
+        }
+
+        Node next() {
+            return next[0];
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    void insert(long memberId, double score) {
+        Node[] update = new Node[MAX_LEVEL];
+        int[] rank = new int[MAX_LEVEL];
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = i == level - 1 ? 0 : rank[i + 1];
+            while (x.next[i] != null && before(x.next[i], memberId, score)) {
+                rank[i] += x.span[i];
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+        int nodeLevel = randomLevel();
+        if (nodeLevel > level) {
+            for (int i = level; i < nodeLevel; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                update[i].span[i] = size;
+            }
+            level = nodeLevel;
+        }
+        Node node = new Node(nodeLevel, memberId, score);
+        for (int i = 0; i < nodeLevel; i++) {
+            node.next[i] = update[i].next[i];
+            update[i].next[i] = node;
+            node.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = rank[0] - rank[i] + 1;
+        }
+        for (int i = nodeLevel; i < level; i++) {
+            update[i].span[i]++;
+        }
+        size++;
+    }
+
+    /**
+     * @return 삭제되었으면 true
+     */
+    boolean delete(long memberId, double score) {
+        Node[] update = new Node[MAX_LEVEL];
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && before(x.next[i], memberId, score)) {
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+        x = x.next[0];
+        if (x == null || x.memberId != memberId || x.score != score) return false;
+        for (int i = 0; i < level; i++) {
+            if (update[i].next[i] == x) {
+                update[i].span[i] += x.span[i] - 1;
+                update[i].next[i] = x.next[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+        while (level > 1 && head.next[level - 1] == null) level--;
+        size--;
+        return true;
+    }
+
+    /**
+     * @return 0부터 시작하는 순위 (없으면 -1)
+     */
+    int rank(long memberId, double score) {
+        int rank = 0;
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && (before(x.next[i], memberId, score) || x.next[i].memberId == memberId && x.next[i].score == score)) {
+                rank += x.span[i];
+                x = x.next[i];
+            }
+            if (x != head && x.memberId == memberId && x.score == score) return rank - 1;
+        }
+        return -1;
+    }
+
+    /**
+     * @param rank 0부터 시작하는 순위
+     * @return 해당 순위의 노드 (범위를 넘으면 null), next() 로 다음 순위를 이어서 읽는다
+     */
+    Node byRank(int rank) {
+        if (rank < 0 || rank >= size) return null;
+        int traversed = 0;
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && traversed + x.span[i] <= rank + 1) {
+                traversed += x.span[i];
+                x = x.next[i];
+            }
+            if (traversed == rank + 1) return x;
+        }
+        return null;
+    }
+
+    /**
+     * node 가 (memberId, score) 보다 앞 순위인지
+     */
+    private static boolean before(Node node, long memberId, double score) {
+        return node.score > score || node.score == score && node.memberId < memberId;
+    }
+
+    private static int randomLevel() {
+        int level = 1;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (level < MAX_LEVEL && random.nextDouble() < P) level++;
+        return level;
+    }
+}
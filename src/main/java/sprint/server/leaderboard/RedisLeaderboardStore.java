@@ -0,0 +1,155 @@
+package sprint.server.leaderboard;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Redis sorted set 에 저장하는 리더보드 (sprint.leaderboard.store=redis)
+ *
+ * key : leaderboard:v2:{board}, member : (Long.MAX_VALUE - memberId) 를 19자리로 채운 문자열, score : 거리
+ * 같은 점수는 ZREVRANGE 가 member 문자열 내림차순으로 정렬하므로 member 를 이렇게 만들어야
+ * InMemoryLeaderboardStore 와 같이 memberId 오름차순이 된다 (이전 형식의 키와 섞이지 않도록 v2 를 붙인다)
+ * 리더보드가 만들어졌는지는 leaderboard:{board}:ready 키로 구분한다
+ * fill 은 ZADD GT 를 사용하므로 Redis 6.2 이상이 필요하다
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "sprint.leaderboard.store", havingValue = "redis")
+public class RedisLeaderboardStore implements LeaderboardStore {
+
+    private static final String KEY_PREFIX = "leaderboard:v2:";
+    private static final String READY_SUFFIX = ":ready";
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Override
+    public boolean exists(String board) {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(readyKey(board)));
+    }
+
+    @Override
+    public void create(String board, Duration ttl) {
+        if (ttl == null) {
+            redisTemplate.opsForValue().setIfAbsent(readyKey(board), "1");
+        } else {
+            redisTemplate.opsForValue().setIfAbsent(readyKey(board), "1", ttl);
+        }
+    }
+
+    @Override
+    public void fill(String board, Map<Long, Double> scores) {
+        String key = key(board);
+        Long ttl = redisTemplate.getExpire(readyKey(board));
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            //그 사이 update 로 들어온 더 큰 값을 덮어쓰지 않는다
+            RedisZSetCommands.ZAddArgs greater = RedisZSetCommands.ZAddArgs.empty().gt();
+            scores.forEach((memberId, score) -> stringConnection.zAdd(key, score, member(memberId), greater));
+            if (ttl != null && ttl > 0) stringConnection.expire(key, ttl);
+            return null;
+        });
+    }
+
+    @Override
+    public void delete(String board) {
+        redisTemplate.delete(Arrays.asList(readyKey(board), key(board)));
+    }
+
+    @Override
+    public void update(String board, Map<Long, Double> scores) {
+        //만들어지지 않은 리더보드는 조회할때 DB 로 채워지므로 넣지 않는다
+        if (scores.isEmpty() || !exists(board)) return;
+        String key = key(board);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            scores.forEach((memberId, score) -> stringConnection.zAdd(key, score, member(memberId)));
+            return null;
+        });
+    }
+
+    @Override
+    public List<LeaderboardEntry> top(String board, int size) {
+        return range(board, 0, size);
+    }
+
+    @Override
+    public LeaderboardEntry find(String board, Long memberId) {
+        String key = key(board);
+        String value = member(memberId);
+        List<Object> result = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            stringConnection.zRevRank(key, value);
+            stringConnection.zScore(key, value);
+            return null;
+        });
+        if (result.get(0) == null || result.get(1) == null) return null;
+        return new LeaderboardEntry((Long) result.get(0), memberId, (Double) result.get(1));
+    }
+
+    @Override
+    public List<LeaderboardEntry> range(String board, long from, int size) {
+        long start = Math.max(from, 0);
+        Set<ZSetOperations.TypedTuple<String>> tuples = redisTemplate.opsForZSet()
+                .reverseRangeWithScores(key(board), start, start + size - 1);
+        if (tuples == null) return Collections.emptyList();
+        List<LeaderboardEntry> result = new ArrayList<>(tuples.size());
+        long rank = start;
+        for (ZSetOperations.TypedTuple<String> tuple : tuples) {
+            result.add(new LeaderboardEntry(rank++, memberId(tuple.getValue()), tuple.getScore()));
+        }
+        return result;
+    }
+
+    @Override
+    public Map<Long, Double> scores(String board, Collection<Long> memberIds) {
+        String key = key(board);
+        List<Object> scores = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            for (Long memberId : memberIds) {
+                stringConnection.zScore(key, member(memberId));
+            }
+            return null;
+        });
+        Map<Long, Double> result = new HashMap<>();
+        Iterator<Long> memberIterator = memberIds.iterator();
+        for (Object score : scores) {
+            Long memberId = memberIterator.next();
+            if (score != null) result.put(memberId, (Double) score);
+        }
+        return result;
+    }
+
+    @Override
+    public long size(String board) {
+        Long size = redisTemplate.opsForZSet().zCard(key(board));
+        return size == null ? 0 : size;
+    }
+
+    private static String key(String board) {
+        return KEY_PREFIX + board;
+    }
+
+    /**
+     * @return ZREVRANGE 의 같은 점수 정렬(member 문자열 내림차순)이 memberId 오름차순이 되는 member
+     */
+    static String member(Long memberId) {
+        return String.format("%019d", Long.MAX_VALUE - memberId);
+    }
+
+    static Long memberId(String member) {
+        return Long.MAX_VALUE - Long.parseLong(member);
+    }
+
+    private static String readyKey(String board) {
+        return KEY_PREFIX + board + READY_SUFFIX;
+    }
+}
@@ -0,0 +1,147 @@
+package sprint.server.league;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 서버 메모리에 저장하는 리그 순위표 (기본값, 단일 서버 및 테스트용)
+ * 기록이 바뀔때 팀 순위표를 다시 정렬해 두므로 조회는 정렬된 리스트를 그대로 돌려준다
+ * 여러 서버에서 운영할 때는 sprint.league.store=redis 를 사용한다
+ */
+@Component
+@ConditionalOnProperty(name = "sprint.league.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryLeagueStandingsStore implements LeagueStandingsStore {
+
+    private final Map<String, Week> weeks = new ConcurrentHashMap<>();
+
+    @Override
+    public Integer findTeam(String week, Long memberId) {
+        Week target = findWeek(week);
+        if (target == null) return null;
+        Team team = target.memberTeams.get(memberId);
+        return team == null ? null : team.teamNumber;
+    }
+
+    @Override
+    public void create(String week, int teamNumber, List<LeagueStanding> members, Duration ttl) {
+        long expireAt = ttl == null ? Long.MAX_VALUE : System.currentTimeMillis() + ttl.toMillis();
+        purgeExpired();
+        Week target = weeks.computeIfAbsent(week, name -> new Week(expireAt));
+        Team team = target.teams.computeIfAbsent(teamNumber, Team::new);
+        synchronized (team) {
+            for (LeagueStanding member : members) {
+                team.members.putIfAbsent(member.getMemberId(), new Member(member));
+            }
+            team.rank();
+        }
+        for (LeagueStanding member : members) {
+            target.memberTeams.put(member.getMemberId(), team);
+        }
+    }
+
+    @Override
+    public void record(String week, Collection<LeagueRecord> records) {
+        Week target = findWeek(week);
+        if (target == null) return;
+        Set<Team> changed = new HashSet<>();
+        for (LeagueRecord record : records) {
+            Team team = target.memberTeams.get(record.getMemberId());
+            if (team == null) continue;
+            synchronized (team) {
+                if (team.members.get(record.getMemberId()).record(record)) changed.add(team);
+            }
+        }
+        for (Team team : changed) {
+            synchronized (team) {
+                team.rank();
+            }
+        }
+    }
+
+    @Override
+    public List<LeagueStanding> find(String week, int teamNumber) {
+        Week target = findWeek(week);
+        if (target == null) return null;
+        Team team = target.teams.get(teamNumber);
+        return team == null ? null : team.standings;
+    }
+
+    private Week findWeek(String week) {
+        Week target = weeks.get(week);
+        if (target == null) return null;
+        if (target.expireAt < System.currentTimeMillis()) {
+            weeks.remove(week, target);
+            return null;
+        }
+        return target;
+    }
+
+    private void purgeExpired() {
+        long now = System.currentTimeMillis();
+        weeks.values().removeIf(week -> week.expireAt < now);
+    }
+
+    private static class Week {
+        private final long expireAt;
+        private final Map<Integer, Team> teams = new ConcurrentHashMap<>();
+        private final Map<Long, Team> memberTeams = new ConcurrentHashMap<>();
+
+        private Week(long expireAt) {
+            this.expireAt = expireAt;
+        }
+    }
+
+    private static class Team {
+        private final int teamNumber;
+        private final Map<Long, Member> members = new HashMap<>();
+        // 조회는 잠금 없이 정렬해 둔 리스트를 읽는다
+        private volatile List<LeagueStanding> standings = Collections.emptyList();
+
+        private Team(int teamNumber) {
+            this.teamNumber = teamNumber;
+        }
+
+        private void rank() {
+            List<LeagueStanding> ranked = new ArrayList<>(members.size());
+            for (Member member : members.values()) ranked.add(member.toStanding());
+            ranked.sort(LeagueStanding.RANKING);
+            standings = Collections.unmodifiableList(ranked);
+        }
+    }
+
+    private static class Member {
+        private final LeagueStanding info;
+        // 날짜 -> (거리, 횟수)
+        private final Map<LocalDate, double[]> days = new HashMap<>();
+
+        private Member(LeagueStanding info) {
+            this.info = info;
+        }
+
+        /**
+         * @return 값이 바뀌었는지
+         */
+        private boolean record(LeagueRecord record) {
+            double[] day = days.computeIfAbsent(record.getDay(), date -> new double[2]);
+            if (record.getDistance() <= day[0] && record.getCount() <= day[1]) return false;
+            day[0] = Math.max(day[0], record.getDistance());
+            day[1] = Math.max(day[1], record.getCount());
+            return true;
+        }
+
+        private LeagueStanding toStanding() {
+            double distance = 0;
+            int count = 0;
+            for (double[] day : days.values()) {
+                distance += day[0];
+                count += (int) day[1];
+            }
+            return new LeagueStanding(info.getMemberId(), info.getNickname(), info.getMatchId(), distance, count);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package sprint.server.league;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * 멤버의 하루 러닝 기록 (Daily 통계 행의 현재 값)
+ */
+@Getter
+@AllArgsConstructor
+public class LeagueRecord {
+    private final Long memberId;
+    private final LocalDate day;
+    private final double distance;
+    private final int count;
+}
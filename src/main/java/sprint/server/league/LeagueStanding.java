@@ -0,0 +1,37 @@
+package sprint.server.league;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Comparator;
+
+/**
+ * 리그 순위표 한 줄 (리그 기간 동안의 거리와 러닝 횟수)
+ */
+@Getter
+@AllArgsConstructor
+public class LeagueStanding {
+
+    /**
+     * 점수 내림차순, 같으면 memberId 오름차순
+     */
+    public static final Comparator<LeagueStanding> RANKING = Comparator.comparingInt(LeagueStanding::getScore).reversed()
+            .thenComparing(LeagueStanding::getMemberId);
+
+    private final Long memberId;
+    private final String nickname;
+    private final Long matchId;
+    private final double distance;
+    private final int count;
+
+    public int getScore() {
+        return scoreOf(distance, count);
+    }
+
+    /**
+     * 리그 점수 : (거리(m) + 러닝 횟수 * 1000) / 100
+     */
+    public static int scoreOf(double distance, int count) {
+        return (int) (distance + count * 1000) / 100;
+    }
+}
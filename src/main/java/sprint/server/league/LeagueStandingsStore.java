@@ -0,0 +1,36 @@
+package sprint.server.league;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 리그 팀별 순위표
+ * week 는 "2022-08-01" 처럼 리그가 속한 주의 시작일이다
+ *
+ * 기록은 증가분이 아니라 Daily 통계 행의 현재 값으로 저장하고 더 클때만 바꾸므로 같은 기록이 여러번 들어와도 결과가 같다
+ * 등록된 적 없는 팀은 조회할때 DB 로 채운다 (LeagueStandingsService)
+ */
+public interface LeagueStandingsStore {
+
+    /**
+     * @return 멤버가 등록된 팀 번호 (없으면 null)
+     */
+    Integer findTeam(String week, Long memberId);
+
+    /**
+     * 팀 멤버를 등록한다. 등록한 뒤부터 record 가 반영되므로 통계를 읽기 전에 호출한다
+     * @param members 기록이 없는 (거리 0) 멤버들
+     */
+    void create(String week, int teamNumber, List<LeagueStanding> members, Duration ttl);
+
+    /**
+     * 멤버들의 하루 기록을 반영한다. 등록되지 않은 멤버의 기록은 무시한다
+     */
+    void record(String week, Collection<LeagueRecord> records);
+
+    /**
+     * @return 순위 순서대로 정렬된 팀 순위표 (등록되지 않은 팀이면 null)
+     */
+    List<LeagueStanding> find(String week, int teamNumber);
+}
@@ -0,0 +1,132 @@
+package sprint.server.league;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Redis 에 저장하는 리그 순위표 (sprint.league.store=redis)
+ *
+ * league:{week}:members : memberId -> 팀 번호 (hash)
+ * league:{week}:{team}:members : memberId -> "matchId:닉네임" (hash)
+ * league:{week}:{team}:distance, league:{week}:{team}:count : "memberId:날짜" -> 하루 거리, 횟수 (sorted set)
+ * 기록은 ZADD GT 로 더 클때만 바꾸므로 Redis 6.2 이상이 필요하다
+ * 팀 인원이 TEAM_SIZE 이하라서 순위는 조회할때 팀 기록을 모두 읽어 정렬한다
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "sprint.league.store", havingValue = "redis")
+public class RedisLeagueStandingsStore implements LeagueStandingsStore {
+
+    private static final String KEY_PREFIX = "league:";
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Override
+    public Integer findTeam(String week, Long memberId) {
+        Object team = redisTemplate.opsForHash().get(memberTeamsKey(week), memberId.toString());
+        return team == null ? null : Integer.valueOf(team.toString());
+    }
+
+    @Override
+    public void create(String week, int teamNumber, List<LeagueStanding> members, Duration ttl) {
+        String teamKey = teamKey(week, teamNumber);
+        String memberTeamsKey = memberTeamsKey(week);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            for (LeagueStanding member : members) {
+                stringConnection.hSetNX(teamKey + ":members", member.getMemberId().toString(),
+                        member.getMatchId() + ":" + member.getNickname());
+            }
+            //팀 멤버를 먼저 저장해야 record 가 팀을 찾았을때 멤버 정보가 있다
+            for (LeagueStanding member : members) {
+                stringConnection.hSet(memberTeamsKey, member.getMemberId().toString(), String.valueOf(teamNumber));
+            }
+            if (ttl != null) {
+                stringConnection.expire(teamKey + ":members", ttl.getSeconds());
+                stringConnection.expire(memberTeamsKey, ttl.getSeconds());
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public void record(String week, Collection<LeagueRecord> records) {
+        if (records.isEmpty()) return;
+        List<Object> memberIds = new ArrayList<>(records.size());
+        for (LeagueRecord record : records) memberIds.add(record.getMemberId().toString());
+        String memberTeamsKey = memberTeamsKey(week);
+        List<Object> teams = redisTemplate.opsForHash().multiGet(memberTeamsKey, memberIds);
+        Long ttl = redisTemplate.getExpire(memberTeamsKey);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            RedisZSetCommands.ZAddArgs greater = RedisZSetCommands.ZAddArgs.empty().gt();
+            Set<String> teamKeys = new HashSet<>();
+            Iterator<Object> teamIterator = teams.iterator();
+            for (LeagueRecord record : records) {
+                Object team = teamIterator.next();
+                //등록되지 않은 멤버는 조회할때 DB 로 채워진다
+                if (team == null) continue;
+                String teamKey = teamKey(week, Integer.parseInt(team.toString()));
+                String value = record.getMemberId() + ":" + record.getDay();
+                stringConnection.zAdd(teamKey + ":distance", record.getDistance(), value, greater);
+                stringConnection.zAdd(teamKey + ":count", record.getCount(), value, greater);
+                teamKeys.add(teamKey);
+            }
+            if (ttl != null && ttl > 0) {
+                for (String teamKey : teamKeys) {
+                    stringConnection.expire(teamKey + ":distance", ttl);
+                    stringConnection.expire(teamKey + ":count", ttl);
+                }
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public List<LeagueStanding> find(String week, int teamNumber) {
+        String teamKey = teamKey(week, teamNumber);
+        Map<Object, Object> members = redisTemplate.opsForHash().entries(teamKey + ":members");
+        if (members.isEmpty()) return null;
+        Map<Long, Double> distances = sumByMember(redisTemplate.opsForZSet().rangeWithScores(teamKey + ":distance", 0, -1));
+        Map<Long, Double> counts = sumByMember(redisTemplate.opsForZSet().rangeWithScores(teamKey + ":count", 0, -1));
+
+        List<LeagueStanding> standings = new ArrayList<>(members.size());
+        members.forEach((key, value) -> {
+            Long memberId = Long.valueOf(key.toString());
+            String info = value.toString();
+            int separator = info.indexOf(':');
+            standings.add(new LeagueStanding(memberId, info.substring(separator + 1), Long.valueOf(info.substring(0, separator)),
+                    distances.getOrDefault(memberId, 0.0), counts.getOrDefault(memberId, 0.0).intValue()));
+        });
+        standings.sort(LeagueStanding.RANKING);
+        return standings;
+    }
+
+    private static Map<Long, Double> sumByMember(Set<ZSetOperations.TypedTuple<String>> tuples) {
+        Map<Long, Double> result = new HashMap<>();
+        if (tuples == null) return result;
+        for (ZSetOperations.TypedTuple<String> tuple : tuples) {
+            String value = tuple.getValue();
+            Long memberId = Long.valueOf(value.substring(0, value.indexOf(':')));
+            result.merge(memberId, tuple.getScore(), Double::sum);
+        }
+        return result;
+    }
+
+    private static String memberTeamsKey(String week) {
+        return KEY_PREFIX + week + ":members";
+    }
+
+    private static String teamKey(String week, int teamNumber) {
+        return KEY_PREFIX + week + ":" + teamNumber;
+    }
+}
@@ -25,6 +25,14 @@ public interface FriendRepository extends JpaRepository<Friend, FriendId>{
 
     @Query("select f from Friend f where (f.sourceMemberId =:memberId or f.targetMemberId =:memberId) and f.establishState =:state")
     List<Friend> findFriendsByMemberIdAndEstablishState(@Param("memberId") Long memberId, @Param("state") FriendState state);
+
+    /**
+     * 탈퇴하지 않은 친구들의 memberId 를 한번에 가져온다
+     */
+    @Query("select m.id from Friend f, Member m where f.establishState = :state and m.disableDay is null and " +
+            "((f.sourceMemberId = :memberId and m.id = f.targetMemberId) or (f.targetMemberId = :memberId and m.id = f.sourceMemberId))")
+    List<Long> findFriendMemberIds(@Param("memberId") Long memberId, @Param("state") FriendState state);
+
     Optional<Friend> findBySourceMemberIdAndTargetMemberId(Long sourceMemberId, Long targetMemberId);
     Optional<Friend> findBySourceMemberIdAndTargetMemberIdAndEstablishState(Long sourceMemberId, Long targetMemberId, FriendState friendState);
     List<Friend> findBySourceMemberIdAndEstablishState(Long sourceMemberId, FriendState friendState);
@@ -0,0 +1,18 @@
+package sprint.server.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import sprint.server.domain.statistics.MemberActivity;
+
+import java.util.Collection;
+
+@Repository
+public interface MemberActivityRepository extends JpaRepository<MemberActivity, Long> {
+
+    @Modifying
+    @Query("delete from MemberActivity a where a.memberId in :memberIds")
+    int deleteByMemberIds(@Param("memberIds") Collection<Long> memberIds);
+}
@@ -0,0 +1,37 @@
+package sprint.server.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import sprint.server.domain.statistics.MemberDailyTotal;
+import sprint.server.domain.statistics.MemberDailyTotalId;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Optional;
+
+@Repository
+public interface MemberDailyTotalRepository extends JpaRepository<MemberDailyTotal, MemberDailyTotalId> {
+
+    boolean existsByMemberId(Long memberId);
+
+    /**
+     * @return 특정 날짜까지의 누적 기록 (기본키 (member_id, running_day) 인덱스로 한 행만 읽는다)
+     */
+    Optional<MemberDailyTotal> findTopByMemberIdAndDayLessThanEqualOrderByDayDesc(Long memberId, LocalDate day);
+
+    /**
+     * 러닝한 날과 그 이후 날짜의 누적 기록에 러닝 하나를 더한다 (보통은 오늘 행 하나만 바뀐다)
+     */
+    @Modifying
+    @Query("update MemberDailyTotal t set t.distance = t.distance + :distance, t.totalSeconds = t.totalSeconds + :totalSeconds, " +
+            "t.energy = t.energy + :energy, t.count = t.count + 1 where t.memberId = :memberId and t.day >= :day")
+    int addRunning(@Param("memberId") Long memberId, @Param("day") LocalDate day, @Param("distance") double distance,
+                   @Param("totalSeconds") double totalSeconds, @Param("energy") double energy);
+
+    @Modifying
+    @Query("delete from MemberDailyTotal t where t.memberId in :memberIds")
+    int deleteByMemberIds(@Param("memberIds") Collection<Long> memberIds);
+}
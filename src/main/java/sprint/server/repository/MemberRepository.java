@@ -1,11 +1,15 @@
 package sprint.server.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import sprint.server.domain.member.Member;
 import sprint.server.domain.member.ProviderPK;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,6 +25,17 @@ public interface MemberRepository extends JpaRepository<Member,Long> {
 
     boolean existsByProviderPK(ProviderPK providerPK);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select m from Member m where m.id = :id")
+    Optional<Member> findWithLockById(@Param("id") Long id);
+
+    /**
+     * 여러 멤버 행을 아이디 순서로 잠근다 (잠그는 순서가 같아야 서로 기다리지 않는다)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select m from Member m where m.id in :ids order by m.id")
+    List<Member> findAllWithLockByIdIn(@Param("ids") Collection<? extends Long> ids);
+
     @Query(value = "select * from member where DATE(disable_day) < DATE_SUB(NOW(), INTERVAL 60 DAY)", nativeQuery = true)
     List<Member> findDisableMembers();
 }
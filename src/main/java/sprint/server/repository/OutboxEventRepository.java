@@ -0,0 +1,42 @@
+package sprint.server.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import sprint.server.domain.outbox.OutboxEvent;
+import sprint.server.domain.outbox.OutboxStatus;
+
+import javax.persistence.LockModeType;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    List<OutboxEvent> findTop100ByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(OutboxStatus status, Timestamp now);
+
+    @Modifying
+    @Query("delete from OutboxEvent e where e.status = :status and e.lastModifiedDate < :before")
+    int deleteAllByStatusBefore(@Param("status") OutboxStatus status, @Param("before") LocalDateTime before);
+
+    /**
+     * 아직 WAIT 인 행만 잠근다. 잠근 트랜잭션이 끝날때까지 같은 행을 다른 트랜잭션이 DONE 으로 바꾸거나 미루지 못한다
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from OutboxEvent e where e.id in :ids and e.status = sprint.server.domain.outbox.OutboxStatus.WAIT")
+    List<OutboxEvent> findWaitingForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 결과 반영이 미뤄진 후처리 행들을 반영한 트랜잭션에서 DONE 으로 바꾼다
+     */
+    @Modifying
+    @Query("update OutboxEvent e set e.status = sprint.server.domain.outbox.OutboxStatus.DONE, " +
+            "e.lastModifiedDate = :now, e.version = e.version + 1 " +
+            "where e.id in :ids and e.status = sprint.server.domain.outbox.OutboxStatus.WAIT")
+    int markDone(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,32 @@
+package sprint.server.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import sprint.server.domain.statistics.PaceHistogramBucket;
+import sprint.server.domain.statistics.PaceHistogramBucketId;
+import sprint.server.domain.statistics.StatisticsType;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface PaceHistogramBucketRepository extends JpaRepository<PaceHistogramBucket, PaceHistogramBucketId> {
+
+    List<PaceHistogramBucket> findAllByMemberIdAndStatisticsTypeAndPeriodStart(Long memberId, StatisticsType statisticsType,
+                                                                                LocalDate periodStart);
+
+    /**
+     * @return from 부터 to 까지 일별 히스토그램을 구간별로 합친 값
+     */
+    @Query("select b.bucket as bucket, sum(b.distance) as distance from PaceHistogramBucket b " +
+            "where b.memberId = :memberId and b.statisticsType = sprint.server.domain.statistics.StatisticsType.Daily " +
+            "and b.periodStart between :from and :to group by b.bucket")
+    List<BucketSum> sumDailyBuckets(@Param("memberId") Long memberId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    interface BucketSum {
+        int getBucket();
+        double getDistance();
+    }
+}
@@ -0,0 +1,9 @@
+package sprint.server.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import sprint.server.domain.track.RunningProgress;
+
+@Repository
+public interface RunningProgressRepository extends JpaRepository<RunningProgress, Long> {
+}
@@ -0,0 +1,32 @@
+package sprint.server.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import sprint.server.domain.RunningRawData;
+
+import java.util.List;
+
+/**
+ * 트랙 blob 저장 이전의 로우데이터 행을 옮기기 위한 레포지토리
+ */
+@Repository
+public interface RunningRawDataRepository extends JpaRepository<RunningRawData, Long> {
+
+    /**
+     * @return 아직 RunningTrack 으로 옮겨지지 않은 러닝의 아이디
+     */
+    @Query("select distinct d.running.id from RunningRawData d " +
+            "where not exists (select t from RunningTrack t where t.runningId = d.running.id)")
+    List<Long> findLegacyRunningIds(Pageable pageable);
+
+    @Query("select d from RunningRawData d where d.running.id = :runningId order by d.id asc")
+    List<RunningRawData> findAllByRunningId(@Param("runningId") Long runningId);
+
+    @Modifying
+    @Query("delete from RunningRawData d where d.running.id = :runningId")
+    int deleteAllByRunningId(@Param("runningId") Long runningId);
+}
@@ -2,12 +2,17 @@ package sprint.server.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import sprint.server.domain.Running;
 import sprint.server.domain.member.Member;
 
 import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -15,5 +20,27 @@ public interface RunningRepository extends JpaRepository<Running,Long> {
 
     Page<Running> findByMemberInOrderByIdDesc(List<Member> member, PageRequest pageRequest);
 
+    /**
+     * runningId 보다 작은 러닝을 최신순으로 가져온다 (count 쿼리 없음, (member_id, running_id) 인덱스 사용)
+     */
+    Slice<Running> findByMemberInAndIdLessThanOrderByIdDesc(List<Member> member, Long runningId, Pageable pageable);
+
+    Slice<Running> findByMember_IdInAndIdLessThanOrderByIdDesc(Collection<Long> memberIds, Long runningId, Pageable pageable);
+
+    @Query("select r.id from Running r where r.member.id in :memberIds order by r.id desc")
+    List<Long> findIdsByMemberIds(@Param("memberIds") Collection<Long> memberIds, Pageable pageable);
+
+    List<Running> findByIdInOrderByIdDesc(Collection<Long> ids);
+
     Running findByMember_IdAndAndStartTime(Long memberId, Timestamp startTime);
+
+    /**
+     * 누적 기록을 처음 만들때 사용한다
+     * 아직 해당 후처리(handler)가 끝나지 않은 다른 러닝은 그 후처리에서 더해지므로 제외한다
+     */
+    @Query("select r from Running r where r.member.id = :memberId and r.duration > 0 and (r.id = :runningId or not exists " +
+            "(select o from OutboxEvent o where o.runningId = r.id and o.handler = :handler " +
+            "and o.status <> sprint.server.domain.outbox.OutboxStatus.DONE)) order by r.startTime")
+    List<Running> findFinishedRunnings(@Param("memberId") Long memberId, @Param("runningId") Long runningId,
+                                       @Param("handler") String handler);
 }
@@ -0,0 +1,21 @@
+package sprint.server.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import sprint.server.domain.track.RunningTrackChunk;
+import sprint.server.domain.track.RunningTrackChunkId;
+
+import java.util.List;
+
+@Repository
+public interface RunningTrackChunkRepository extends JpaRepository<RunningTrackChunk, RunningTrackChunkId> {
+
+    List<RunningTrackChunk> findAllByRunningIdOrderBySequenceAsc(Long runningId);
+
+    @Modifying
+    @Query("delete from RunningTrackChunk c where c.runningId = :runningId")
+    int deleteAllByRunningId(@Param("runningId") Long runningId);
+}
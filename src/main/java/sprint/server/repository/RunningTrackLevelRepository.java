@@ -0,0 +1,10 @@
+package sprint.server.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import sprint.server.domain.track.RunningTrackLevel;
+import sprint.server.domain.track.RunningTrackLevelId;
+
+@Repository
+public interface RunningTrackLevelRepository extends JpaRepository<RunningTrackLevel, RunningTrackLevelId> {
+}
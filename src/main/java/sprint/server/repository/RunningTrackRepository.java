@@ -0,0 +1,9 @@
+package sprint.server.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import sprint.server.domain.track.RunningTrack;
+
+@Repository
+public interface RunningTrackRepository extends JpaRepository<RunningTrack, Long> {
+}
@@ -2,11 +2,17 @@ package sprint.server.repository;
 
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import sprint.server.domain.statistics.Statistics;
 import sprint.server.domain.statistics.StatisticsType;
 
+import javax.persistence.LockModeType;
 import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -17,5 +23,130 @@ public interface StatisticsRepository extends JpaRepository<Statistics,Long> {
     Statistics findByStatisticsTypeAndMemberIdAndTimeBetween(StatisticsType statisticsType, long id, Timestamp startTime, Timestamp endTime);
 
     List<Statistics> findByStatisticsTypeAndMemberId(StatisticsType totally, Long memberID);
-}
 
+    /**
+     * 멤버의 일/주/월/년 기간과 전체 통계 행 조건
+     * 종류마다 (member_id, statistics_type, time) 인덱스 범위 하나씩만 읽는다
+     */
+    String ROLLUP_CONDITION = "s.member.id = :memberId and (" +
+            "(s.statisticsType = sprint.server.domain.statistics.StatisticsType.Daily and s.time between :dailyStart and :dailyEnd) or " +
+            "(s.statisticsType = sprint.server.domain.statistics.StatisticsType.Weekly and s.time between :weeklyStart and :weeklyEnd) or " +
+            "(s.statisticsType = sprint.server.domain.statistics.StatisticsType.Monthly and s.time between :monthlyStart and :monthlyEnd) or " +
+            "(s.statisticsType = sprint.server.domain.statistics.StatisticsType.Yearly and s.time between :yearlyStart and :yearlyEnd) or " +
+            "s.statisticsType = sprint.server.domain.statistics.StatisticsType.Totally)";
+
+    /**
+     * 일/주/월/년 기간과 전체 통계 행을 한번에 가져온다
+     */
+    @Query("select s from Statistics s where " + ROLLUP_CONDITION + " order by s.id")
+    List<Statistics> findRollups(@Param("memberId") Long memberId,
+                                 @Param("dailyStart") Timestamp dailyStart, @Param("dailyEnd") Timestamp dailyEnd,
+                                 @Param("weeklyStart") Timestamp weeklyStart, @Param("weeklyEnd") Timestamp weeklyEnd,
+                                 @Param("monthlyStart") Timestamp monthlyStart, @Param("monthlyEnd") Timestamp monthlyEnd,
+                                 @Param("yearlyStart") Timestamp yearlyStart, @Param("yearlyEnd") Timestamp yearlyEnd);
+
+    /**
+     * findRollups 를 잠금 읽기로 조회한다 (멤버 행을 잠근 뒤 다시 확인할때 사용)
+     * 잠금 읽기는 트랜잭션 스냅샷이 아니라 마지막으로 커밋된 행을 읽으므로 그 사이 다른 트랜잭션이 만든 행도 보인다
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select s from Statistics s where " + ROLLUP_CONDITION + " order by s.id")
+    List<Statistics> findRollupsForShare(@Param("memberId") Long memberId,
+                                          @Param("dailyStart") Timestamp dailyStart, @Param("dailyEnd") Timestamp dailyEnd,
+                                          @Param("weeklyStart") Timestamp weeklyStart, @Param("weeklyEnd") Timestamp weeklyEnd,
+                                          @Param("monthlyStart") Timestamp monthlyStart, @Param("monthlyEnd") Timestamp monthlyEnd,
+                                          @Param("yearlyStart") Timestamp yearlyStart, @Param("yearlyEnd") Timestamp yearlyEnd);
+
+    /**
+     * 일/주/월/년 기간과 전체 통계를 종류별로 합쳐서 쿼리 한번으로 가져온다 (통계 화면 캐시 미스용)
+     * 엔티티를 읽지 않으므로 member 연관관계도 조회하지 않는다
+     */
+    @Query("select s.statisticsType as statisticsType, sum(s.distance) as distance, sum(s.totalSeconds) as totalSeconds, " +
+            "sum(s.energy) as energy, count(s) as rowCount from Statistics s where " + ROLLUP_CONDITION +
+            " group by s.statisticsType")
+    List<PeriodSum> sumRollups(@Param("memberId") Long memberId,
+                               @Param("dailyStart") Timestamp dailyStart, @Param("dailyEnd") Timestamp dailyEnd,
+                               @Param("weeklyStart") Timestamp weeklyStart, @Param("weeklyEnd") Timestamp weeklyEnd,
+                               @Param("monthlyStart") Timestamp monthlyStart, @Param("monthlyEnd") Timestamp monthlyEnd,
+                               @Param("yearlyStart") Timestamp yearlyStart, @Param("yearlyEnd") Timestamp yearlyEnd);
+
+    interface PeriodSum {
+        StatisticsType getStatisticsType();
+        Double getDistance();
+        Double getTotalSeconds();
+        Double getEnergy();
+        Long getRowCount();
+    }
+
+    /**
+     * 기간 통계 행을 잠금 읽기로 조회한다 (통계 배치가 멤버 행을 잠근 뒤 다시 확인할때 사용)
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select s from Statistics s where s.statisticsType = :statisticsType and s.member.id in :memberIds " +
+            "and s.time between :start and :end")
+    List<Statistics> findPeriodsForShare(@Param("statisticsType") StatisticsType statisticsType,
+                                         @Param("memberIds") Collection<? extends Long> memberIds,
+                                         @Param("start") Timestamp start, @Param("end") Timestamp end);
+
+    /**
+     * 여러 멤버의 기간 내 통계를 멤버별로 합친다
+     */
+    @Query("select s.member.id as memberId, sum(s.distance) as distance, sum(s.totalSeconds) as totalSeconds, " +
+            "sum(s.count) as runningCount, sum(s.energy) as energy from Statistics s " +
+            "where s.statisticsType = :statisticsType and s.member.id in :memberIds and s.time between :start and :end " +
+            "group by s.member.id")
+    List<StatisticsSum> sumByMemberIds(@Param("statisticsType") StatisticsType statisticsType,
+                                       @Param("memberIds") Collection<? extends Long> memberIds,
+                                       @Param("start") Timestamp start, @Param("end") Timestamp end);
+
+    interface StatisticsSum {
+        Long getMemberId();
+        Double getDistance();
+        Double getTotalSeconds();
+        Long getRunningCount();
+        Double getEnergy();
+    }
+
+    /**
+     * 리더보드, 리그 순위표 갱신용 : 바뀐 통계 행의 멤버, 종류, 기간, 거리, 횟수
+     */
+    @Query("select s.member.id as memberId, s.statisticsType as statisticsType, s.time as time, s.distance as distance, " +
+            "s.count as count from Statistics s where s.id in :ids")
+    List<StatisticsScore> findScores(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 리그 순위표를 새로 채울때 : 팀 멤버들의 기간 내 Daily 통계
+     */
+    @Query("select s.member.id as memberId, s.statisticsType as statisticsType, s.time as time, s.distance as distance, " +
+            "s.count as count from Statistics s where s.statisticsType = sprint.server.domain.statistics.StatisticsType.Daily " +
+            "and s.member.id in :memberIds and s.time between :start and :end")
+    List<StatisticsScore> findDailyScores(@Param("memberIds") Collection<Long> memberIds,
+                                          @Param("start") Timestamp start, @Param("end") Timestamp end);
+
+    /**
+     * 리더보드를 새로 채울때 : 기간 내 멤버별 거리
+     */
+    @Query("select s.member.id as memberId, max(s.distance) as distance from Statistics s " +
+            "where s.statisticsType = :statisticsType and s.time between :start and :end group by s.member.id")
+    List<MemberScore> findScoresByPeriod(@Param("statisticsType") StatisticsType statisticsType,
+                                         @Param("start") Timestamp start, @Param("end") Timestamp end);
+
+    @Query("select s.member.id as memberId, max(s.distance) as distance from Statistics s " +
+            "where s.statisticsType = sprint.server.domain.statistics.StatisticsType.Totally group by s.member.id")
+    List<MemberScore> findTotalScores();
+
+    interface MemberScore {
+        Long getMemberId();
+        Double getDistance();
+    }
+
+    interface StatisticsScore extends MemberScore {
+        StatisticsType getStatisticsType();
+        Timestamp getTime();
+        Integer getCount();
+    }
+
+    @Modifying
+    @Query("delete from Statistics s where s.member.id in :memberIds")
+    int deleteByMemberIds(@Param("memberIds") Collection<Long> memberIds);
+}
@@ -1,5 +1,6 @@
 package sprint.server.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import sprint.server.domain.usermatch.UserMatch;
@@ -15,7 +16,11 @@ public interface UserMatchRepository extends JpaRepository<UserMatch, Long> {
 
     List<UserMatch> findAllByTeamNumberAndMatchTimeBetween(Integer teamNumber, Timestamp startTime, Timestamp endTime);
 
-    List<UserMatch> findAllByMatchTimeAfterOrderByMatchIdDesc(Timestamp startTime);
+    /**
+     * 정산된 리그 기록을 최신순으로 before 이전부터 (member_id, match_time) 인덱스로 읽는다
+     */
+    List<UserMatch> findByMemberIdAndMatchTimeBeforeAndRankingIsNotNullOrderByMatchTimeDesc(Long memberId, Timestamp before,
+                                                                                           Pageable pageable);
 
 }
 
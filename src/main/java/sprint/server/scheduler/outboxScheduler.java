@@ -0,0 +1,33 @@
+package sprint.server.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import sprint.server.event.OutboxDispatcher;
+import sprint.server.event.OutboxProcessor;
+
+import java.time.LocalDateTime;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class outboxScheduler {
+
+    private final OutboxDispatcher outboxDispatcher;
+    private final OutboxProcessor outboxProcessor;
+
+    //10초마다 실패했거나 유실된 러닝 후처리 재시도
+    @Scheduled(fixedDelay = 10000)
+    public void retryOutboxEvents(){
+        int dispatched = outboxDispatcher.dispatchPending();
+        if(dispatched > 0) log.info("===Retry outbox events : {}===", dispatched);
+    }
+
+    //매일 새벽 3시 30분에 처리가 끝난지 7일 지난 후처리 기록 삭제
+    @Scheduled(cron = "0 30 3 * * ?", zone = "GMT+9:00")
+    public void deleteDoneOutboxEvents(){
+        int deleted = outboxProcessor.deleteDone(LocalDateTime.now().minusDays(7));
+        log.info("===Delete done outbox events : {}===", deleted);
+    }
+}
@@ -2,26 +2,42 @@ package sprint.server.scheduler;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.JobParametersInvalidException;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.repository.JobExecutionAlreadyRunningException;
+import org.springframework.batch.core.repository.JobInstanceAlreadyCompleteException;
+import org.springframework.batch.core.repository.JobRestartException;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import sprint.server.config.StatisticsBatchConfig;
 import sprint.server.domain.statistics.StatisticsType;
-import sprint.server.service.StatisticsService;
-import sprint.server.service.UserMatchService;
+import sprint.server.service.StatisticsAccumulator;
+
+import java.time.LocalDate;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class statisticsScheduler {
 
-    private final StatisticsService statisticsService;
+    private final JobLauncher jobLauncher;
+    private final StatisticsBatchConfig statisticsBatchConfig;
+    private final StatisticsAccumulator statisticsAccumulator;
+
+    //러닝 종료로 모인 통계 증가분을 주기적으로 반영
+    @Scheduled(fixedDelayString = "${sprint.statistics.flush-interval-millis:1000}")
+    public void flushStatistics(){
+        statisticsAccumulator.flush();
+    }
 
 
 //    매주 월요일 새벽 3시 에 전주 통계 저장
     @Scheduled(cron = "0 0 3 ? * MON", zone = "GMT+9:00")
-//    @Scheduled(cron = "*/20 * * * * *")
     public void savePreviousWeekStatistics(){
-        statisticsService.savePreviousStatistics(StatisticsType.Weekly);
-        log.info("===Insert statistics Weekly finish===");
+        runStatisticsJob(StatisticsType.Weekly);
     }
 
 
@@ -30,16 +46,31 @@ public class statisticsScheduler {
     //매월 1일 새벽 4시에 그 전달 통계 저장
     @Scheduled(cron = "0 0 4 1 1/1 ?", zone = "GMT+9:00")
     public void savePreviousMonthStatistics(){
-        statisticsService.savePreviousStatistics(StatisticsType.Monthly);
-        log.info("===Insert statistics Monthly finish===");
+        runStatisticsJob(StatisticsType.Monthly);
     }
 
 
     //매년 1월 1일 새벽 5시에 그 전해 통계 저장
     @Scheduled(cron = "0 0 5 1 1 ?")
     public void savePreviousYearStatistics(){
-        statisticsService.savePreviousStatistics(StatisticsType.Yearly);
-        log.info("===Insert statistics Yearly finish===");
+        runStatisticsJob(StatisticsType.Yearly);
+    }
+
+    /**
+     * 어제가 포함된 기간의 통계 배치를 실행한다
+     * 같은 기간으로 다시 실행하면 실패한 파티션만 이어서 처리하고, 이미 완료된 기간이면 실행하지 않는다
+     */
+    private void runStatisticsJob(StatisticsType statisticsType) {
+        JobParameters jobParameters = new JobParametersBuilder()
+                .addString("statisticsType", statisticsType.name())
+                .addString("baseDate", LocalDate.now().minusDays(1).toString())
+                .toJobParameters();
+        try {
+            JobExecution execution = jobLauncher.run(statisticsBatchConfig.statisticsJob(), jobParameters);
+            log.info("===Insert statistics {} {}===", statisticsType, execution.getStatus());
+        } catch (JobExecutionAlreadyRunningException | JobInstanceAlreadyCompleteException | JobParametersInvalidException | JobRestartException e) {
+            log.error(e.getMessage());
+        }
     }
 
 }
@@ -0,0 +1,17 @@
+package sprint.server.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 기록 내보내기 파일 형식
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+    CSV("text/csv", "csv"),
+    GPX("application/gpx+xml", "gpx");
+
+    private final String contentType;
+    private final String extension;
+}
@@ -0,0 +1,242 @@
+package sprint.server.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import sprint.server.domain.track.TrackDecoder;
+import sprint.server.domain.track.TrackTimestamps;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 러닝 기록과 통계 전체를 파일로 내보낸다
+ *
+ * 결과를 리스트로 모으지 않고 fetch size 단위로 읽는 커서에서 한 행씩 바로 응답에 쓰기 때문에
+ * 기록이 아무리 많아도 메모리 사용량은 일정하다
+ * GPX 의 포인트도 러닝 한 번의 트랙 blob 을 디코더로 한 포인트씩 읽어서 쓴다
+ * (GPX 는 트랙 blob 때문에 러닝을 페이지 단위로 읽으므로 메모리에는 한 페이지의 blob 만 올라간다)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExportService {
+
+    private static final int FETCH_SIZE = 500;
+    private static final int GPX_PAGE_SIZE = 100;
+    private static final String DATE_FORMAT = "yyyy-MM-dd HH:mm:ss.SSS";
+
+    private final DataSource dataSource;
+
+    /**
+     * @param fileName 확장자를 제외한 파일 이름
+     * @param gzip true 이면 gzip 으로 압축하면서 내보낸다 (.gz)
+     */
+    public ResponseEntity<StreamingResponseBody> stream(String fileName, ExportFormat format, boolean gzip, ExportBody body) {
+        String contentType = gzip ? "application/gzip" : format.getContentType() + ";charset=UTF-8";
+        String extension = gzip ? format.getExtension() + ".gz" : format.getExtension();
+        StreamingResponseBody responseBody = outputStream -> {
+            OutputStream out = gzip ? new GZIPOutputStream(outputStream, 8192) : outputStream;
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+                body.write(writer);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(contentType))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "." + extension + "\"")
+                .body(responseBody);
+    }
+
+    /**
+     * 러닝 기록을 오래된 순서로 내보낸다
+     * CSV 는 러닝 한 번이 한 줄, GPX 는 러닝 한 번이 하나의 trk 이다
+     */
+    public void writeRunnings(Long memberId, ExportFormat format, Writer writer) throws IOException {
+        if (format == ExportFormat.GPX) {
+            writeGpx(memberId, writer);
+            return;
+        }
+        SimpleDateFormat dateFormat = new SimpleDateFormat(DATE_FORMAT);
+        writer.write("runningId,startTime,distance,duration,energy\n");
+        cursor().query("select running_id, start_time, distance, duration, energy from running " +
+                "where member_id = ? and duration > 0 order by running_id", rs -> {
+            write(writer, rs.getLong("running_id") + "," + format(dateFormat, rs.getTimestamp("start_time")) + ","
+                    + rs.getDouble("distance") + "," + rs.getDouble("duration") + "," + rs.getDouble("energy") + "\n");
+        }, memberId);
+    }
+
+    /**
+     * 저장된 통계 행 전체를 종류, 기간 순서로 내보낸다
+     */
+    public void writeStatistics(Long memberId, Writer writer) throws IOException {
+        SimpleDateFormat dateFormat = new SimpleDateFormat(DATE_FORMAT);
+        writer.write("statisticsType,time,distance,totalSeconds,count,energy\n");
+        cursor().query("select statistics_type, time, distance, total_seconds, count, energy from statistics " +
+                "where member_id = ? order by statistics_type, time", rs -> {
+            write(writer, rs.getString("statistics_type") + "," + format(dateFormat, rs.getTimestamp("time")) + ","
+                    + rs.getDouble("distance") + "," + rs.getDouble("total_seconds") + ","
+                    + rs.getInt("count") + "," + rs.getDouble("energy") + "\n");
+        }, memberId);
+    }
+
+    /**
+     * 러닝을 GPX_PAGE_SIZE 개씩 읽어서 쓴다
+     * 트랙 blob 이 없는 러닝의 로우데이터는 페이지를 다 읽은 뒤 한 번의 쿼리로 읽기 때문에
+     * 내보내기 하나가 동시에 두 개의 커넥션을 잡지 않는다
+     */
+    private void writeGpx(Long memberId, Writer writer) throws IOException {
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                "<gpx version=\"1.1\" creator=\"SPRINT\" xmlns=\"http://www.topografix.com/GPX/1/1\">\n");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        long lastRunningId = 0;
+        while (true) {
+            List<GpxRunning> page = jdbcTemplate.query("select r.running_id, t.track_data from running r " +
+                    "left join running_track t on t.running_id = r.running_id " +
+                    "where r.member_id = ? and r.duration > 0 and r.running_id > ? order by r.running_id limit ?",
+                    (rs, rowNum) -> new GpxRunning(rs.getLong("running_id"), rs.getBytes("track_data")),
+                    memberId, lastRunningId, GPX_PAGE_SIZE);
+            if (page.isEmpty()) break;
+            writeGpxPage(page, writer);
+            lastRunningId = page.get(page.size() - 1).runningId;
+            if (page.size() < GPX_PAGE_SIZE) break;
+        }
+        writer.write("</gpx>\n");
+    }
+
+    private void writeGpxPage(List<GpxRunning> page, Writer writer) {
+        List<Long> legacyIds = new ArrayList<>();
+        for (GpxRunning running : page) {
+            if (running.track == null) legacyIds.add(running.runningId);
+        }
+        GpxPageWriter pageWriter = new GpxPageWriter(page, writer);
+        if (!legacyIds.isEmpty()) {
+            //트랙 blob 으로 옮겨지지 않은 러닝은 기존 로우데이터 행을 러닝 순서대로 읽어서 사이에 끼워 쓴다
+            new NamedParameterJdbcTemplate(cursor()).query("select running_id, latitude, longitude, timestamp " +
+                    "from running_raw_data where running_id in (:runningIds) order by running_id, raw_data_id",
+                    Collections.singletonMap("runningIds", legacyIds), raw -> {
+                long runningId = raw.getLong("running_id");
+                String timestamp = raw.getString("timestamp");
+                long epochMillis;
+                try {
+                    epochMillis = TrackTimestamps.toEpochMillis(timestamp);
+                } catch (IllegalArgumentException e) {
+                    log.warn("running {} raw data skipped : invalid timestamp {}", runningId, timestamp);
+                    return;
+                }
+                pageWriter.open(runningId);
+                writePoint(writer, raw.getDouble("latitude"), raw.getDouble("longitude"), epochMillis);
+            });
+        }
+        pageWriter.finish();
+    }
+
+    private void writePoint(Writer writer, double latitude, double longitude, long epochMillis) {
+        //"yyyy-MM-dd HH:mm:ss.SSSZ" -> ISO 8601
+        String time = TrackTimestamps.toTimestampString(epochMillis).replace(' ', 'T');
+        write(writer, "<trkpt lat=\"" + latitude + "\" lon=\"" + longitude + "\"><time>" + time + "</time></trkpt>\n");
+    }
+
+    private JdbcTemplate cursor() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(FETCH_SIZE);
+        return jdbcTemplate;
+    }
+
+    private static String format(SimpleDateFormat dateFormat, Timestamp timestamp) {
+        return timestamp == null ? "" : dateFormat.format(timestamp);
+    }
+
+    private static void write(Writer writer, String value) {
+        try {
+            writer.write(value);
+        } catch (IOException e) {
+            //클라이언트가 다운로드를 중단하면 커서를 닫고 종료한다
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static class GpxRunning {
+        private final long runningId;
+        private final byte[] track;
+
+        private GpxRunning(long runningId, byte[] track) {
+            this.runningId = runningId;
+            this.track = track;
+        }
+    }
+
+    /**
+     * 한 페이지의 러닝을 running_id 순서대로 trk 로 쓴다
+     * 로우데이터 포인트가 들어오면 그 러닝 앞의 러닝들을 먼저 쓰고 해당 러닝의 trk 를 연다
+     */
+    private class GpxPageWriter {
+        private final List<GpxRunning> page;
+        private final Writer writer;
+        private int next;
+        private Long openRunningId;
+
+        private GpxPageWriter(List<GpxRunning> page, Writer writer) {
+            this.page = page;
+            this.writer = writer;
+        }
+
+        private void open(long runningId) {
+            if (openRunningId != null && openRunningId == runningId) return;
+            close();
+            while (next < page.size() && page.get(next).runningId < runningId) {
+                writeTrack(page.get(next++));
+            }
+            write(writer, "<trk><name>" + runningId + "</name><trkseg>\n");
+            openRunningId = runningId;
+            next++;
+        }
+
+        private void finish() {
+            close();
+            while (next < page.size()) {
+                writeTrack(page.get(next++));
+            }
+        }
+
+        private void close() {
+            if (openRunningId == null) return;
+            write(writer, "</trkseg></trk>\n");
+            openRunningId = null;
+        }
+
+        private void writeTrack(GpxRunning running) {
+            write(writer, "<trk><name>" + running.runningId + "</name><trkseg>\n");
+            if (running.track != null) {
+                try (TrackDecoder decoder = new TrackDecoder(running.track)) {
+                    while (decoder.next()) {
+                        writePoint(writer, decoder.getLatitude(), decoder.getLongitude(), decoder.getEpochMillis());
+                    }
+                }
+            }
+            write(writer, "</trkseg></trk>\n");
+        }
+    }
+
+    @FunctionalInterface
+    public interface ExportBody {
+        void write(Writer writer) throws IOException;
+    }
+}
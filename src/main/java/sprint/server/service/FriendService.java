@@ -24,6 +24,7 @@ public class FriendService {
     private final FriendRepository friendRepository;
     private final MemberService memberService;
     private final MemberRepository memberRepository;
+    private final TimelineService timelineService;
 
     /**
      * 친구 요청
@@ -130,6 +131,7 @@ public class FriendService {
         }
 
         existFriend.get().setAccept();
+        timelineService.evictAfterCommit(sourceMember.getId(), targetMember.getId());
         log.info("{} -> {}, 친구 요청 응답 수락",sourceMember.getId(), targetMember.getId());
         return existFriend.get().getEstablishState().equals(FriendState.ACCEPT);
     }
@@ -156,6 +158,7 @@ public class FriendService {
         }
 
         friend.get().setDelete();
+        timelineService.evictAfterCommit(sourceMember.getId(), targetMember.getId());
         log.info("{} -> {}, 친구 제거 완료",sourceMember.getId(), targetMember.getId());
         return friend.get().getEstablishState().equals(FriendState.DELETE);
     }
@@ -0,0 +1,202 @@
+package sprint.server.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import sprint.server.controller.datatransferobject.response.LeaderboardEntryResponse;
+import sprint.server.controller.datatransferobject.response.MyLeaderboardResponse;
+import sprint.server.controller.exception.ApiException;
+import sprint.server.controller.exception.ExceptionEnum;
+import sprint.server.domain.friend.FriendState;
+import sprint.server.domain.member.Member;
+import sprint.server.domain.statistics.StatisticsType;
+import sprint.server.event.StatisticsUpdatedEvent;
+import sprint.server.leaderboard.LeaderboardEntry;
+import sprint.server.leaderboard.LeaderboardStore;
+import sprint.server.repository.MemberRepository;
+import sprint.server.repository.StatisticsRepository;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 주간/월간/전체 거리 리더보드
+ *
+ * 통계 행이 바뀌어 커밋될때마다(StatisticsUpdatedEvent) 바뀐 멤버의 점수만 리더보드에 반영하고,
+ * 순위 조회는 LeaderboardStore 에서 O(log n) 으로 처리한다 (Statistics 를 정렬해서 읽지 않는다)
+ * 리더보드가 없으면 (서버 재시작, 새 기간) 처음 조회할때 기간 통계로 한번 채운다
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LeaderboardService {
+
+    public static final Set<StatisticsType> TYPES = EnumSet.of(StatisticsType.Weekly, StatisticsType.Monthly, StatisticsType.Totally);
+    public static final int MAX_SIZE = 100;
+    private static final int CHUNK_SIZE = 1000;
+
+    private final LeaderboardStore leaderboardStore;
+    private final StatisticsRepository statisticsRepository;
+    private final StatisticsService statisticsService;
+    private final MemberService memberService;
+    private final FriendService friendService;
+    private final MemberRepository memberRepository;
+
+    /**
+     * 바뀐 통계 행의 현재 거리를 해당 기간 리더보드에 반영한다
+     * 트랜잭션 밖에서 발생한 이벤트(StatisticsAccumulator flush)는 바로 처리한다
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStatisticsUpdated(StatisticsUpdatedEvent event) {
+        List<Long> ids = new ArrayList<>(event.getStatisticsIds());
+        try {
+            for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+                Map<String, Map<Long, Double>> updates = new HashMap<>();
+                for (StatisticsRepository.StatisticsScore score : statisticsRepository
+                        .findScores(ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size())))) {
+                    if (!TYPES.contains(score.getStatisticsType())) continue;
+                    String board = boardOf(score.getStatisticsType(), score.getTime());
+                    updates.computeIfAbsent(board, name -> new HashMap<>()).put(score.getMemberId(), score.getDistance());
+                }
+                updates.forEach(leaderboardStore::update);
+            }
+        } catch (RuntimeException e) {
+            //리더보드는 다음 갱신이나 다시 채울때 맞춰지므로 통계 반영을 실패시키지 않는다
+            log.error("leaderboard update failed : {} statistics", ids.size(), e);
+        }
+    }
+
+    /**
+     * 현재 기간 리더보드를 모두 지운다. 통계 행을 다시 계산한 뒤 호출하면 다음 조회때 새 통계로 다시 채운다
+     */
+    public void deleteCurrentBoards() {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        synchronized (this) {
+            for (StatisticsType statisticsType : TYPES) {
+                leaderboardStore.delete(boardOf(statisticsType, now));
+            }
+        }
+    }
+
+    public List<LeaderboardEntryResponse> findTop(StatisticsType statisticsType, int size) {
+        validateSize(size);
+        return toResponse(leaderboardStore.top(currentBoard(statisticsType), size));
+    }
+
+    public MyLeaderboardResponse findMyRank(StatisticsType statisticsType, Long memberId) {
+        memberService.findById(memberId);
+        String board = currentBoard(statisticsType);
+        LeaderboardEntry entry = leaderboardStore.find(board, memberId);
+        long memberCount = leaderboardStore.size(board);
+        if (entry == null) return new MyLeaderboardResponse(null, 0, memberCount);
+        return new MyLeaderboardResponse(entry.getRank() + 1, entry.getScore(), memberCount);
+    }
+
+    /**
+     * @return 내 순위 앞뒤로 radius 명씩 (기간 내 기록이 없으면 빈 리스트)
+     */
+    public List<LeaderboardEntryResponse> findAround(StatisticsType statisticsType, Long memberId, int radius) {
+        validateSize(radius * 2 + 1);
+        memberService.findById(memberId);
+        String board = currentBoard(statisticsType);
+        LeaderboardEntry entry = leaderboardStore.find(board, memberId);
+        if (entry == null) return Collections.emptyList();
+        long from = Math.max(0, entry.getRank() - radius);
+        return toResponse(leaderboardStore.range(board, from, (int) (entry.getRank() - from) + radius + 1));
+    }
+
+    /**
+     * @return 나와 친구들의 순위 (기록이 없는 친구는 거리 0 으로 뒤에 붙는다)
+     */
+    public List<LeaderboardEntryResponse> findFriends(StatisticsType statisticsType, Long memberId) {
+        Member member = memberService.findById(memberId);
+        List<Member> members = friendService.findFriendsByMemberId(member, FriendState.ACCEPT);
+        members.add(member);
+        Map<Long, Double> scores = leaderboardStore.scores(currentBoard(statisticsType),
+                members.stream().map(Member::getId).collect(Collectors.toList()));
+        members.sort(Comparator.<Member>comparingDouble(m -> -scores.getOrDefault(m.getId(), 0.0))
+                .thenComparing(Member::getId));
+        List<LeaderboardEntryResponse> result = new ArrayList<>(members.size());
+        for (Member friend : members) {
+            result.add(new LeaderboardEntryResponse(result.size() + 1, friend.getId(), friend.getNickname(),
+                    scores.getOrDefault(friend.getId(), 0.0)));
+        }
+        return result;
+    }
+
+    /**
+     * 현재 기간 리더보드 이름, 없으면 기간 통계로 채운다
+     */
+    private String currentBoard(StatisticsType statisticsType) {
+        if (!TYPES.contains(statisticsType)) {
+            throw new ApiException(ExceptionEnum.LEADERBOARD_UNSUPPORTED_TYPE);
+        }
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        String board = boardOf(statisticsType, now);
+        if (leaderboardStore.exists(board)) return board;
+
+        synchronized (this) {
+            if (leaderboardStore.exists(board)) return board;
+            long started = System.currentTimeMillis();
+            //먼저 만들어 두어야 채우는 동안 들어온 갱신이 반영된다
+            leaderboardStore.create(board, ttlOf(statisticsType));
+            Map<Long, Double> values = new HashMap<>();
+            try {
+                List<StatisticsRepository.MemberScore> scores = statisticsType == StatisticsType.Totally
+                        ? statisticsRepository.findTotalScores()
+                        : statisticsRepository.findScoresByPeriod(statisticsType,
+                        new Timestamp(statisticsService.getCalendarStart(now, statisticsType).getTimeInMillis()),
+                        new Timestamp(statisticsService.getCalendarEnd(now, statisticsType).getTimeInMillis()));
+                for (StatisticsRepository.MemberScore score : scores) {
+                    values.put(score.getMemberId(), score.getDistance());
+                }
+                leaderboardStore.fill(board, values);
+            } catch (RuntimeException e) {
+                //일부만 채워진 리더보드가 만들어진 채로 남으면 다시 채우지 않으므로 지우고 다음 조회때 다시 채운다
+                leaderboardStore.delete(board);
+                throw e;
+            }
+            log.info("leaderboard {} filled : {} members, {} ms", board, values.size(), System.currentTimeMillis() - started);
+        }
+        return board;
+    }
+
+    private String boardOf(StatisticsType statisticsType, Timestamp timestamp) {
+        if (statisticsType == StatisticsType.Totally) return statisticsType.name();
+        Timestamp start = new Timestamp(statisticsService.getCalendarStart(timestamp, statisticsType).getTimeInMillis());
+        return statisticsType.name() + ":" + start.toLocalDateTime().toLocalDate();
+    }
+
+    /**
+     * 지난 기간 리더보드는 더 이상 조회하지 않으므로 기간이 끝난 뒤 지워지게 한다
+     */
+    private static Duration ttlOf(StatisticsType statisticsType) {
+        if (statisticsType == StatisticsType.Weekly) return Duration.ofDays(14);
+        if (statisticsType == StatisticsType.Monthly) return Duration.ofDays(62);
+        return null;
+    }
+
+    private static void validateSize(int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new ApiException(ExceptionEnum.LEADERBOARD_INVALID_SIZE);
+        }
+    }
+
+    private List<LeaderboardEntryResponse> toResponse(List<LeaderboardEntry> entries) {
+        Map<Long, Member> members = memberRepository.findAllById(entries.stream()
+                        .map(LeaderboardEntry::getMemberId).collect(Collectors.toList()))
+                .stream().collect(Collectors.toMap(Member::getId, Function.identity()));
+        List<LeaderboardEntryResponse> result = new ArrayList<>(entries.size());
+        for (LeaderboardEntry entry : entries) {
+            Member member = members.get(entry.getMemberId());
+            result.add(new LeaderboardEntryResponse(entry.getRank() + 1, entry.getMemberId(),
+                    member == null ? null : member.getNickname(), entry.getScore()));
+        }
+        return result;
+    }
+}
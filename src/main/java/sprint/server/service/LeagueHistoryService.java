@@ -0,0 +1,89 @@
+package sprint.server.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sprint.server.controller.datatransferobject.response.LeagueCareerResponse;
+import sprint.server.controller.datatransferobject.response.LeagueHistoryResponse;
+import sprint.server.controller.datatransferobject.response.LeagueHistoryVo;
+import sprint.server.controller.datatransferobject.response.LeagueInfo;
+import sprint.server.controller.exception.ApiException;
+import sprint.server.controller.exception.ExceptionEnum;
+import sprint.server.domain.usermatch.MemberLeagueCareer;
+import sprint.server.domain.usermatch.UserMatch;
+import sprint.server.repository.MemberLeagueCareerRepository;
+import sprint.server.repository.UserMatchRepository;
+
+import java.sql.Timestamp;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 멤버의 지난 리그 기록과 누적 기록
+ */
+@Service
+@RequiredArgsConstructor
+public class LeagueHistoryService {
+
+    public static final int MAX_SIZE = 50;
+
+    private final UserMatchRepository userMatchRepository;
+    private final MemberLeagueCareerRepository memberLeagueCareerRepository;
+
+    /**
+     * @param beforeMatchTime 이전 응답의 nextBeforeMatchTime (null 이면 최신 기록부터)
+     */
+    @Transactional(readOnly = true)
+    public LeagueHistoryResponse findHistory(Long memberId, Long beforeMatchTime, int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new ApiException(ExceptionEnum.MATCH_INVALID_SIZE);
+        }
+        Timestamp before = new Timestamp(beforeMatchTime == null ? System.currentTimeMillis() + 1 : beforeMatchTime);
+        //다음 페이지가 있는지 알기 위해 하나 더 읽는다
+        List<UserMatch> userMatches = userMatchRepository
+                .findByMemberIdAndMatchTimeBeforeAndRankingIsNotNullOrderByMatchTimeDesc(memberId, before, PageRequest.of(0, size + 1));
+        boolean hasNext = userMatches.size() > size;
+        if (hasNext) userMatches = userMatches.subList(0, size);
+
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
+        List<LeagueHistoryVo> histories = new ArrayList<>(userMatches.size());
+        for (UserMatch userMatch : userMatches) {
+            histories.add(new LeagueHistoryVo(userMatch.getMatchId(), dateFormat.format(userMatch.getMatchTime()),
+                    userMatch.getTeamNumber(), userMatch.getRanking(), userMatch.getTotalScore(),
+                    userMatch.getTotalDistance(), userMatch.getTotalCount()));
+        }
+        Long next = hasNext ? userMatches.get(userMatches.size() - 1).getMatchTime().getTime() : null;
+        return new LeagueHistoryResponse(histories, next);
+    }
+
+    @Transactional(readOnly = true)
+    public LeagueCareerResponse findCareer(Long memberId) {
+        return memberLeagueCareerRepository.findById(memberId)
+                .map(career -> new LeagueCareerResponse(career.getLeagueCount(), career.getBestRanking(), career.getPodiumCount()))
+                .orElse(new LeagueCareerResponse(0, null, 0));
+    }
+
+    /**
+     * 정산된 리그 팀들의 순위를 멤버들의 누적 기록에 반영한다 (LeagueSettlementEngine)
+     * 이미 이 리그(matchTime)를 반영한 멤버는 건너뛴다
+     */
+    @Transactional
+    public void recordLeagues(Timestamp matchTime, List<List<LeagueInfo>> leagues) {
+        List<LeagueInfo> leagueInfos = leagues.stream().flatMap(List::stream).collect(Collectors.toList());
+        Map<Long, MemberLeagueCareer> careers = memberLeagueCareerRepository.findAllById(leagueInfos.stream()
+                        .map(LeagueInfo::getMemberId).collect(Collectors.toList()))
+                .stream().collect(Collectors.toMap(MemberLeagueCareer::getMemberId, Function.identity()));
+
+        List<MemberLeagueCareer> changed = new ArrayList<>(leagueInfos.size());
+        for (LeagueInfo leagueInfo : leagueInfos) {
+            MemberLeagueCareer career = careers.computeIfAbsent(leagueInfo.getMemberId(), MemberLeagueCareer::new);
+            if (career.record(leagueInfo.getRanking(), matchTime)) changed.add(career);
+        }
+        memberLeagueCareerRepository.saveAll(changed);
+    }
+}
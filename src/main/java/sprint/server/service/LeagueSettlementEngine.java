@@ -0,0 +1,172 @@
+package sprint.server.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sprint.server.controller.datatransferobject.response.LeagueInfo;
+import sprint.server.domain.statistics.StatisticsType;
+import sprint.server.domain.usermatch.LeagueRanking;
+import sprint.server.league.LeagueStanding;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 주간 리그 정산
+ *
+ * 1. 리그 기간의 Daily 통계를 UserMatch 와 조인해 매칭 행별 거리, 횟수를 한번의 group by 로 읽어 배열에 담는다
+ * 2. 팀 번호로 counting sort 해서 팀별로 모은 뒤, CHUNK_TEAMS 팀씩 스레드풀에 나눠 메모리에서 순위를 매긴다
+ * 3. 청크마다 한 트랜잭션으로 UserMatch 를 배치 update 하고 실력 점수(MemberRating)와 누적 기록(MemberLeagueCareer)을 갱신한다
+ *
+ * 순위 update 는 같은 값을 다시 쓰고 실력 점수와 누적 기록은 이미 반영한 리그를 건너뛰므로, 중간에 실패하면 다시 실행하면 된다
+ */
+@Slf4j
+@Component
+public class LeagueSettlementEngine {
+
+    private static final int FETCH_SIZE = 10000;
+    private static final int CHUNK_TEAMS = 200;
+    private static final String UPDATE_SQL = "update user_match set ranking = ?, total_score = ?, total_distance = ?, " +
+            "total_count = ? where match_id = ?";
+
+    private final DataSource dataSource;
+    private final PlatformTransactionManager transactionManager;
+    private final MemberRatingService memberRatingService;
+    private final LeagueHistoryService leagueHistoryService;
+    private final TaskExecutor taskExecutor;
+
+    public LeagueSettlementEngine(DataSource dataSource, PlatformTransactionManager transactionManager,
+                                  MemberRatingService memberRatingService, LeagueHistoryService leagueHistoryService,
+                                  @Qualifier("leagueSettlementExecutor") TaskExecutor taskExecutor) {
+        this.dataSource = dataSource;
+        this.transactionManager = transactionManager;
+        this.memberRatingService = memberRatingService;
+        this.leagueHistoryService = leagueHistoryService;
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * @param weekStart 리그가 속한 주의 시작일 (월요일)
+     * @return 정산된 멤버 수
+     */
+    public int settle(LocalDate weekStart) {
+        long started = System.currentTimeMillis();
+        Timestamp matchStart = Timestamp.valueOf(weekStart.atStartOfDay());
+        Timestamp leagueStart = Timestamp.valueOf(weekStart.plusDays(LeagueStandingsService.LEAGUE_START_DAYS).atStartOfDay());
+        Timestamp weekEnd = Timestamp.valueOf(weekStart.plusWeeks(1).atStartOfDay());
+        Entries entries = readEntries(matchStart, leagueStart, weekEnd);
+
+        //팀 번호는 1부터 빈틈 없이 매겨지므로 counting sort 로 팀별로 모은다
+        int[] teamStart = new int[entries.maxTeam + 2];
+        for (int i = 0; i < entries.count; i++) teamStart[entries.teams[i] + 1]++;
+        for (int team = 1; team < teamStart.length; team++) teamStart[team] += teamStart[team - 1];
+        int[] order = new int[entries.count];
+        int[] next = Arrays.copyOf(teamStart, teamStart.length);
+        for (int i = 0; i < entries.count; i++) order[next[entries.teams[i]]++] = i;
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        for (int team = 1; team <= entries.maxTeam; team += CHUNK_TEAMS) {
+            int from = team;
+            int to = Math.min(team + CHUNK_TEAMS, entries.maxTeam + 1);
+            chunks.add(CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status ->
+                    settleChunk(jdbcTemplate, entries, order, teamStart, from, to)), taskExecutor));
+        }
+        CompletableFuture.allOf(chunks.toArray(new CompletableFuture<?>[0])).join();
+        log.info("league settled : {} members, {} teams, {} ms", entries.count, entries.maxTeam,
+                System.currentTimeMillis() - started);
+        return entries.count;
+    }
+
+    /**
+     * 이번 주 매칭 행마다 리그 기간(수요일 ~ 일요일) Daily 통계 합계 (기록이 없으면 0)
+     * 비활성화된 멤버는 정산하지 않는다
+     */
+    private Entries readEntries(Timestamp matchStart, Timestamp leagueStart, Timestamp weekEnd) {
+        JdbcTemplate cursor = new JdbcTemplate(dataSource);
+        cursor.setFetchSize(FETCH_SIZE);
+        Entries entries = new Entries();
+        cursor.query("select um.match_id, um.member_id, um.team_number, um.match_time, " +
+                        "coalesce(sum(s.distance), 0) as distance, coalesce(sum(s.count), 0) as count " +
+                        "from user_match um join member m on m.member_id = um.member_id and m.disable_day is null " +
+                        "left join statistics s on s.member_id = um.member_id and s.statistics_type = ? " +
+                        "and s.time >= ? and s.time < ? " +
+                        "where um.match_time >= ? and um.match_time < ? " +
+                        "group by um.match_id, um.member_id, um.team_number, um.match_time",
+                rs -> {
+                    entries.add(rs.getLong("match_id"), rs.getLong("member_id"), rs.getInt("team_number"),
+                            rs.getTimestamp("match_time"), rs.getDouble("distance"), rs.getInt("count"));
+                }, StatisticsType.Daily.name(), leagueStart, weekEnd, matchStart, weekEnd);
+        return entries;
+    }
+
+    private void settleChunk(JdbcTemplate jdbcTemplate, Entries entries, int[] order, int[] teamStart, int fromTeam, int toTeam) {
+        List<Object[]> rows = new ArrayList<>(teamStart[toTeam] - teamStart[fromTeam]);
+        //정산을 나눠 실행한 주가 아니면 matchTime 은 하나다
+        Map<Timestamp, List<List<LeagueInfo>>> leagues = new HashMap<>();
+        for (int team = fromTeam; team < toTeam; team++) {
+            int from = teamStart[team];
+            int to = teamStart[team + 1];
+            if (from == to) continue;
+            int[] scores = new int[to - from];
+            for (int i = from; i < to; i++) {
+                scores[i - from] = LeagueStanding.scoreOf(entries.distances[order[i]], entries.counts[order[i]]);
+            }
+            int[] rankings = LeagueRanking.rank(scores);
+            List<LeagueInfo> league = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                int entry = order[i];
+                rows.add(new Object[]{rankings[i - from], scores[i - from], entries.distances[entry], entries.counts[entry],
+                        entries.matchIds[entry]});
+                league.add(new LeagueInfo(team, entries.memberIds[entry], null, entries.distances[entry],
+                        entries.counts[entry], scores[i - from], rankings[i - from], entries.matchIds[entry]));
+            }
+            leagues.computeIfAbsent(entries.matchTimes[order[from]], time -> new ArrayList<>()).add(league);
+        }
+        jdbcTemplate.batchUpdate(UPDATE_SQL, rows);
+        //리그 순위로 다음 매칭에 쓸 실력 점수와 프로필의 누적 기록을 갱신한다
+        leagues.forEach(memberRatingService::applyLeagues);
+        leagues.forEach(leagueHistoryService::recordLeagues);
+    }
+
+    /**
+     * 정산할 매칭 행 목록 (matchIds[i], memberIds[i], teams[i] ...)
+     */
+    private static class Entries {
+        private long[] matchIds = new long[1024];
+        private long[] memberIds = new long[1024];
+        private int[] teams = new int[1024];
+        private Timestamp[] matchTimes = new Timestamp[1024];
+        private double[] distances = new double[1024];
+        private int[] counts = new int[1024];
+        private int count;
+        private int maxTeam;
+
+        private void add(long matchId, long memberId, int team, Timestamp matchTime, double distance, int runningCount) {
+            if (count == matchIds.length) {
+                matchIds = Arrays.copyOf(matchIds, count * 2);
+                memberIds = Arrays.copyOf(memberIds, count * 2);
+                teams = Arrays.copyOf(teams, count * 2);
+                matchTimes = Arrays.copyOf(matchTimes, count * 2);
+                distances = Arrays.copyOf(distances, count * 2);
+                counts = Arrays.copyOf(counts, count * 2);
+            }
+            matchIds[count] = matchId;
+            memberIds[count] = memberId;
+            teams[count] = team;
+            matchTimes[count] = matchTime;
+            distances[count] = distance;
+            counts[count] = runningCount;
+            maxTeam = Math.max(maxTeam, team);
+            count++;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package sprint.server.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import sprint.server.controller.datatransferobject.response.LeagueInfo;
+import sprint.server.controller.exception.ApiException;
+import sprint.server.controller.exception.ExceptionEnum;
+import sprint.server.domain.member.Member;
+import sprint.server.domain.statistics.StatisticsType;
+import sprint.server.domain.usermatch.UserMatch;
+import sprint.server.event.StatisticsUpdatedEvent;
+import sprint.server.league.LeagueRecord;
+import sprint.server.league.LeagueStanding;
+import sprint.server.league.LeagueStandingsStore;
+import sprint.server.repository.MemberRepository;
+import sprint.server.repository.StatisticsRepository;
+import sprint.server.repository.UserMatchRepository;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 이번 주 리그 팀별 순위표
+ *
+ * 매칭된 멤버의 Daily 통계가 바뀌어 커밋될때마다(StatisticsUpdatedEvent) 그 멤버의 팀 순위표만 갱신하고,
+ * 리그 조회는 LeagueStandingsStore 의 정렬된 순위표를 읽는다 (멤버별 통계, 매칭 정보를 조회하지 않는다)
+ * 순위표가 없으면 (서버 재시작, 새 리그) 처음 조회할때 팀 멤버의 통계로 한번 채운다
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LeagueStandingsService {
+
+    // 리그 신청 기간(월, 화)이 지난 수요일부터 기록한다
+    static final int LEAGUE_START_DAYS = 2;
+    private static final Duration TTL = Duration.ofDays(14);
+    private static final int CHUNK_SIZE = 1000;
+
+    private final LeagueStandingsStore leagueStandingsStore;
+    private final StatisticsRepository statisticsRepository;
+    private final StatisticsService statisticsService;
+    private final UserMatchRepository userMatchRepository;
+    private final MemberRepository memberRepository;
+
+    /**
+     * 바뀐 Daily 통계 행 중 이번 주 리그 기간에 속하는 것을 순위표에 반영한다
+     * 트랜잭션 밖에서 발생한 이벤트(StatisticsAccumulator flush)는 바로 처리한다
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStatisticsUpdated(StatisticsUpdatedEvent event) {
+        List<Long> ids = new ArrayList<>(event.getStatisticsIds());
+        LocalDate weekStart = weekStart(new Timestamp(System.currentTimeMillis()));
+        LocalDate leagueStart = weekStart.plusDays(LEAGUE_START_DAYS);
+        LocalDate weekEnd = weekStart.plusWeeks(1);
+        try {
+            for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+                List<LeagueRecord> records = new ArrayList<>();
+                for (StatisticsRepository.StatisticsScore score : statisticsRepository
+                        .findScores(ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size())))) {
+                    if (score.getStatisticsType() != StatisticsType.Daily) continue;
+                    LocalDate day = score.getTime().toLocalDateTime().toLocalDate();
+                    if (day.isBefore(leagueStart) || !day.isBefore(weekEnd)) continue;
+                    records.add(new LeagueRecord(score.getMemberId(), day, score.getDistance(), score.getCount()));
+                }
+                leagueStandingsStore.record(weekStart.toString(), records);
+            }
+        } catch (RuntimeException e) {
+            //순위표는 다음 갱신이나 다시 채울때 맞춰지므로 통계 반영을 실패시키지 않는다
+            log.error("league standings update failed : {} statistics", ids.size(), e);
+        }
+    }
+
+    /**
+     * @param startTime 리그가 속한 주의 시작 시간
+     * @return 멤버가 속한 팀의 순위표
+     */
+    public List<LeagueInfo> findStandings(Long memberId, Timestamp startTime) {
+        String week = weekStart(startTime).toString();
+        Integer teamNumber = leagueStandingsStore.findTeam(week, memberId);
+        List<LeagueStanding> standings = teamNumber == null ? null : leagueStandingsStore.find(week, teamNumber);
+        if (standings == null) {
+            teamNumber = findTeamNumber(memberId, startTime);
+            standings = fill(week, teamNumber, startTime);
+        }
+        return toLeagueInfo(teamNumber, standings);
+    }
+
+    private Integer findTeamNumber(Long memberId, Timestamp startTime) {
+        return userMatchRepository.findAllByMemberIdAndMatchTimeBetween(memberId, startTime,
+                        new Timestamp(System.currentTimeMillis()))
+                .map(UserMatch::getTeamNumber)
+                .orElseThrow(() -> new ApiException(ExceptionEnum.MATCH_NOT_FOUND));
+    }
+
+    /**
+     * 팀 멤버를 등록한 뒤 리그 기간의 Daily 통계로 순위표를 채운다
+     * 기록은 더 클때만 바뀌므로 여러 요청이 같이 채워도 결과가 같다
+     */
+    private List<LeagueStanding> fill(String week, int teamNumber, Timestamp startTime) {
+        long started = System.currentTimeMillis();
+        Timestamp now = new Timestamp(started);
+        List<UserMatch> userMatches = userMatchRepository.findAllByTeamNumberAndMatchTimeBetween(teamNumber, startTime, now);
+        Map<Long, Member> members = memberRepository.findAllById(userMatches.stream()
+                        .map(UserMatch::getMemberId).collect(Collectors.toList()))
+                .stream().filter(Member::isEnable).collect(Collectors.toMap(Member::getId, Function.identity()));
+
+        List<LeagueStanding> empty = new ArrayList<>(members.size());
+        for (UserMatch userMatch : userMatches) {
+            Member member = members.get(userMatch.getMemberId());
+            if (member == null) continue;
+            empty.add(new LeagueStanding(member.getId(), member.getNickname(), userMatch.getMatchId(), 0, 0));
+        }
+        //먼저 등록해 두어야 채우는 동안 들어온 갱신이 반영된다
+        leagueStandingsStore.create(week, teamNumber, empty, TTL);
+        if (!members.isEmpty()) {
+            LocalDate leagueStart = weekStart(startTime).plusDays(LEAGUE_START_DAYS);
+            List<LeagueRecord> records = new ArrayList<>();
+            for (StatisticsRepository.StatisticsScore score : statisticsRepository.findDailyScores(members.keySet(),
+                    Timestamp.valueOf(leagueStart.atStartOfDay()), now)) {
+                records.add(new LeagueRecord(score.getMemberId(), score.getTime().toLocalDateTime().toLocalDate(),
+                        score.getDistance(), score.getCount()));
+            }
+            leagueStandingsStore.record(week, records);
+        }
+        log.info("league standings {}:{} filled : {} members, {} ms", week, teamNumber, members.size(),
+                System.currentTimeMillis() - started);
+        List<LeagueStanding> standings = leagueStandingsStore.find(week, teamNumber);
+        return standings == null ? Collections.emptyList() : standings;
+    }
+
+    /**
+     * 점수가 같으면 같은 순위를 준다 (1, 1, 3 ...)
+     */
+    private static List<LeagueInfo> toLeagueInfo(Integer teamNumber, List<LeagueStanding> standings) {
+        List<LeagueInfo> result = new ArrayList<>(standings.size());
+        for (LeagueStanding standing : standings) {
+            LeagueInfo previous = result.isEmpty() ? null : result.get(result.size() - 1);
+            int ranking = previous != null && previous.getTotalScore() == standing.getScore()
+                    ? previous.getRanking() : result.size() + 1;
+            result.add(new LeagueInfo(teamNumber, standing.getMemberId(), standing.getNickname(), standing.getDistance(),
+                    standing.getCount(), standing.getScore(), ranking, standing.getMatchId()));
+        }
+        return result;
+    }
+
+    private LocalDate weekStart(Timestamp timestamp) {
+        return new Timestamp(statisticsService.getCalendarStart(timestamp, StatisticsType.Weekly).getTimeInMillis())
+                .toLocalDateTime().toLocalDate();
+    }
+}
@@ -0,0 +1,136 @@
+package sprint.server.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sprint.server.domain.usermatch.MatchStatus;
+import sprint.server.domain.usermatch.TeamAssigner;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 주간 리그 매칭
+ *
+ * 1. 매칭 시간까지 들어온 WAIT 신청 전체를 커서로 한번 읽어서 primitive 배열에 담는다 (같은 멤버의 중복 신청은 점수가 높은 것 하나)
+ * 2. 메모리에서 신청 점수(실력 점수)가 비슷한 멤버끼리 팀을 나눈다 (TeamAssigner)
+ * 3. CHUNK_TEAMS 팀씩 한 트랜잭션으로 UserMatch 를 배치 insert 하고 신청을 MATCH 로 일괄 update 한다
+ *
+ * 매칭된 신청은 MATCH 로 바뀌므로 신청 시간으로 자르지 않아도 지난 매칭 이후의 신청만 읽는다
+ * (지난 매칭 뒤 주가 바뀌기 전에 들어온 신청도 빠지지 않는다)
+ * 중간에 실패해도 끝난 청크는 팀 단위로 커밋되어 있으므로, 다시 실행하면 남은 WAIT 신청만
+ * 이번 주 마지막 팀 번호 다음부터 이어서 매칭한다
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MatchingEngine {
+
+    private static final int FETCH_SIZE = 10000;
+    private static final int CHUNK_TEAMS = 200;
+    //user_match_seq 는 INCREMENT BY 50 이고, JpaConfig 의 pooled-lo optimizer 와 같이 nextval 값 v 로 (v ~ v+49) 를 사용한다
+    private static final int ID_BLOCK = 50;
+    private static final String INSERT_SQL = "insert into user_match (match_id, member_id, team_number, match_time) values (?, ?, ?, ?)";
+
+    private final DataSource dataSource;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * @param weekStart 이번 주 시작시간 (이번 주 팀 번호를 이어서 붙인다)
+     * @param matchingTime UserMatch.matchTime, 이 시간까지 들어온 신청을 매칭한다
+     * @return 매칭된 멤버 수
+     */
+    public int match(Timestamp weekStart, Timestamp matchingTime) {
+        long started = System.currentTimeMillis();
+        Applicants applicants = readApplicants(matchingTime);
+        int[] order = TeamAssigner.assign(applicants.memberIds, applicants.scores, applicants.count);
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        Integer lastTeam = jdbcTemplate.queryForObject(
+                "select coalesce(max(team_number), 0) from user_match where match_time >= ?", Integer.class, weekStart);
+        int firstTeamNumber = (lastTeam == null ? 0 : lastTeam) + 1;
+
+        int teams = TeamAssigner.teamCount(order.length);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (int team = 0; team < teams; team += CHUNK_TEAMS) {
+            //청크를 팀 경계로 나눠서 한 팀이 두 트랜잭션에 걸치지 않게 한다
+            int from = TeamAssigner.teamStart(team, order.length);
+            int to = TeamAssigner.teamStart(Math.min(team + CHUNK_TEAMS, teams), order.length);
+            transactionTemplate.executeWithoutResult(status ->
+                    saveChunk(jdbcTemplate, applicants, order, from, to, firstTeamNumber, matchingTime));
+        }
+        log.info("matching finished : {} members, {} teams, {} ms", order.length, teams, System.currentTimeMillis() - started);
+        return order.length;
+    }
+
+    private Applicants readApplicants(Timestamp matchingTime) {
+        JdbcTemplate cursor = new JdbcTemplate(dataSource);
+        cursor.setFetchSize(FETCH_SIZE);
+        Applicants applicants = new Applicants();
+        cursor.query("select member_id, max(score) as score from user_match_apply " +
+                        "where match_status = ? and apply_time <= ? group by member_id",
+                rs -> {
+                    applicants.add(rs.getLong("member_id"), rs.getLong("score"));
+                }, MatchStatus.WAIT.ordinal(), matchingTime);
+        return applicants;
+    }
+
+    private void saveChunk(JdbcTemplate jdbcTemplate, Applicants applicants, int[] order, int from, int to,
+                           int firstTeamNumber, Timestamp matchingTime) {
+        long[] ids = allocateIds(jdbcTemplate, to - from);
+        List<Object[]> rows = new ArrayList<>(to - from);
+        List<Long> memberIds = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            long memberId = applicants.memberIds[order[i]];
+            rows.add(new Object[]{ids[i - from], memberId, firstTeamNumber + TeamAssigner.teamOf(i, order.length), matchingTime});
+            memberIds.add(memberId);
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        new NamedParameterJdbcTemplate(jdbcTemplate).update("update user_match_apply set match_status = :match " +
+                        "where match_status = :wait and apply_time <= :matchingTime and member_id in (:memberIds)",
+                new MapSqlParameterSource()
+                        .addValue("match", MatchStatus.MATCH.ordinal())
+                        .addValue("wait", MatchStatus.WAIT.ordinal())
+                        .addValue("matchingTime", matchingTime)
+                        .addValue("memberIds", memberIds));
+    }
+
+    private long[] allocateIds(JdbcTemplate jdbcTemplate, int count) {
+        long[] ids = new long[count];
+        int filled = 0;
+        while (filled < count) {
+            Long low = jdbcTemplate.queryForObject("select nextval(user_match_seq)", Long.class);
+            for (long id = low; id < low + ID_BLOCK && filled < count; id++) {
+                ids[filled++] = id;
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * 신청자 목록 (memberIds[i], scores[i])
+     */
+    private static class Applicants {
+        private long[] memberIds = new long[1024];
+        private long[] scores = new long[1024];
+        private int count;
+
+        private void add(long memberId, long score) {
+            if (count == memberIds.length) {
+                memberIds = Arrays.copyOf(memberIds, count * 2);
+                scores = Arrays.copyOf(scores, count * 2);
+            }
+            memberIds[count] = memberId;
+            scores[count] = score;
+            count++;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package sprint.server.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sprint.server.controller.datatransferobject.response.LeagueInfo;
+import sprint.server.domain.usermatch.EloRating;
+import sprint.server.domain.usermatch.MemberRating;
+import sprint.server.repository.MemberRatingRepository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class MemberRatingService {
+
+    private final MemberRatingRepository memberRatingRepository;
+
+    /**
+     * @return 멤버의 실력 점수 (리그에 참여한 적 없으면 INITIAL_RATING)
+     */
+    @Transactional(readOnly = true)
+    public double findRating(Long memberId) {
+        return memberRatingRepository.findById(memberId).map(MemberRating::getRating).orElse(MemberRating.INITIAL_RATING);
+    }
+
+    /**
+     * 정산된 리그 팀들의 순위로 멤버들의 실력 점수를 갱신한다 (팀들의 점수를 한번에 읽고 저장한다)
+     * 이미 이 리그(matchTime)를 반영한 멤버가 있는 팀은 정산을 다시 실행한 것이므로 팀 전체를 건너뛴다
+     * @param leagues 순위(ranking)가 정해진 팀별 리그 정보
+     */
+    @Transactional
+    public void applyLeagues(Timestamp matchTime, List<List<LeagueInfo>> leagues) {
+        List<Long> memberIds = new ArrayList<>();
+        for (List<LeagueInfo> league : leagues) {
+            for (LeagueInfo leagueInfo : league) memberIds.add(leagueInfo.getMemberId());
+        }
+        Map<Long, MemberRating> ratings = memberRatingRepository.findAllById(memberIds).stream()
+                .collect(Collectors.toMap(MemberRating::getMemberId, Function.identity()));
+
+        List<MemberRating> changed = new ArrayList<>(memberIds.size());
+        for (List<LeagueInfo> league : leagues) {
+            if (league.stream().anyMatch(leagueInfo -> ratings.containsKey(leagueInfo.getMemberId())
+                    && ratings.get(leagueInfo.getMemberId()).isRated(matchTime))) continue;
+
+            List<MemberRating> members = new ArrayList<>(league.size());
+            double[] current = new double[league.size()];
+            int[] rankings = new int[league.size()];
+            for (int i = 0; i < league.size(); i++) {
+                LeagueInfo leagueInfo = league.get(i);
+                MemberRating rating = ratings.computeIfAbsent(leagueInfo.getMemberId(), MemberRating::new);
+                members.add(rating);
+                current[i] = rating.getRating();
+                rankings[i] = leagueInfo.getRanking();
+            }
+            double[] updated = EloRating.update(current, rankings);
+            for (int i = 0; i < members.size(); i++) {
+                members.get(i).rate(updated[i], matchTime);
+            }
+            changed.addAll(members);
+        }
+        memberRatingRepository.saveAll(changed);
+    }
+}
@@ -0,0 +1,121 @@
+package sprint.server.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sprint.server.controller.datatransferobject.response.PaceDistributionResponse;
+import sprint.server.controller.exception.ApiException;
+import sprint.server.controller.exception.ExceptionEnum;
+import sprint.server.domain.Running;
+import sprint.server.domain.statistics.PaceHistogram;
+import sprint.server.domain.statistics.PaceHistogramBucket;
+import sprint.server.domain.statistics.StatisticsType;
+import sprint.server.repository.PaceHistogramBucketRepository;
+import sprint.server.repository.RunningTrackRepository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+
+/**
+ * 기간별 페이스 히스토그램을 관리한다
+ * 러닝이 끝날때 트랙으로 한번만 히스토그램을 만들어서 일/주/월/년/전체 기간에 더하고,
+ * 조회는 저장된 구간만 읽어서 백분위를 계산한다 (RunningRawData 나 트랙을 다시 읽지 않는다)
+ */
+@Service
+@RequiredArgsConstructor
+public class PaceHistogramService {
+
+    private static final String MERGE_SQL = "insert into pace_histogram_bucket (member_id, statistics_type, period_start, bucket, distance) " +
+            "values (?, ?, ?, ?, ?) on duplicate key update distance = distance + values(distance)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RunningTrackRepository runningTrackRepository;
+    private final PaceHistogramBucketRepository paceHistogramBucketRepository;
+    private final StatisticsService statisticsService;
+
+    /**
+     * 종료된 러닝의 히스토그램을 러닝이 속한 다섯 기간에 더한다 (기간마다 거리가 있는 구간만 배치 한번으로 upsert)
+     */
+    @Transactional
+    public void addRunning(Running running) {
+        PaceHistogram histogram = runningTrackRepository.findById(running.getId())
+                .map(track -> PaceHistogram.of(track.getData()))
+                .orElseGet(() -> PaceHistogram.of(running.getRunningRawDataList()));
+        if (histogram.isEmpty()) return;
+
+        Long memberId = running.getMember().getId();
+        List<Object[]> rows = new ArrayList<>();
+        for (StatisticsType statisticsType : StatisticsType.values()) {
+            Date period = Date.valueOf(periodOf(running.getStartTime(), statisticsType));
+            for (int bucket = 0; bucket < PaceHistogram.BUCKETS; bucket++) {
+                double distance = histogram.getDistance(bucket);
+                if (distance > 0) rows.add(new Object[]{memberId, statisticsType.name(), period, bucket, distance});
+            }
+        }
+        jdbcTemplate.batchUpdate(MERGE_SQL, rows);
+    }
+
+    /**
+     * @param calendar 조회할 기간에 포함되는 날짜
+     * @param percentiles 0 초과 100 이하
+     */
+    @Transactional(readOnly = true)
+    public PaceDistributionResponse findDistribution(Long memberId, StatisticsType statisticsType, Calendar calendar,
+                                                     List<Double> percentiles) {
+        validate(percentiles);
+        LocalDate period = periodOf(new Timestamp(calendar.getTimeInMillis()), statisticsType);
+        PaceHistogram histogram = new PaceHistogram();
+        for (PaceHistogramBucket bucket : paceHistogramBucketRepository
+                .findAllByMemberIdAndStatisticsTypeAndPeriodStart(memberId, statisticsType, period)) {
+            histogram.addBucket(bucket.getBucket(), bucket.getDistance());
+        }
+        return toResponse(histogram, percentiles);
+    }
+
+    /**
+     * from 부터 to 까지(양 끝 포함) 일별 히스토그램을 합쳐서 백분위를 계산한다
+     */
+    @Transactional(readOnly = true)
+    public PaceDistributionResponse findRangeDistribution(Long memberId, LocalDate from, LocalDate to, List<Double> percentiles) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new ApiException(ExceptionEnum.STATISTICS_INVALID_RANGE);
+        }
+        validate(percentiles);
+        PaceHistogram histogram = new PaceHistogram();
+        for (PaceHistogramBucketRepository.BucketSum sum : paceHistogramBucketRepository.sumDailyBuckets(memberId, from, to)) {
+            histogram.addBucket(sum.getBucket(), sum.getDistance());
+        }
+        return toResponse(histogram, percentiles);
+    }
+
+    private LocalDate periodOf(Timestamp timestamp, StatisticsType statisticsType) {
+        if (statisticsType == StatisticsType.Totally) return PaceHistogramBucket.TOTAL_PERIOD;
+        Calendar start = statisticsService.getCalendarStart(timestamp, statisticsType);
+        return new Timestamp(start.getTimeInMillis()).toLocalDateTime().toLocalDate();
+    }
+
+    private void validate(List<Double> percentiles) {
+        if (percentiles == null || percentiles.isEmpty()) {
+            throw new ApiException(ExceptionEnum.STATISTICS_INVALID_PERCENTILE);
+        }
+        for (Double percentile : percentiles) {
+            if (percentile == null || !(percentile > 0 && percentile <= 100)) {
+                throw new ApiException(ExceptionEnum.STATISTICS_INVALID_PERCENTILE);
+            }
+        }
+    }
+
+    private PaceDistributionResponse toResponse(PaceHistogram histogram, List<Double> percentiles) {
+        List<PaceDistributionResponse.PacePercentile> result = new ArrayList<>(percentiles.size());
+        for (Double percentile : percentiles) {
+            double pace = histogram.percentile(percentile);
+            result.add(new PaceDistributionResponse.PacePercentile(percentile, Double.isNaN(pace) ? null : pace));
+        }
+        return new PaceDistributionResponse(histogram.getTotalDistance(), result);
+    }
+}
@@ -3,18 +3,42 @@ package sprint.server.service;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import sprint.server.controller.datatransferobject.request.AddRunningPointsRequest;
 import sprint.server.controller.datatransferobject.request.FinishRunningRequest;
+import sprint.server.controller.datatransferobject.request.FinishRunningStream;
+import sprint.server.controller.exception.ApiException;
+import sprint.server.controller.exception.ExceptionEnum;
 import sprint.server.domain.friend.FriendState;
 import sprint.server.domain.member.Member;
 import sprint.server.domain.Running;
 import sprint.server.domain.RunningRawData;
+import sprint.server.domain.track.DistanceKernel;
+import sprint.server.domain.track.RunningProgress;
+import sprint.server.domain.track.RunningTrack;
+import sprint.server.domain.track.RunningTrackChunk;
+import sprint.server.domain.track.RunningTrackLevel;
+import sprint.server.domain.track.RunningTrackLevelId;
+import sprint.server.domain.track.TrackAccumulator;
+import sprint.server.domain.track.TrackDecoder;
+import sprint.server.domain.track.TrackEncoder;
+import sprint.server.domain.track.TrackResolution;
+import sprint.server.domain.track.TrackSimplifier;
+import sprint.server.event.RunningEventPublisher;
+import sprint.server.domain.track.TrackTimestamps;
 import sprint.server.repository.FriendRepository;
 import sprint.server.repository.MemberRepository;
+import sprint.server.repository.RunningProgressRepository;
+import sprint.server.repository.RunningRawDataRepository;
 import sprint.server.repository.RunningRepository;
+import sprint.server.repository.RunningTrackChunkRepository;
+import sprint.server.repository.RunningTrackLevelRepository;
+import sprint.server.repository.RunningTrackRepository;
 
 import javax.xml.crypto.Data;
 import java.sql.Timestamp;
@@ -28,7 +52,18 @@ public class RunningService {
 
     private final MemberRepository memberRepository;
     private final RunningRepository runningRepository;
+    private final RunningTrackRepository runningTrackRepository;
+    private final RunningRawDataRepository runningRawDataRepository;
+    private final RunningProgressRepository runningProgressRepository;
+    private final RunningTrackChunkRepository runningTrackChunkRepository;
+    private final RunningTrackLevelRepository runningTrackLevelRepository;
+    private final RunningEventPublisher runningEventPublisher;
 
+    /**
+     * 포인트로 거리를 계산할 때 사용할 방식 (HAVERSINE, EQUIRECTANGULAR)
+     */
+    @Value("${sprint.running.distance-kernel:HAVERSINE}")
+    private DistanceKernel distanceKernel = DistanceKernel.HAVERSINE;
 
     public Optional<Running> findOne(Long runningId){
         return runningRepository.findById(runningId);
@@ -61,23 +96,195 @@ public class RunningService {
     @Transactional
     public Running finishRunning(FinishRunningRequest request)  {
 
-        Running running = runningRepository.findById(request.getRunningId()).get();
-        Member member = memberRepository.findById(request.getUserId()).get();
+        //포인트마다 행을 만들지 않고 트랙 전체를 하나의 blob으로 저장
+        TrackEncoder encoder = new TrackEncoder();
+        TrackAccumulator accumulator = newTrackAccumulator();
+        for(RunningRawData data : request.getRunningData()){
+            long epochMillis = toEpochMillis(data.getTimestamp());
+            encoder.add(data.getLatitude(), data.getLongitude(), data.getSpeed(), epochMillis);
+            accumulator.add(data.getLatitude(), data.getLongitude(), epochMillis);
+        }
+        return saveFinishedRunning(request.getRunningId(), request.getUserId(),
+                request.getDuration(), request.getDistance(), encoder, accumulator);
+    }
+
+    /**
+     * 스트리밍으로 읽은 러닝 종료 요청을 저장하는 메소드
+     * @param stream
+     * @return
+     */
+    @Transactional
+    public Running finishRunning(FinishRunningStream stream) {
+        return saveFinishedRunning(stream.getRunningId(), stream.getUserId(),
+                stream.getDuration(), stream.getDistance(), stream.getEncoder(), stream.getAccumulator());
+    }
+
+    /**
+     * 러닝 정보를 저장하는 메소드
+     * 러닝 중 업로드된 청크가 있다면 누적된 계산 결과에 이번 포인트들만 이어서 합치고, 청크 데이터는 디코딩 없이 이어붙인다
+     * 거리/시간은 클라이언트가 보낸 값을 우선하고, 보내지 않았다면 포인트로 계산한 값을 사용한다
+     * 통계 등 후처리는 같은 트랜잭션에서 outbox 에 기록되고 커밋 후 비동기로 실행된다
+     */
+    private Running saveFinishedRunning(Long runningId, Long userId, double duration, double distance,
+                                        TrackEncoder encoder, TrackAccumulator accumulator) {
+        Running running = runningRepository.findById(runningId).get();
+        Member member = memberRepository.findById(userId).get();
+        //트랙은 한번만 저장되며, 두번 종료되면 통계 등 후처리가 중복된다
+        if(runningTrackRepository.existsById(runningId)){
+            throw new ApiException(ExceptionEnum.RUNNING_ALREADY_FINISHED);
+        }
+
+        TrackAccumulator total = accumulator;
+        RunningTrack track;
+        Optional<RunningProgress> progress = runningProgressRepository.findById(runningId);
+        if(progress.isPresent()){
+            total = newTrackAccumulator();
+            total.append(progress.get().getAccumulator());
+            total.append(accumulator);
+            track = new RunningTrack(runningId, runningTrackChunkRepository.findAllByRunningIdOrderBySequenceAsc(runningId), encoder);
+            runningTrackChunkRepository.deleteAllByRunningId(runningId);
+            runningProgressRepository.delete(progress.get());
+        }else{
+            track = new RunningTrack(runningId, encoder);
+        }
+        if(duration <= 0) duration = total.getElapsedSeconds();
+        if(distance <= 0) distance = total.getDistance();
 
-        double distance = calculateTotalDistance(request.getRunningData());
         float weight = member.getWeight();
-        double energy = calculateEnergy(weight, request.getDuration(), request.getDistance());
+        double energy = calculateEnergy(weight, duration, distance);
 
         running.setEnergy(energy);
         running.setWeight(weight);
-        running.setDuration(request.getDuration());
-        running.setDistance(request.getDistance());
-        running.setRunningRawDataList(request.getRunningData());
+        running.setDuration(duration);
+        running.setDistance(distance);
 
+        runningTrackRepository.save(track);
+        saveTrackLevels(track);
+        runningEventPublisher.publishFinished(running);
+        return running;
+    }
+
+    /**
+     * 트랙을 단순화해서 해상도별로 저장하는 메소드 (러닝당 한번만 계산)
+     * @param track
+     * @return
+     */
+    private Map<TrackResolution, RunningTrackLevel> saveTrackLevels(RunningTrack track){
+        Map<TrackResolution, RunningTrackLevel> levels = new EnumMap<>(TrackResolution.class);
+        TrackSimplifier.simplify(track.getData()).forEach((resolution, encoder) ->
+                levels.put(resolution, new RunningTrackLevel(track.getRunningId(), resolution, encoder)));
+        runningTrackLevelRepository.saveAll(levels.values());
+        return levels;
+    }
+
+    /**
+     * 러닝 중 포인트 묶음을 업로드하는 메소드
+     * 누적 계산 결과에 이번 묶음만 이어서 계산하고, 포인트는 세그먼트 하나로 저장한다
+     * 이미 반영된 sequence 가 다시 오면 아무것도 하지 않고 현재 상태를 반환한다
+     * @param runningId
+     * @param request
+     * @return
+     */
+    @Transactional
+    public RunningProgress addRunningPoints(Long runningId, AddRunningPointsRequest request) {
+        Running running = runningRepository.findById(runningId)
+                .orElseThrow(() -> new ApiException(ExceptionEnum.RUNNING_NOT_FOUND));
+        if(!running.getMember().getId().equals(request.getUserId())){
+            throw new ApiException(ExceptionEnum.RUNNING_NOT_FOUND);
+        }
+        if(runningTrackRepository.existsById(runningId)){
+            throw new ApiException(ExceptionEnum.RUNNING_ALREADY_FINISHED);
+        }
+
+        RunningProgress progress = runningProgressRepository.findById(runningId)
+                .orElseGet(() -> new RunningProgress(runningId));
+        if(progress.isApplied(request.getSequence())) return progress;
+        if(!progress.isNext(request.getSequence())){
+            throw new ApiException(ExceptionEnum.RUNNING_CHUNK_OUT_OF_ORDER);
+        }
+
+        TrackEncoder encoder = new TrackEncoder();
+        TrackAccumulator accumulator = progress.getAccumulator();
+        accumulator.setKernel(distanceKernel);
         for(RunningRawData data : request.getRunningData()){
-            data.setRunning(running);
+            long epochMillis = toEpochMillis(data.getTimestamp());
+            encoder.add(data.getLatitude(), data.getLongitude(), data.getSpeed(), epochMillis);
+            accumulator.add(data.getLatitude(), data.getLongitude(), epochMillis);
+        }
+        runningTrackChunkRepository.save(new RunningTrackChunk(runningId, request.getSequence(), encoder));
+        progress.applied(request.getSequence());
+        return runningProgressRepository.save(progress);
+    }
+
+    /**
+     * 잘못된 형식의 timestamp 는 스트리밍 요청과 같이 잘못된 러닝 정보로 응답한다
+     */
+    private static long toEpochMillis(String timestamp){
+        try {
+            return TrackTimestamps.toEpochMillis(timestamp);
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(ExceptionEnum.RUNNING_INVALID_REQUEST, e.getMessage());
         }
-        return running;
+    }
+
+    /**
+     * 설정된 거리 계산 방식을 사용하는 누적 계산기를 만드는 메소드
+     * @return
+     */
+    public TrackAccumulator newTrackAccumulator(){
+        return new TrackAccumulator(distanceKernel);
+    }
+
+    /**
+     * 러닝의 로우데이터를 반환하는 메소드
+     * 트랙 blob이 있으면 복원해서 반환하고, 아직 옮겨지지 않은 러닝이면 기존 로우데이터 행을 반환한다
+     * @param running
+     * @return
+     */
+    public List<RunningRawData> findRunningData(Running running){
+        return runningTrackRepository.findById(running.getId())
+                .map(track -> TrackDecoder.decode(track.getData()))
+                .orElseGet(running::getRunningRawDataList);
+    }
+
+    /**
+     * 요청한 해상도의 로우데이터를 반환하는 메소드
+     * 단순화된 트랙이 없는 예전 러닝이면 이때 한번 만들어서 저장한다
+     * 트랙 blob으로 옮겨지지 않은 러닝은 해상도와 상관없이 기존 로우데이터 행을 반환한다
+     * @param running
+     * @param resolution
+     * @return
+     */
+    @Transactional
+    public List<RunningRawData> findRunningData(Running running, TrackResolution resolution){
+        if(resolution == TrackResolution.FULL) return findRunningData(running);
+
+        Optional<RunningTrackLevel> level = runningTrackLevelRepository.findById(new RunningTrackLevelId(running.getId(), resolution));
+        if(level.isPresent()) return TrackDecoder.decode(level.get().getData());
+
+        return runningTrackRepository.findById(running.getId())
+                .map(track -> TrackDecoder.decode(saveTrackLevels(track).get(resolution).getData()))
+                .orElseGet(running::getRunningRawDataList);
+    }
+
+    /**
+     * 기존 RunningRawData 행들을 러닝별 트랙 blob으로 옮기고 기존 행을 삭제하는 메소드
+     * @param batchSize 한번에 옮길 러닝 개수
+     * @return 옮겨진 러닝 개수 (0이면 더 이상 옮길 러닝이 없음)
+     */
+    @Transactional
+    public int migrateLegacyRawData(int batchSize){
+        List<Long> runningIds = runningRawDataRepository.findLegacyRunningIds(PageRequest.of(0, batchSize));
+        for(Long runningId : runningIds){
+            TrackEncoder encoder = new TrackEncoder();
+            for(RunningRawData data : runningRawDataRepository.findAllByRunningId(runningId)){
+                encoder.add(data);
+            }
+            RunningTrack track = runningTrackRepository.save(new RunningTrack(runningId, encoder));
+            saveTrackLevels(track);
+            runningRawDataRepository.deleteAllByRunningId(runningId);
+        }
+        return runningIds.size();
     }
 
     public Running createRunning(Member member){
@@ -115,27 +322,32 @@ public class RunningService {
     }
 
     /**
-     *
-     * @param rowData 경도, 위도, 고도, 시간 등의 데이터가 저장되어있음
+     * 개인 러닝 기록을 beforeRunningId 이전부터 가져오는 메소드
+     * @param beforeRunningId 이전 응답의 마지막 runningId (null이면 가장 최근부터)
+     * @param loginMember
      * @return
      */
-    private double calculateTotalDistance(List<RunningRawData> rowData) {
-        double distance = 0;
-        for(int i = 0; i< rowData.size()-1; i++){
-            /**
-             * 시간 차이가 1500ms 이상이면 멈췄던 상태이므로 거리에 카운트 하지 않음
-             */
-            Timestamp t1 = Timestamp.valueOf(new StringTokenizer(rowData.get(i).getTimestamp(),"Z").nextToken());
-            Timestamp t2 = Timestamp.valueOf(new StringTokenizer(rowData.get(i+1).getTimestamp(),"Z").nextToken());
-            if(t2.getTime()-t1.getTime() > 1500){ continue; }
-
-            distance += calculateDistance(rowData.get(i).getLongitude(),
-                    rowData.get(i + 1).getLongitude(),
-                    rowData.get(i).getLatitude(),
-                    rowData.get(i + 1).getLatitude());
+    public Slice<Running> fetchPersonalRunningSlice(Long beforeRunningId, Member loginMember){
+        List<Member> allMembers = new ArrayList<>(Arrays.asList(loginMember));
+        return fetchRunningSlice(beforeRunningId,allMembers,3);
+    }
 
-        }
-        return distance;
+    /**
+     * 친구 및 회원의 러닝 기록을 beforeRunningId 이전부터 가져오는 메소드
+     * @param beforeRunningId 이전 응답의 마지막 runningId (null이면 가장 최근부터)
+     * @param allMembers
+     * @return
+     */
+    public Slice<Running> fetchPublicRunningSlice(Long beforeRunningId, List<Member> allMembers){
+        return fetchRunningSlice(beforeRunningId,allMembers,3);
+    }
+
+    /**
+     * OFFSET 과 count 쿼리 없이 runningId 기준으로 다음 러닝들을 가져온다
+     */
+    public Slice<Running> fetchRunningSlice(Long beforeRunningId, List<Member> allMembers, int size) {
+        Long cursor = beforeRunningId == null ? Long.MAX_VALUE : beforeRunningId;
+        return runningRepository.findByMemberInAndIdLessThanOrderByIdDesc(allMembers, cursor, PageRequest.of(0, size));
     }
 
     /**
@@ -178,25 +390,11 @@ public class RunningService {
      * @return 전체 뛴 거리 (m단위)
      */
     public static double calculateDistance(double startLongitude, double endLongitude, double startLatitude, double endLatitude){
-        double earthRadius = 6378137.0;
-        double dLat = degreeToRadians(endLatitude-startLatitude);
-        double dLon = degreeToRadians(endLongitude - startLongitude);
-        double a = Math.pow(Math.sin(dLat/2),2)+
-                Math.pow(Math.sin(dLon/2),2) *
-                        Math.cos(degreeToRadians(startLatitude))*
-                        Math.cos(degreeToRadians(endLatitude));
-        double c = 2*Math.asin(Math.sqrt(a));
-
-        return earthRadius*c; //단위 meter
-    }
-
-    /**
-     *
-     * @param degree 일반 각도 입력
-     * @return 각도를 라디안으로 변환
-     */
-    private static double degreeToRadians(double degree){
-        return (degree * Math.PI/180.0);
+        double startLatitudeRadians = DistanceKernel.toRadians(startLatitude);
+        double endLatitudeRadians = DistanceKernel.toRadians(endLatitude);
+        return DistanceKernel.HAVERSINE.distance(
+                startLatitudeRadians, DistanceKernel.toRadians(startLongitude), Math.cos(startLatitudeRadians),
+                endLatitudeRadians, DistanceKernel.toRadians(endLongitude), Math.cos(endLatitudeRadians)); //단위 meter
     }
 
 }
@@ -0,0 +1,143 @@
+package sprint.server.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sprint.server.domain.outbox.OutboxEvent;
+import sprint.server.event.StatisticsUpdatedEvent;
+import sprint.server.repository.OutboxEventRepository;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 러닝 종료로 생긴 통계 증가분을 메모리에 모았다가 주기적으로 한번에 반영한다
+ *
+ * 증가분은 outbox 행 아이디별로 모으므로 flush 전에 같은 행이 다시 실행되어도(리스 만료 후 재시도) 한번만 더해진다
+ * flush 는 모인 outbox 행 중 아직 WAIT 인 행을 잠그고, 그 행들의 증가분만 통계 행별로 합쳐
+ * "distance = distance + ?" 한 줄씩 배치로 실행한 뒤 같은 트랜잭션에서 DONE 으로 바꾼다
+ * 이미 DONE 인 행의 증가분은 버리므로 flush 뒤에 다시 실행된 행도 두번 더해지지 않는다
+ *
+ * flush 전에 서버가 죽거나 flush 가 실패하면 outbox 행이 WAIT 로 남아 있으므로 미뤄둔 시간이 지난 뒤 다시 더해진다
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StatisticsAccumulator {
+
+    private static final String UPDATE_SQL = "update statistics set distance = distance + ?, total_seconds = total_seconds + ?, " +
+            "energy = energy + ?, count = count + ? where statistics_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final OutboxEventRepository outboxEventRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    // add 끼리는 같이 실행되고, flush 가 모인 값을 꺼내는 순간에만 막는다
+    private final ReentrantReadWriteLock drainLock = new ReentrantReadWriteLock();
+    private volatile Map<Long, Pending> pending = new ConcurrentHashMap<>();
+
+    /**
+     * @param statisticsIds 러닝이 속한 통계 행들
+     * @param outboxEventId 반영할때 DONE 으로 바꿀 outbox 행 (같은 행으로 다시 호출되면 무시한다)
+     * @param afterFlush 반영이 커밋된 후 실행 (캐시 삭제 등)
+     */
+    public void add(List<Long> statisticsIds, double distance, double totalSeconds, double energy,
+                    Long outboxEventId, Runnable afterFlush) {
+        drainLock.readLock().lock();
+        try {
+            if (pending.putIfAbsent(outboxEventId, new Pending(statisticsIds, distance, totalSeconds, energy, afterFlush)) != null) {
+                log.warn("outbox event {} is already waiting for statistics flush", outboxEventId);
+            }
+        } finally {
+            drainLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 모인 증가분을 한 트랜잭션으로 반영한다
+     * @return 반영된 러닝 수
+     */
+    public synchronized int flush() {
+        Map<Long, Pending> events;
+        drainLock.writeLock().lock();
+        try {
+            events = pending;
+            pending = new ConcurrentHashMap<>();
+        } finally {
+            drainLock.writeLock().unlock();
+        }
+        if (events.isEmpty()) return 0;
+
+        Map<Long, double[]> deltas = new TreeMap<>();
+        List<Pending> applied = new ArrayList<>(events.size());
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                List<Long> waiting = new ArrayList<>(events.size());
+                for (OutboxEvent outboxEvent : outboxEventRepository.findWaitingForUpdate(events.keySet())) {
+                    waiting.add(outboxEvent.getId());
+                    applied.add(events.get(outboxEvent.getId()));
+                }
+                for (Pending event : applied) event.addTo(deltas);
+                //행 아이디 순서로 갱신해서 다른 트랜잭션과 서로 잠금을 기다리지 않게 한다
+                List<Object[]> rows = new ArrayList<>(deltas.size());
+                deltas.forEach((id, delta) -> rows.add(new Object[]{delta[0], delta[1], delta[2], (long) delta[3], id}));
+                if (!rows.isEmpty()) jdbcTemplate.batchUpdate(UPDATE_SQL, rows);
+                if (!waiting.isEmpty()) outboxEventRepository.markDone(waiting, LocalDateTime.now());
+            });
+        } catch (RuntimeException e) {
+            log.error("statistics flush failed, {} runnings will be retried by outbox", events.size(), e);
+            return 0;
+        }
+        if (applied.size() < events.size()) {
+            log.warn("statistics flush skipped {} outbox events that were already done", events.size() - applied.size());
+        }
+        for (Pending event : applied) event.afterFlush.run();
+        if (!deltas.isEmpty()) {
+            applicationEventPublisher.publishEvent(new StatisticsUpdatedEvent(new ArrayList<>(deltas.keySet())));
+        }
+        return applied.size();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        int flushed = flush();
+        log.info("statistics accumulator flushed on shutdown : {} runnings", flushed);
+    }
+
+    private static class Pending {
+        private final List<Long> statisticsIds;
+        private final double distance;
+        private final double totalSeconds;
+        private final double energy;
+        private final Runnable afterFlush;
+
+        private Pending(List<Long> statisticsIds, double distance, double totalSeconds, double energy, Runnable afterFlush) {
+            this.statisticsIds = statisticsIds;
+            this.distance = distance;
+            this.totalSeconds = totalSeconds;
+            this.energy = energy;
+            this.afterFlush = afterFlush;
+        }
+
+        /**
+         * 통계 행 아이디 -> (distance, totalSeconds, energy, count) 증가분에 더한다
+         */
+        private void addTo(Map<Long, double[]> deltas) {
+            for (Long statisticsId : statisticsIds) {
+                double[] delta = deltas.computeIfAbsent(statisticsId, id -> new double[4]);
+                delta[0] += distance;
+                delta[1] += totalSeconds;
+                delta[2] += energy;
+                delta[3]++;
+            }
+        }
+    }
+}
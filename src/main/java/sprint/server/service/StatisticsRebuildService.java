@@ -0,0 +1,353 @@
+package sprint.server.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sprint.server.cache.StatisticsCache;
+import sprint.server.controller.datatransferobject.response.StatisticsRebuildReport;
+import sprint.server.domain.statistics.Statistics;
+import sprint.server.domain.statistics.StatisticsType;
+import sprint.server.repository.MemberActivityRepository;
+import sprint.server.repository.MemberDailyTotalRepository;
+import sprint.server.repository.MemberRepository;
+import sprint.server.repository.StatisticsRepository;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+
+/**
+ * Running 기록으로 전체 Statistics 를 다시 계산한다 (관리자용)
+ *
+ * 러닝을 멤버 순서로 스트리밍하면서 PARTITION_MEMBERS 명씩 묶어 ForkJoinPool 에 넘기고,
+ * 파티션 안에서는 멤버 단위로 나눠서(fork/join) 일/주/월/년/전체 기간별 합계를 계산한다
+ * 기간은 StatisticsService.getCalendarStart 로 나누므로 기간 계산 방식이 바뀌면 이 기능으로 다시 맞춘다
+ *
+ * 기존 행과의 차이를 StatisticsRebuildReport 로 반환하고, apply 이면 파티션마다 한 트랜잭션으로
+ * 기존 통계 행을 지우고 새로 저장한다. 통계로 만든 데이터(러닝 날짜 비트맵, 누적 기록)도 지워서 다음 조회때 다시 만들게 한다
+ * apply 도중 종료되는 러닝의 통계는 반영되지 않을 수 있으므로 점검 시간에 실행한다
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StatisticsRebuildService {
+
+    private static final int PARTITION_MEMBERS = 500;
+    private static final int FETCH_SIZE = 10000;
+    private static final int MAX_PARALLELISM = 4;
+    //fork/join 에서 더 나누지 않고 바로 계산하는 멤버 수
+    private static final int MEMBER_THRESHOLD = 16;
+    private static final double EPSILON = 1e-6;
+    private static final StatisticsType[] PERIOD_TYPES =
+            {StatisticsType.Daily, StatisticsType.Weekly, StatisticsType.Monthly, StatisticsType.Yearly};
+
+    private final DataSource dataSource;
+    private final PlatformTransactionManager transactionManager;
+    private final StatisticsService statisticsService;
+    private final StatisticsRepository statisticsRepository;
+    private final MemberRepository memberRepository;
+    private final MemberActivityRepository memberActivityRepository;
+    private final MemberDailyTotalRepository memberDailyTotalRepository;
+    private final StatisticsCache statisticsCache;
+    private final StatisticsAccumulator statisticsAccumulator;
+    private final LeaderboardService leaderboardService;
+
+    /**
+     * @param apply false 이면 차이만 계산하고 저장하지 않는다
+     */
+    public StatisticsRebuildReport rebuild(boolean apply) {
+        return rebuild(apply, null);
+    }
+
+    /**
+     * @param memberIds 다시 계산할 멤버들 (null 이면 전체 멤버)
+     */
+    public StatisticsRebuildReport rebuild(boolean apply, Collection<Long> memberIds) {
+        long started = System.currentTimeMillis();
+        StatisticsRebuildReport report = new StatisticsRebuildReport(apply);
+        if (memberIds != null && memberIds.isEmpty()) return report;
+        //모아둔 증가분이 재계산 전 행 아이디로 반영되지 않도록 먼저 비운다
+        statisticsAccumulator.flush();
+        //스트리밍 커넥션 외에 스레드마다 커넥션을 하나씩 쓰므로 서비스 요청에 쓸 커넥션을 남겨둔다
+        int parallelism = Math.min(Runtime.getRuntime().availableProcessors(), MAX_PARALLELISM);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        //스트리밍이 계산보다 빠르면 메모리에 쌓이지 않도록 처리중인 파티션 수를 제한한다
+        Semaphore inFlight = new Semaphore(parallelism * 2);
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        long[] counts = new long[2];
+
+        try {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            jdbcTemplate.setFetchSize(FETCH_SIZE);
+            NamedParameterJdbcTemplate namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+            String memberCondition = memberIds == null ? "" : " and member_id in (:memberIds)";
+            Map<String, Object> parameters = memberIds == null
+                    ? Collections.emptyMap() : Collections.singletonMap("memberIds", memberIds);
+            List<MemberRuns> partition = new ArrayList<>(PARTITION_MEMBERS);
+            MemberRuns[] current = new MemberRuns[1];
+            namedJdbcTemplate.query("select member_id, start_time, distance, duration, energy from running " +
+                    "where duration > 0" + memberCondition + " order by member_id, running_id", parameters, rs -> {
+                long memberId = rs.getLong("member_id");
+                if (current[0] == null || current[0].memberId != memberId) {
+                    if (partition.size() == PARTITION_MEMBERS) {
+                        tasks.add(submit(pool, inFlight, new ArrayList<>(partition), apply, report));
+                        partition.clear();
+                    }
+                    current[0] = new MemberRuns(memberId);
+                    partition.add(current[0]);
+                    counts[0]++;
+                }
+                current[0].add(rs.getTimestamp("start_time").getTime(), rs.getDouble("distance"),
+                        rs.getDouble("duration"), rs.getDouble("energy"));
+                counts[1]++;
+            });
+            if (!partition.isEmpty()) tasks.add(submit(pool, inFlight, partition, apply, report));
+
+            //러닝 기록 없이 통계 행만 남아있는 멤버
+            List<Long> orphanMemberIds = namedJdbcTemplate.queryForList("select distinct s.member_id from statistics s " +
+                    "where not exists (select 1 from running r where r.member_id = s.member_id and r.duration > 0)"
+                    + (memberIds == null ? "" : " and s.member_id in (:memberIds)"), parameters, Long.class);
+            for (int i = 0; i < orphanMemberIds.size(); i += PARTITION_MEMBERS) {
+                List<MemberRuns> orphans = orphanMemberIds.subList(i, Math.min(i + PARTITION_MEMBERS, orphanMemberIds.size()))
+                        .stream().map(MemberRuns::new).collect(Collectors.toList());
+                tasks.add(submit(pool, inFlight, orphans, apply, report));
+            }
+            for (ForkJoinTask<?> task : tasks) task.join();
+        } finally {
+            pool.shutdownNow();
+        }
+        if (apply) {
+            statisticsCache.clear();
+            //전체 리더보드는 유지 기간이 없으므로 지워야 다시 계산한 통계로 채워진다
+            leaderboardService.deleteCurrentBoards();
+        }
+
+        report.finish(counts[0], counts[1], System.currentTimeMillis() - started);
+        log.info("statistics rebuild (apply={}) : {} members, {} runnings, {} ms",
+                apply, counts[0], counts[1], report.getElapsedMillis());
+        return report;
+    }
+
+    private ForkJoinTask<?> submit(ForkJoinPool pool, Semaphore inFlight, List<MemberRuns> partition,
+                                   boolean apply, StatisticsRebuildReport report) {
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("statistics rebuild interrupted", e);
+        }
+        return pool.submit(() -> {
+            try {
+                processPartition(partition, apply, report);
+            } finally {
+                //끝난 작업이 러닝 기록을 붙잡고 있지 않도록 비운다
+                partition.clear();
+                inFlight.release();
+            }
+        });
+    }
+
+    private void processPartition(List<MemberRuns> partition, boolean apply, StatisticsRebuildReport report) {
+        new AggregateTask(partition, 0, partition.size()).invoke();
+
+        List<Long> memberIds = partition.stream().map(memberRuns -> memberRuns.memberId).collect(Collectors.toList());
+        Map<Long, Map<Bucket, double[]>> existing = findExisting(memberIds);
+        for (MemberRuns memberRuns : partition) {
+            diff(memberRuns.memberId, memberRuns.buckets,
+                    existing.getOrDefault(memberRuns.memberId, Collections.emptyMap()), report);
+        }
+        if (apply) save(partition, memberIds);
+    }
+
+    /**
+     * @return 멤버별, 기간별 기존 통계 합계 (같은 기간에 행이 여러개면 합친다)
+     */
+    private Map<Long, Map<Bucket, double[]>> findExisting(List<Long> memberIds) {
+        Map<Long, Map<Bucket, double[]>> existing = new HashMap<>();
+        new NamedParameterJdbcTemplate(dataSource).query(
+                "select member_id, statistics_type, time, distance, total_seconds, energy, count from statistics " +
+                        "where member_id in (:memberIds)",
+                Collections.singletonMap("memberIds", memberIds), rs -> {
+                    StatisticsType statisticsType = StatisticsType.valueOf(rs.getString("statistics_type"));
+                    Timestamp time = rs.getTimestamp("time");
+                    long start = statisticsType == StatisticsType.Totally || time == null
+                            ? 0 : statisticsService.getCalendarStart(time, statisticsType).getTimeInMillis();
+                    double[] values = existing.computeIfAbsent(rs.getLong("member_id"), id -> new HashMap<>())
+                            .computeIfAbsent(new Bucket(statisticsType, start), bucket -> new double[4]);
+                    values[0] += rs.getDouble("distance");
+                    values[1] += rs.getDouble("total_seconds");
+                    values[2] += rs.getDouble("energy");
+                    values[3] += rs.getInt("count");
+                });
+        return existing;
+    }
+
+    private void diff(Long memberId, Map<Bucket, double[]> rebuilt, Map<Bucket, double[]> existing,
+                      StatisticsRebuildReport report) {
+        rebuilt.forEach((bucket, values) -> {
+            double[] before = existing.get(bucket);
+            if (before == null) {
+                report.missing(bucket.statisticsType, sample(memberId, bucket, null, values));
+            } else if (same(before, values)) {
+                report.unchanged(bucket.statisticsType);
+            } else {
+                report.changed(bucket.statisticsType, sample(memberId, bucket, before, values));
+            }
+        });
+        existing.forEach((bucket, values) -> {
+            if (!rebuilt.containsKey(bucket)) report.extra(bucket.statisticsType, sample(memberId, bucket, values, null));
+        });
+    }
+
+    private void save(List<MemberRuns> partition, List<Long> memberIds) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            statisticsRepository.deleteByMemberIds(memberIds);
+            memberActivityRepository.deleteByMemberIds(memberIds);
+            memberDailyTotalRepository.deleteByMemberIds(memberIds);
+            List<Statistics> rows = new ArrayList<>();
+            for (MemberRuns memberRuns : partition) {
+                memberRuns.buckets.forEach((bucket, values) -> rows.add(Statistics.builder()
+                        .member(memberRepository.getReferenceById(memberRuns.memberId))
+                        .statisticsType(bucket.statisticsType)
+                        .time(bucket.statisticsType == StatisticsType.Totally ? null : new Timestamp(bucket.start))
+                        .distance(values[0])
+                        .totalSeconds(values[1])
+                        .energy(values[2])
+                        .count((int) values[3])
+                        .build()));
+            }
+            statisticsRepository.saveAll(rows);
+        });
+    }
+
+    private boolean same(double[] before, double[] after) {
+        for (int i = 0; i < 3; i++) {
+            if (Math.abs(before[i] - after[i]) > EPSILON * Math.max(1, Math.abs(after[i]))) return false;
+        }
+        return before[3] == after[3];
+    }
+
+    private String sample(Long memberId, Bucket bucket, double[] before, double[] after) {
+        return "member=" + memberId + " " + bucket.statisticsType
+                + (bucket.statisticsType == StatisticsType.Totally ? "" : " " + new Timestamp(bucket.start))
+                + " " + (before == null ? "-" : Arrays.toString(before))
+                + " -> " + (after == null ? "-" : Arrays.toString(after));
+    }
+
+    /**
+     * 파티션의 멤버들을 반씩 나눠서 멤버별 기간 합계를 계산한다
+     */
+    private class AggregateTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<MemberRuns> members;
+        private final int from;
+        private final int to;
+
+        private AggregateTask(List<MemberRuns> members, int from, int to) {
+            this.members = members;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= MEMBER_THRESHOLD) {
+                for (int i = from; i < to; i++) aggregate(members.get(i));
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new AggregateTask(members, from, middle), new AggregateTask(members, middle, to));
+        }
+
+        private void aggregate(MemberRuns memberRuns) {
+            for (int i = 0; i < memberRuns.size; i++) {
+                Timestamp startTime = new Timestamp(memberRuns.startMillis[i]);
+                for (StatisticsType statisticsType : PERIOD_TYPES) {
+                    long start = statisticsService.getCalendarStart(startTime, statisticsType).getTimeInMillis();
+                    memberRuns.add(new Bucket(statisticsType, start), i);
+                }
+                memberRuns.add(new Bucket(StatisticsType.Totally, 0), i);
+            }
+        }
+    }
+
+    /**
+     * 멤버 한명의 러닝 기록 (스트리밍 중에 채우고, 계산 후에는 기간별 합계를 가진다)
+     */
+    private static class MemberRuns {
+        private final long memberId;
+        private long[] startMillis = new long[8];
+        private double[] distance = new double[8];
+        private double[] duration = new double[8];
+        private double[] energy = new double[8];
+        private int size;
+        private final Map<Bucket, double[]> buckets = new HashMap<>();
+
+        private MemberRuns(long memberId) {
+            this.memberId = memberId;
+        }
+
+        private void add(long startMillis, double distance, double duration, double energy) {
+            if (size == this.startMillis.length) {
+                int capacity = size * 2;
+                this.startMillis = Arrays.copyOf(this.startMillis, capacity);
+                this.distance = Arrays.copyOf(this.distance, capacity);
+                this.duration = Arrays.copyOf(this.duration, capacity);
+                this.energy = Arrays.copyOf(this.energy, capacity);
+            }
+            this.startMillis[size] = startMillis;
+            this.distance[size] = distance;
+            this.duration[size] = duration;
+            this.energy[size] = energy;
+            size++;
+        }
+
+        private void add(Bucket bucket, int index) {
+            double[] values = buckets.computeIfAbsent(bucket, key -> new double[4]);
+            values[0] += distance[index];
+            values[1] += duration[index];
+            values[2] += energy[index];
+            values[3]++;
+        }
+    }
+
+    private static class Bucket {
+        private final StatisticsType statisticsType;
+        private final long start;
+
+        private Bucket(StatisticsType statisticsType, long start) {
+            this.statisticsType = statisticsType;
+            this.start = start;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Bucket)) return false;
+            Bucket bucket = (Bucket) o;
+            return start == bucket.start && statisticsType == bucket.statisticsType;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(statisticsType, start);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package sprint.server.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sprint.server.controller.datatransferobject.response.RangeStatisticsResponse;
+import sprint.server.controller.exception.ApiException;
+import sprint.server.controller.exception.ExceptionEnum;
+import sprint.server.domain.Running;
+import sprint.server.domain.statistics.MemberDailyTotal;
+import sprint.server.domain.statistics.MemberDailyTotalId;
+import sprint.server.event.SeriesRunningFinishedHandler;
+import sprint.server.repository.MemberDailyTotalRepository;
+import sprint.server.repository.MemberRepository;
+import sprint.server.repository.RunningRepository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 하루 단위 누적 기록(MemberDailyTotal)으로 임의 기간의 통계를 계산한다
+ * 기간 합계는 누적 기록 두 행의 차이이므로 기록 길이와 상관없이 조회 비용이 일정하다
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StatisticsSeriesService {
+
+    private final MemberRepository memberRepository;
+    private final RunningRepository runningRepository;
+    private final MemberDailyTotalRepository memberDailyTotalRepository;
+
+    /**
+     * 종료된 러닝을 누적 기록에 더한다
+     * 누적 기록이 아직 없는 멤버는 이 러닝을 포함한 기존 러닝 기록으로 새로 만든다
+     */
+    @Transactional
+    public void addRunning(Running running) {
+        Long memberId = running.getMember().getId();
+        memberRepository.findWithLockById(memberId);
+        if (!memberDailyTotalRepository.existsByMemberId(memberId)) {
+            createSeries(memberId, running.getId());
+            return;
+        }
+        LocalDate day = running.getStartTime().toLocalDateTime().toLocalDate();
+        if (!memberDailyTotalRepository.existsById(new MemberDailyTotalId(memberId, day))) {
+            MemberDailyTotal previous = memberDailyTotalRepository
+                    .findTopByMemberIdAndDayLessThanEqualOrderByDayDesc(memberId, day.minusDays(1)).orElse(null);
+            memberDailyTotalRepository.save(new MemberDailyTotal(memberId, day, previous));
+        }
+        memberDailyTotalRepository.addRunning(memberId, day, running.getDistance(), running.getDuration(), running.getEnergy());
+    }
+
+    /**
+     * 누적 기록이 없는 멤버(러닝 기록이 없거나 누적 기록 도입 전에 뛴 멤버)는 잠그거나 저장하지 않고 러닝 기록으로 바로 계산한다
+     * 이런 멤버의 누적 기록은 다음 러닝이 끝날 때 addRunning 에서 만들어진다
+     * @return from 부터 to 까지(양 끝 포함)의 거리, 시간, 칼로리, 러닝 횟수 합계
+     */
+    @Transactional(readOnly = true)
+    public RangeStatisticsResponse findRange(Long memberId, LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new ApiException(ExceptionEnum.STATISTICS_INVALID_RANGE);
+        }
+        if (!memberDailyTotalRepository.existsByMemberId(memberId)) {
+            List<MemberDailyTotal> series = buildSeries(memberId, null);
+            return range(memberId, from, to, lastUntil(series, to), lastUntil(series, from.minusDays(1)));
+        }
+        MemberDailyTotal end = memberDailyTotalRepository
+                .findTopByMemberIdAndDayLessThanEqualOrderByDayDesc(memberId, to).orElse(null);
+        MemberDailyTotal start = memberDailyTotalRepository
+                .findTopByMemberIdAndDayLessThanEqualOrderByDayDesc(memberId, from.minusDays(1)).orElse(null);
+        return range(memberId, from, to, end, start);
+    }
+
+    private static RangeStatisticsResponse range(Long memberId, LocalDate from, LocalDate to,
+                                                 MemberDailyTotal end, MemberDailyTotal start) {
+        if (end == null) return new RangeStatisticsResponse(from, to, 0, 0, 0, 0);
+        if (start == null) start = new MemberDailyTotal(memberId, from.minusDays(1), null);
+        return new RangeStatisticsResponse(from, to,
+                end.getDistance() - start.getDistance(),
+                end.getTotalSeconds() - start.getTotalSeconds(),
+                end.getEnergy() - start.getEnergy(),
+                end.getCount() - start.getCount());
+    }
+
+    /**
+     * @return 날짜 순서인 series 에서 day 이전(day 포함)의 마지막 행, 없으면 null
+     */
+    private static MemberDailyTotal lastUntil(List<MemberDailyTotal> series, LocalDate day) {
+        MemberDailyTotal result = null;
+        for (MemberDailyTotal total : series) {
+            if (total.getDay().isAfter(day)) break;
+            result = total;
+        }
+        return result;
+    }
+
+    /**
+     * 멤버의 러닝 기록을 날짜 순서로 누적해서 러닝한 날마다 한 행씩 저장한다
+     * @param runningId 지금 처리중인 러닝 (후처리가 끝나지 않았어도 포함한다)
+     */
+    private void createSeries(Long memberId, Long runningId) {
+        List<MemberDailyTotal> series = buildSeries(memberId, runningId);
+        memberDailyTotalRepository.saveAll(series);
+        log.info("member {} daily series created : {} days", memberId, series.size());
+    }
+
+    private List<MemberDailyTotal> buildSeries(Long memberId, Long runningId) {
+        List<Running> runnings = runningRepository.findFinishedRunnings(memberId, runningId, SeriesRunningFinishedHandler.NAME);
+        List<MemberDailyTotal> series = new ArrayList<>();
+        MemberDailyTotal last = null;
+        for (Running running : runnings) {
+            LocalDate day = running.getStartTime().toLocalDateTime().toLocalDate();
+            if (last == null || !last.getDay().equals(day)) {
+                last = new MemberDailyTotal(memberId, day, last);
+                series.add(last);
+            }
+            last.add(running.getDistance(), running.getDuration(), running.getEnergy(), 1);
+        }
+        return series;
+    }
+}
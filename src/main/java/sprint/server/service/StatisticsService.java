@@ -5,19 +5,30 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import sprint.server.cache.StatisticsCache;
 import sprint.server.controller.datatransferobject.response.StatisticsInfoVO;
+import sprint.server.controller.datatransferobject.response.StreakResponse;
 import sprint.server.domain.Running;
 import sprint.server.domain.member.Member;
+import sprint.server.domain.statistics.MemberActivity;
 import sprint.server.domain.statistics.Statistics;
 import sprint.server.domain.statistics.StatisticsType;
+import sprint.server.repository.MemberActivityRepository;
 import sprint.server.repository.MemberRepository;
 import sprint.server.repository.StatisticsRepository;
 
 import java.sql.Timestamp;
 import java.text.SimpleDateFormat;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -25,54 +36,84 @@ import java.util.List;
 public class StatisticsService {
     private final MemberRepository memberRepository;
     private final StatisticsRepository statisticsRepository;
+    private final MemberActivityRepository memberActivityRepository;
+    private final StatisticsCache statisticsCache;
+    private final StatisticsAccumulator statisticsAccumulator;
 
+    /**
+     * 러닝 종료 후 일/주/월/년/전체 통계를 한번에 업데이트 한다
+     * 러닝이 속한 다섯 기간의 통계 행을 쿼리 한번으로 찾고(없는 기간은 기존 방식(findStatistics)으로 계산한 값으로 먼저 만든다),
+     * 더할 값은 StatisticsAccumulator 에 모았다가 update 쿼리로 한번에 반영한다
+     * 반영될때 outboxEventId 행도 같이 DONE 으로 바뀐다
+     */
     @Transactional
-    public Long createStatistics(Member member,Timestamp timestamp, StatisticsType statisticsType) {
-        Statistics statistics = Statistics.builder().build();
-        statistics.setMember(member);
-        statistics.setTime(timestamp);
-        statistics.setStatisticsType(statisticsType);
-        statisticsRepository.save(statistics);
-
-        return statistics.getId();
+    public void accumulateStatistics(Running running, Long outboxEventId) {
+        List<Long> ids = findRollupIds(running);
+        Long memberId = running.getMember().getId();
+        Timestamp startTime = running.getStartTime();
+        double distance = running.getDistance();
+        double duration = running.getDuration();
+        double energy = running.getEnergy();
+        Runnable accumulate = () -> statisticsAccumulator.add(ids, distance, duration, energy, outboxEventId,
+                () -> evict(memberId, startTime));
+        //새로 만든 통계 행이 커밋되기 전에 반영되지 않도록 커밋 후에 넘긴다
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            accumulate.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                accumulate.run();
+            }
+        });
     }
 
     /**
-     * 러닝 종료 후 통계를 업데이트 해준다
+     * 캐시를 거쳐 특정 날짜가 속한 기간의 통계를 조회한다 (그룹 상세처럼 같은 멤버의 통계를 반복해서 읽는 곳에서 사용)
      */
-    @Transactional
-    public void updateStatistics(Running running,StatisticsType statisticsType) {
-        Member member = running.getMember();
-        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
-        //러닝에 해당하는 주/월 첫날 정각시간 설정
-        Timestamp timeStart= Timestamp.valueOf(dateFormat.format(getCalendarStart(running.getStartTime(), statisticsType).getTime()));
-
-        //러닝에 해당하는 주/월 마지막날 밤 11:59:59:999 설정
-        Timestamp timeEnd= Timestamp.valueOf(dateFormat.format(getCalendarEnd(running.getStartTime(), statisticsType).getTime()));
-        Timestamp timeSection = Timestamp.valueOf(dateFormat.format(
-                getCalendarStart(new Timestamp(Calendar.getInstance().getTimeInMillis()),statisticsType).getTime()));
-
-        //만약 아직 업데이트 이전인 이번 주/월/년의 데이터가 들어왔다면 업데이트하지 않고 내버려둠
-        //이번 섹션지나고 나중에 한번에 업데이트 예정
-        if(statisticsType != StatisticsType.Daily && timeSection.getTime()<timeEnd.getTime()) return;
-
-        //그 이후 생성된 statistics를 찾는다
-        Statistics findStatistics = statisticsRepository.findByStatisticsTypeAndMemberIdAndTimeBetween(
-                statisticsType, memberRepository.findById(member.getId()).get().getId(), timeStart, timeEnd);
-
+    @Transactional(readOnly = true)
+    public StatisticsInfoVO findCachedStatistics(Long memberID, Calendar calendar, StatisticsType statisticsType) {
+        Timestamp timestamp = new Timestamp(calendar.getTimeInMillis());
+        return statisticsCache.get(memberID, statisticsType, bucketOf(timestamp, statisticsType), () -> {
+            List<Statistics> statistics = statisticsType == StatisticsType.Totally
+                    ? statisticsRepository.findByStatisticsTypeAndMemberId(statisticsType, memberID)
+                    : statisticsRepository.findAllByStatisticsTypeAndMemberIdAndTimeBetween(statisticsType, memberID,
+                    startOf(timestamp, statisticsType), endOf(timestamp, statisticsType));
+            return statistics.isEmpty() ? findStatistics(memberID, calendar, statisticsType) : toInfo(statistics.get(0));
+        });
+    }
 
-        //만약 존재하지 않으면
-        if(findStatistics == null) {
-            long id = createStatistics(member,running.getStartTime(),statisticsType);
-            findStatistics = statisticsRepository.findById(id).get();
+    /**
+     * 특정 날짜가 속한 일/주/월/년/전체 통계를 한번에 조회한다
+     * 캐시에 없으면 다섯 기간을 집계 쿼리 한번(sumRollups)으로 읽고, 통계 행이 없는 멤버이거나 중복된 기간이 있을때만 기존 방식으로 계산한다
+     */
+    @Transactional(readOnly = true)
+    public Map<StatisticsType, StatisticsInfoVO> findAllStatistics(Long memberID, Calendar calendar) {
+        Timestamp timestamp = new Timestamp(calendar.getTimeInMillis());
+        Map<StatisticsType, StatisticsInfoVO> result = new EnumMap<>(StatisticsType.class);
+        for (StatisticsType statisticsType : StatisticsType.values()) {
+            StatisticsInfoVO cached = statisticsCache.getIfPresent(memberID, statisticsType, bucketOf(timestamp, statisticsType));
+            if (cached == null) break;
+            result.put(statisticsType, cached);
         }
-
-        findStatistics.setDistance(findStatistics.getDistance()+running.getDistance());
-        findStatistics.setCount(findStatistics.getCount()+1);
-        findStatistics.setTotalSeconds(findStatistics.getTotalSeconds()+ running.getDuration());
-        findStatistics.setEnergy(findStatistics.getEnergy()+running.getEnergy());
-
-
+        if (result.size() == StatisticsType.values().length) return result;
+
+        long version = statisticsCache.version();
+        Map<StatisticsType, StatisticsInfoVO> sums = sumRollups(memberID, timestamp);
+        Map<StatisticsType, Statistics> rollups = sums == null ? findRollups(memberID, timestamp) : null;
+        for (StatisticsType statisticsType : StatisticsType.values()) {
+            StatisticsInfoVO statisticsInfoVO;
+            if (sums != null) {
+                statisticsInfoVO = sums.get(statisticsType);
+            } else {
+                Statistics statistics = rollups.get(statisticsType);
+                statisticsInfoVO = statistics != null ? toInfo(statistics) : findStatistics(memberID, calendar, statisticsType);
+            }
+            result.put(statisticsType, statisticsInfoVO);
+            statisticsCache.put(memberID, statisticsType, bucketOf(timestamp, statisticsType), statisticsInfoVO, version);
+        }
+        return result;
     }
 
     @Transactional
@@ -215,32 +256,209 @@ public class StatisticsService {
      * @param calendar 특정 날짜
      * @return 특정 멤버의 월별 스트릭 정보
      */
-    @Transactional
+    @Transactional(readOnly = true)
     public List<Double> findMonthlyStreak(Long memberID, Calendar calendar) {
+        LocalDate month = LocalDate.of(calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH) + 1, 1);
+        return toList(findDailyDistances(memberID, month, month.plusMonths(1)));
+    }
 
-        List<Double> monthlyStreak = new ArrayList<>();
-        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
+    /**
+     * @return 특정 해의 월별 스트릭 정보 12개 (쿼리 한번으로 조회)
+     */
+    @Transactional(readOnly = true)
+    public List<List<Double>> findYearlyStreak(Long memberID, int year) {
+        LocalDate start = LocalDate.of(year, 1, 1);
+        double[] distances = findDailyDistances(memberID, start, start.plusYears(1));
+        List<List<Double>> yearlyStreak = new ArrayList<>(12);
+        for (LocalDate month = start; month.getYear() == year; month = month.plusMonths(1)) {
+            int from = month.getDayOfYear() - 1;
+            yearlyStreak.add(toList(Arrays.copyOfRange(distances, from, from + month.lengthOfMonth())));
+        }
+        return yearlyStreak;
+    }
 
-        //들어온 시간이 포함된 달의 첫날로 시간설정
-        calendar.set(Calendar.DAY_OF_MONTH, 1);
-        Calendar startTime = getCalendarStart(Timestamp.valueOf(dateFormat.format(calendar.getTime())),StatisticsType.Daily);
-        Calendar endTime = getCalendarEnd(Timestamp.valueOf(dateFormat.format(calendar.getTime())),StatisticsType.Daily);
+    /**
+     * 러닝한 날짜를 멤버의 러닝 날짜 비트맵에 표시한다
+     */
+    @Transactional
+    public void markActivity(Running running) {
+        Long memberId = running.getMember().getId();
+        memberRepository.findWithLockById(memberId);
+        MemberActivity memberActivity = memberActivityRepository.findById(memberId)
+                .orElseGet(() -> createActivity(memberId));
+        memberActivity.mark(running.getStartTime().toLocalDateTime().toLocalDate());
+        memberActivityRepository.save(memberActivity);
+    }
 
-        for(int i =0; i<calendar.getActualMaximum(Calendar.DAY_OF_MONTH); i++){
-            Statistics dailyStatistics = statisticsRepository.findByStatisticsTypeAndMemberIdAndTimeBetween(StatisticsType.Daily, memberID,
-                    Timestamp.valueOf(dateFormat.format(startTime.getTime())),
-                    Timestamp.valueOf(dateFormat.format(endTime.getTime())));
+    /**
+     * @return 오늘까지 이어진 연속 기록과 최장 연속 기록
+     */
+    @Transactional(readOnly = true)
+    public StreakResponse findStreak(Long memberID) {
+        MemberActivity memberActivity = memberActivityRepository.findById(memberID)
+                .orElseGet(() -> createActivity(memberID));
+        return new StreakResponse(memberActivity.currentStreak(LocalDate.now()), memberActivity.longestStreak());
+    }
 
-            if(dailyStatistics == null)monthlyStreak.add(0.0);
-            else monthlyStreak.add(dailyStatistics.getDistance());
+    //내부 로직
 
-            startTime.roll(Calendar.DATE,1);
-            endTime.roll(Calendar.DATE,1);
+    /**
+     * @return from 부터 to 전날까지 하루 단위 거리 (일별 통계 범위 쿼리 한번)
+     */
+    private double[] findDailyDistances(Long memberID, LocalDate from, LocalDate to) {
+        double[] distances = new double[(int) (to.toEpochDay() - from.toEpochDay())];
+        List<Statistics> dailyStatistics = statisticsRepository.findAllByStatisticsTypeAndMemberIdAndTimeBetween(
+                StatisticsType.Daily, memberID,
+                Timestamp.valueOf(from.atStartOfDay()), Timestamp.valueOf(to.atStartOfDay().minusNanos(1_000_000)));
+        for (Statistics statistics : dailyStatistics) {
+            long day = statistics.getTime().toLocalDateTime().toLocalDate().toEpochDay() - from.toEpochDay();
+            distances[(int) day] += statistics.getDistance();
         }
-        return monthlyStreak;
+        return distances;
     }
 
-    //내부 로직
+    /**
+     * 러닝 날짜 비트맵이 아직 없으면 기존 일별 통계로 채운다
+     */
+    private MemberActivity createActivity(Long memberID) {
+        MemberActivity memberActivity = new MemberActivity(memberID);
+        for (Statistics statistics : statisticsRepository.findByStatisticsTypeAndMemberId(StatisticsType.Daily, memberID)) {
+            if (statistics.getCount() > 0 || statistics.getDistance() > 0) {
+                memberActivity.mark(statistics.getTime().toLocalDateTime().toLocalDate());
+            }
+        }
+        return memberActivity;
+    }
+
+    private List<Double> toList(double[] values) {
+        return Arrays.stream(values).boxed().collect(Collectors.toList());
+    }
+
+    /**
+     * @return 러닝이 속한 다섯 기간의 통계 행 아이디 (없는 행은 만든다)
+     */
+    private List<Long> findRollupIds(Running running) {
+        Long memberId = running.getMember().getId();
+        Map<StatisticsType, Statistics> rollups = findRollups(memberId, running.getStartTime());
+        if (rollups.size() < StatisticsType.values().length) {
+            //같은 멤버의 러닝이 동시에 끝나도 행이 두번 만들어지지 않도록 멤버 행을 잠그고 다시 찾는다
+            //잠금 읽기로 다시 찾아야 기다리는 동안 커밋된 행(다른 러닝 종료, 통계 배치)이 보인다
+            Member member = memberRepository.findWithLockById(memberId).get();
+            Timestamp startTime = running.getStartTime();
+            rollups = toRollups(statisticsRepository.findRollupsForShare(memberId,
+                    startOf(startTime, StatisticsType.Daily), endOf(startTime, StatisticsType.Daily),
+                    startOf(startTime, StatisticsType.Weekly), endOf(startTime, StatisticsType.Weekly),
+                    startOf(startTime, StatisticsType.Monthly), endOf(startTime, StatisticsType.Monthly),
+                    startOf(startTime, StatisticsType.Yearly), endOf(startTime, StatisticsType.Yearly)));
+            createRollups(member, startTime, rollups);
+        }
+        return rollups.values().stream().map(Statistics::getId).collect(Collectors.toList());
+    }
+
+    /**
+     * 다섯 기간의 통계를 집계 쿼리 한번으로 읽는다
+     * 러닝이 끝나면 다섯 기간의 행이 모두 만들어지므로, 전체 통계 행이 있는 멤버는 행이 없는 기간(쉬는 날 등)을 0 으로 본다
+     * @return 전체 통계 행이 없는 멤버(통계 행으로 옮겨지지 않은 멤버)이거나 중복된 기간이 있으면 null (기존 방식으로 계산한다)
+     */
+    private Map<StatisticsType, StatisticsInfoVO> sumRollups(Long memberID, Timestamp timestamp) {
+        List<StatisticsRepository.PeriodSum> sums = statisticsRepository.sumRollups(memberID,
+                startOf(timestamp, StatisticsType.Daily), endOf(timestamp, StatisticsType.Daily),
+                startOf(timestamp, StatisticsType.Weekly), endOf(timestamp, StatisticsType.Weekly),
+                startOf(timestamp, StatisticsType.Monthly), endOf(timestamp, StatisticsType.Monthly),
+                startOf(timestamp, StatisticsType.Yearly), endOf(timestamp, StatisticsType.Yearly));
+        Map<StatisticsType, StatisticsInfoVO> result = new EnumMap<>(StatisticsType.class);
+        for (StatisticsRepository.PeriodSum sum : sums) {
+            if (sum.getRowCount() > 1) return null;
+            result.put(sum.getStatisticsType(), StatisticsInfoVO.builder()
+                    .distance(sum.getDistance())
+                    .totalSeconds(sum.getTotalSeconds())
+                    .energy(sum.getEnergy())
+                    .build());
+        }
+        if (!result.containsKey(StatisticsType.Totally)) return null;
+        for (StatisticsType statisticsType : StatisticsType.values()) {
+            result.putIfAbsent(statisticsType, StatisticsInfoVO.builder().build());
+        }
+        return result;
+    }
+
+    /**
+     * @return 기준시간이 속한 일/주/월/년 통계 행과 전체 통계 행 (타입별로 먼저 만들어진 행)
+     */
+    private Map<StatisticsType, Statistics> findRollups(Long memberID, Timestamp timestamp) {
+        List<Statistics> statistics = statisticsRepository.findRollups(memberID,
+                startOf(timestamp, StatisticsType.Daily), endOf(timestamp, StatisticsType.Daily),
+                startOf(timestamp, StatisticsType.Weekly), endOf(timestamp, StatisticsType.Weekly),
+                startOf(timestamp, StatisticsType.Monthly), endOf(timestamp, StatisticsType.Monthly),
+                startOf(timestamp, StatisticsType.Yearly), endOf(timestamp, StatisticsType.Yearly));
+        return toRollups(statistics);
+    }
+
+    private static Map<StatisticsType, Statistics> toRollups(List<Statistics> statistics) {
+        Map<StatisticsType, Statistics> rollups = new EnumMap<>(StatisticsType.class);
+        for (Statistics statistic : statistics) {
+            rollups.putIfAbsent(statistic.getStatisticsType(), statistic);
+        }
+        return rollups;
+    }
+
+    /**
+     * 없는 기간의 통계 행을 만든다
+     * 새 행이 다른 기간 계산에 섞이지 않도록 값을 모두 계산한 다음에 저장한다
+     */
+    private void createRollups(Member member, Timestamp timestamp, Map<StatisticsType, Statistics> rollups) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTime(timestamp);
+        Map<StatisticsType, StatisticsInfoVO> initial = new EnumMap<>(StatisticsType.class);
+        for (StatisticsType statisticsType : StatisticsType.values()) {
+            if (rollups.containsKey(statisticsType)) continue;
+            initial.put(statisticsType, findStatistics(member.getId(), calendar, statisticsType));
+        }
+        List<Statistics> created = new ArrayList<>();
+        initial.forEach((statisticsType, statisticsInfoVO) -> {
+            Statistics statistics = Statistics.builder()
+                    .member(member)
+                    .distance(statisticsInfoVO.getDistance())
+                    .totalSeconds(statisticsInfoVO.getTotalSeconds())
+                    .energy(statisticsInfoVO.getEnergy())
+                    .time(statisticsType == StatisticsType.Totally ? null : startOf(timestamp, statisticsType))
+                    .statisticsType(statisticsType)
+                    .build();
+            created.add(statistics);
+            rollups.put(statisticsType, statistics);
+        });
+        statisticsRepository.saveAllAndFlush(created);
+    }
+
+    private void evict(Long memberID, Timestamp timestamp) {
+        for (StatisticsType statisticsType : StatisticsType.values()) {
+            statisticsCache.evict(memberID, statisticsType, bucketOf(timestamp, statisticsType));
+        }
+    }
+
+    /**
+     * @return 캐시 키로 쓰는 기간 시작시간 (전체 통계는 0)
+     */
+    private long bucketOf(Timestamp timestamp, StatisticsType statisticsType) {
+        if (statisticsType == StatisticsType.Totally) return 0;
+        return getCalendarStart(timestamp, statisticsType).getTimeInMillis();
+    }
+
+    private Timestamp startOf(Timestamp timestamp, StatisticsType statisticsType) {
+        return new Timestamp(getCalendarStart(timestamp, statisticsType).getTimeInMillis());
+    }
+
+    private Timestamp endOf(Timestamp timestamp, StatisticsType statisticsType) {
+        return new Timestamp(getCalendarEnd(timestamp, statisticsType).getTimeInMillis());
+    }
+
+    private StatisticsInfoVO toInfo(Statistics statistics) {
+        return StatisticsInfoVO.builder()
+                .distance(statistics.getDistance())
+                .totalSeconds(statistics.getTotalSeconds())
+                .energy(statistics.getEnergy())
+                .build();
+    }
 
     /**
      *
@@ -307,52 +525,4 @@ public class StatisticsService {
     }
 
 
-    /**주기적으로 통계 저장**/
-    public void savePreviousStatistics(StatisticsType statisticsType) {
-        Calendar calendar = Calendar.getInstance();
-        calendar.add(Calendar.DATE, -1);
-        List<Member> members = memberRepository.findAll();
-
-        //시작 시간 설정
-        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
-        Timestamp timeStart = Timestamp.valueOf(dateFormat.format(
-                getCalendarStart(new Timestamp(calendar.getTimeInMillis()), statisticsType).getTime()));
-
-        Timestamp timeEnd = Timestamp.valueOf(dateFormat.format(
-                getCalendarEnd(new Timestamp(calendar.getTimeInMillis()), statisticsType).getTime()));
-
-        Calendar start = Calendar.getInstance();
-        start.setTimeInMillis(timeStart.getTime());
-        Calendar end = Calendar.getInstance();
-        start.setTimeInMillis(timeEnd.getTime());
-        //전체 멤버에 대해서
-        for (Member member : members) {
-
-            StatisticsInfoVO statisticsInfoVO = findStatistics(member.getId(), calendar,statisticsType);
-            Statistics findStatistic = statisticsRepository.findByStatisticsTypeAndMemberIdAndTimeBetween(
-                    StatisticsType.Weekly, memberRepository.findById(member.getId()).get().getId(), timeStart, timeEnd);
-            log.info("calendarStart:"+start.getTime()+" calendarEnd"+end.getTime()+" memberId"+member.getId());
-            //만약 기존 통계가 있으면 그걸 업데이트
-            if (findStatistic != null) {
-                findStatistic.setDistance(statisticsInfoVO.getDistance());
-                findStatistic.setTotalSeconds(statisticsInfoVO.getTotalSeconds());
-                findStatistic.setEnergy(statisticsInfoVO.getEnergy());
-                findStatistic.setTime(new Timestamp(calendar.getTimeInMillis()));
-                continue;
-            }
-            //없으면 새로 만듬
-            Statistics statistics = Statistics.builder()
-                    .member(member)
-                    .distance(statisticsInfoVO.getDistance())
-                    .totalSeconds(statisticsInfoVO.getTotalSeconds())
-                    .energy(statisticsInfoVO.getEnergy())
-                    .time(new Timestamp(calendar.getTimeInMillis()))
-                    .statisticsType(statisticsType)
-                    .build();
-            statisticsRepository.save(statistics);
-        }
-
-    }
-
-
 }
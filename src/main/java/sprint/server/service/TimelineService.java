@@ -0,0 +1,81 @@
+package sprint.server.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import sprint.server.domain.Running;
+import sprint.server.domain.friend.FriendState;
+import sprint.server.repository.FriendRepository;
+import sprint.server.repository.RunningRepository;
+import sprint.server.timeline.FriendTimelineStore;
+
+import java.util.Collections;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class TimelineService {
+
+    private final FriendTimelineStore friendTimelineStore;
+    private final FriendRepository friendRepository;
+    private final RunningRepository runningRepository;
+
+    /**
+     * 회원의 타임라인(본인 + 친구 러닝)을 최신순으로 가져오는 메소드
+     * 타임라인이 없으면 DB 로 한번 채우고, 타임라인에 남아있지 않은 오래된 러닝은 DB 에서 직접 가져온다
+     * @param memberId
+     * @param beforeRunningId 이전 응답의 마지막 runningId (null이면 가장 최근부터)
+     * @param size
+     * @return
+     */
+    @Transactional(readOnly = true)
+    public List<Running> fetchTimeline(Long memberId, Long beforeRunningId, int size){
+        if(!friendTimelineStore.exists(memberId)){
+            friendTimelineStore.rebuild(memberId, runningRepository.findIdsByMemberIds(
+                    findTimelineMemberIds(memberId), PageRequest.of(0, FriendTimelineStore.CAPACITY)));
+        }
+        List<Long> runningIds = friendTimelineStore.read(memberId, beforeRunningId, size);
+        if(runningIds.size() < size && friendTimelineStore.size(memberId) >= FriendTimelineStore.CAPACITY){
+            Long cursor = beforeRunningId == null ? Long.MAX_VALUE : beforeRunningId;
+            return runningRepository.findByMember_IdInAndIdLessThanOrderByIdDesc(
+                    findTimelineMemberIds(memberId), cursor, PageRequest.of(0, size)).getContent();
+        }
+        if(runningIds.isEmpty()) return Collections.emptyList();
+        return runningRepository.findByIdInOrderByIdDesc(runningIds);
+    }
+
+    /**
+     * 종료된 러닝을 본인과 친구들의 타임라인에 넣는 메소드
+     * @param memberId 러닝한 회원
+     * @param runningId
+     */
+    public void fanOut(Long memberId, Long runningId){
+        friendTimelineStore.push(findTimelineMemberIds(memberId), runningId);
+    }
+
+    /**
+     * 친구 관계가 바뀐 회원들의 타임라인을 트랜잭션 커밋 후 지우는 메소드 (다음 조회때 DB 로 다시 채워짐)
+     * @param memberIds
+     */
+    public void evictAfterCommit(Long... memberIds){
+        if(!TransactionSynchronizationManager.isSynchronizationActive()){
+            for(Long memberId : memberIds) friendTimelineStore.evict(memberId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                for(Long memberId : memberIds) friendTimelineStore.evict(memberId);
+            }
+        });
+    }
+
+    private List<Long> findTimelineMemberIds(Long memberId){
+        List<Long> memberIds = friendRepository.findFriendMemberIds(memberId, FriendState.ACCEPT);
+        memberIds.add(memberId);
+        return memberIds;
+    }
+}
@@ -0,0 +1,43 @@
+package sprint.server.timeline;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 회원별 친구 러닝 타임라인 (본인 + 친구들의 runningId, 최신순)
+ * 러닝 종료시 친구들의 타임라인에 runningId 를 넣어두고(fan-out-on-write), 피드 조회는 범위 읽기 한번으로 끝낸다
+ *
+ * 타임라인은 CAPACITY 개까지만 유지하며, 만들어진 적 없는 타임라인은 DB 로 다시 채운다 (TimelineService)
+ */
+public interface FriendTimelineStore {
+
+    int CAPACITY = 1000;
+
+    /**
+     * 타임라인이 만들어져 있는지 (비어있는 타임라인도 만들어진 것으로 본다)
+     */
+    boolean exists(Long memberId);
+
+    /**
+     * 타임라인을 주어진 runningId 들로 새로 만든다
+     */
+    void rebuild(Long memberId, Collection<Long> runningIds);
+
+    /**
+     * 여러 회원의 타임라인에 runningId 를 넣는다. 같은 runningId 가 다시 들어와도 한번만 저장된다
+     */
+    void push(Collection<Long> memberIds, Long runningId);
+
+    /**
+     * @param beforeRunningId 이 runningId 보다 작은 것만 (null 이면 가장 최근부터)
+     * @return runningId 목록 (최신순)
+     */
+    List<Long> read(Long memberId, Long beforeRunningId, int size);
+
+    /**
+     * @return 타임라인에 저장된 runningId 개수
+     */
+    int size(Long memberId);
+
+    void evict(Long memberId);
+}
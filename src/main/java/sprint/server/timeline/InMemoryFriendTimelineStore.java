@@ -0,0 +1,73 @@
+package sprint.server.timeline;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * 서버 메모리에 저장하는 타임라인 (기본값, 단일 서버 및 테스트용)
+ * 여러 서버에서 운영할 때는 sprint.timeline.store=redis 를 사용한다
+ */
+@Component
+@ConditionalOnProperty(name = "sprint.timeline.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryFriendTimelineStore implements FriendTimelineStore {
+
+    private final Map<Long, NavigableSet<Long>> timelines = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean exists(Long memberId) {
+        return timelines.containsKey(memberId);
+    }
+
+    @Override
+    public void rebuild(Long memberId, Collection<Long> runningIds) {
+        NavigableSet<Long> timeline = new ConcurrentSkipListSet<>(Comparator.reverseOrder());
+        timeline.addAll(runningIds);
+        trim(timeline);
+        timelines.put(memberId, timeline);
+    }
+
+    @Override
+    public void push(Collection<Long> memberIds, Long runningId) {
+        for (Long memberId : memberIds) {
+            NavigableSet<Long> timeline = timelines.get(memberId);
+            //만들어지지 않은 타임라인은 조회할때 DB 로 채워지므로 넣지 않는다
+            if (timeline == null) continue;
+            timeline.add(runningId);
+            trim(timeline);
+        }
+    }
+
+    @Override
+    public List<Long> read(Long memberId, Long beforeRunningId, int size) {
+        NavigableSet<Long> timeline = timelines.get(memberId);
+        if (timeline == null) return Collections.emptyList();
+        NavigableSet<Long> older = beforeRunningId == null ? timeline : timeline.tailSet(beforeRunningId, false);
+        List<Long> result = new ArrayList<>(size);
+        for (Long runningId : older) {
+            if (result.size() == size) break;
+            result.add(runningId);
+        }
+        return result;
+    }
+
+    @Override
+    public int size(Long memberId) {
+        NavigableSet<Long> timeline = timelines.get(memberId);
+        return timeline == null ? 0 : timeline.size();
+    }
+
+    @Override
+    public void evict(Long memberId) {
+        timelines.remove(memberId);
+    }
+
+    private static void trim(NavigableSet<Long> timeline) {
+        while (timeline.size() > CAPACITY) {
+            timeline.pollLast();
+        }
+    }
+}
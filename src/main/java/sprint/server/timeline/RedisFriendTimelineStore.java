@@ -0,0 +1,105 @@
+package sprint.server.timeline;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Redis sorted set 에 저장하는 타임라인 (sprint.timeline.store=redis)
+ *
+ * key : timeline:{memberId}, member/score : runningId
+ * 타임라인이 만들어졌는지 구분하기 위해 score 0 인 표시용 원소(CREATED)를 함께 저장한다
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "sprint.timeline.store", havingValue = "redis")
+public class RedisFriendTimelineStore implements FriendTimelineStore {
+
+    private static final String KEY_PREFIX = "timeline:";
+    private static final String CREATED = "0";
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Override
+    public boolean exists(Long memberId) {
+        return redisTemplate.opsForZSet().score(key(memberId), CREATED) != null;
+    }
+
+    @Override
+    public void rebuild(Long memberId, Collection<Long> runningIds) {
+        String key = key(memberId);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            stringConnection.del(key);
+            stringConnection.zAdd(key, 0, CREATED);
+            for (Long runningId : runningIds) {
+                stringConnection.zAdd(key, runningId, runningId.toString());
+            }
+            stringConnection.zRemRange(key, 1, -(CAPACITY + 1));
+            return null;
+        });
+    }
+
+    @Override
+    public void push(Collection<Long> memberIds, Long runningId) {
+        String value = runningId.toString();
+        List<Object> exists = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            for (Long memberId : memberIds) {
+                stringConnection.zScore(key(memberId), CREATED);
+            }
+            return null;
+        });
+        List<Long> targets = new ArrayList<>();
+        Iterator<Long> memberIterator = memberIds.iterator();
+        for (Object score : exists) {
+            Long memberId = memberIterator.next();
+            //만들어지지 않은 타임라인은 조회할때 DB 로 채워지므로 넣지 않는다
+            if (score != null) targets.add(memberId);
+        }
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            for (Long memberId : targets) {
+                String key = key(memberId);
+                stringConnection.zAdd(key, runningId, value);
+                //표시용 원소(rank 0)는 남기고 오래된 것부터 지운다
+                stringConnection.zRemRange(key, 1, -(CAPACITY + 1));
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public List<Long> read(Long memberId, Long beforeRunningId, int size) {
+        double max = beforeRunningId == null ? Double.POSITIVE_INFINITY : beforeRunningId - 1;
+        Set<ZSetOperations.TypedTuple<String>> tuples = redisTemplate.opsForZSet()
+                .reverseRangeByScoreWithScores(key(memberId), 1, max, 0, size);
+        if (tuples == null) return Collections.emptyList();
+        List<Long> result = new ArrayList<>(tuples.size());
+        for (ZSetOperations.TypedTuple<String> tuple : tuples) {
+            result.add(Long.valueOf(tuple.getValue()));
+        }
+        return result;
+    }
+
+    @Override
+    public int size(Long memberId) {
+        Long size = redisTemplate.opsForZSet().zCard(key(memberId));
+        return size == null || size == 0 ? 0 : (int) (size - 1);
+    }
+
+    @Override
+    public void evict(Long memberId) {
+        redisTemplate.delete(key(memberId));
+    }
+
+    private static String key(Long memberId) {
+        return KEY_PREFIX + memberId;
+    }
+}
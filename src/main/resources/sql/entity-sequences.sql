@@ -0,0 +1,30 @@
+-- 엔티티별 id 시퀀스 생성 (MariaDB 10.3 이상)
+-- 공용 hibernate_sequence 대신 엔티티마다 시퀀스를 두고 50개씩 할당한다 (@SequenceGenerator allocationSize 와 같아야 한다)
+-- 기존 id 와 겹치지 않도록 hibernate_sequence 의 다음 값부터 시작한다
+-- 배포 전에 한번 실행한다 (ddl-auto 로 만들어지면 1부터 시작하므로 기존 id 와 충돌한다)
+
+SET @next = (SELECT next_val FROM hibernate_sequence);
+
+SET @sql = CONCAT('CREATE SEQUENCE IF NOT EXISTS member_seq START WITH ', @next, ' INCREMENT BY 50');
+PREPARE stmt FROM @sql; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+SET @sql = CONCAT('CREATE SEQUENCE IF NOT EXISTS running_seq START WITH ', @next, ' INCREMENT BY 50');
+PREPARE stmt FROM @sql; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+SET @sql = CONCAT('CREATE SEQUENCE IF NOT EXISTS running_raw_data_seq START WITH ', @next, ' INCREMENT BY 50');
+PREPARE stmt FROM @sql; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+SET @sql = CONCAT('CREATE SEQUENCE IF NOT EXISTS statistics_seq START WITH ', @next, ' INCREMENT BY 50');
+PREPARE stmt FROM @sql; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+SET @sql = CONCAT('CREATE SEQUENCE IF NOT EXISTS user_match_seq START WITH ', @next, ' INCREMENT BY 50');
+PREPARE stmt FROM @sql; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+SET @sql = CONCAT('CREATE SEQUENCE IF NOT EXISTS groups_seq START WITH ', @next, ' INCREMENT BY 50');
+PREPARE stmt FROM @sql; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+SET @sql = CONCAT('CREATE SEQUENCE IF NOT EXISTS report_seq START WITH ', @next, ' INCREMENT BY 50');
+PREPARE stmt FROM @sql; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+SET @sql = CONCAT('CREATE SEQUENCE IF NOT EXISTS outbox_event_seq START WITH ', @next, ' INCREMENT BY 50');
+PREPARE stmt FROM @sql; EXECUTE stmt; DEALLOCATE PREPARE stmt;
@@ -0,0 +1,8 @@
+-- 매칭된 신청을 MATCH 로 바꾸는 매칭 엔진(MatchingEngine) 배포 전에 한번 실행한다
+-- 기존 매칭은 신청 상태를 바꾸지 않고 매번 WAIT 신청 전체를 매칭했으므로, 마지막 매칭 이전의 WAIT 신청은 이미 매칭된 신청이다
+-- match_status 는 ordinal 로 저장된다 (MATCH = 0, WAIT = 1)
+
+UPDATE user_match_apply
+SET match_status = 0
+WHERE match_status = 1
+  AND apply_time <= (SELECT max(match_time) FROM user_match);
@@ -0,0 +1,91 @@
+package sprint.server.cache;
+
+import org.junit.jupiter.api.Test;
+import sprint.server.controller.datatransferobject.response.StatisticsCacheMetricsResponse;
+import sprint.server.controller.datatransferobject.response.StatisticsInfoVO;
+import sprint.server.domain.statistics.StatisticsType;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatisticsCacheTest {
+
+    private static StatisticsInfoVO info(double distance) {
+        return StatisticsInfoVO.builder().distance(distance).build();
+    }
+
+    @Test
+    void 크기를_넘으면_오래_조회되지_않은_항목부터_내보낸다() {
+        //Given
+        StatisticsCache cache = new StatisticsCache(2);
+        cache.get(1L, StatisticsType.Weekly, 0, () -> info(1));
+        cache.get(2L, StatisticsType.Weekly, 0, () -> info(2));
+        cache.get(1L, StatisticsType.Weekly, 0, () -> info(-1));
+
+        //When
+        cache.get(3L, StatisticsType.Weekly, 0, () -> info(3));
+
+        //Then
+        assertEquals(1, cache.get(1L, StatisticsType.Weekly, 0, () -> info(-1)).getDistance());
+        assertNull(cache.getIfPresent(2L, StatisticsType.Weekly, 0));
+        StatisticsCacheMetricsResponse metrics = cache.getMetrics();
+        assertEquals(2, metrics.getSize());
+        assertEquals(2, metrics.getHits());
+        assertEquals(4, metrics.getMisses());
+        assertEquals(1, metrics.getEvictions());
+    }
+
+    @Test
+    void 조회중에_무효화되면_저장하지_않는다() {
+        //Given
+        StatisticsCache cache = new StatisticsCache(10);
+
+        //When
+        cache.get(1L, StatisticsType.Weekly, 0, () -> {
+            cache.evict(1L, StatisticsType.Weekly, 0);
+            return info(1);
+        });
+
+        //Then
+        assertNull(cache.getIfPresent(1L, StatisticsType.Weekly, 0));
+        assertEquals(2, cache.get(1L, StatisticsType.Weekly, 0, () -> info(2)).getDistance());
+        assertEquals(2, cache.getIfPresent(1L, StatisticsType.Weekly, 0).getDistance());
+    }
+
+    @Test
+    void 다른_키가_무효화되어도_조회한_값을_저장한다() {
+        //Given
+        StatisticsCache cache = new StatisticsCache(10);
+
+        //When 다른 멤버, 다른 기간의 러닝이 끝나서 무효화된다
+        cache.get(1L, StatisticsType.Weekly, 0, () -> {
+            cache.evict(2L, StatisticsType.Weekly, 0);
+            cache.evict(1L, StatisticsType.Weekly, 7);
+            return info(1);
+        });
+
+        //Then
+        assertEquals(1, cache.getIfPresent(1L, StatisticsType.Weekly, 0).getDistance());
+    }
+
+    @Test
+    void 무효화_기록을_잊어버리면_그_이전에_시작한_조회는_저장하지_않는다() {
+        //Given
+        StatisticsCache cache = new StatisticsCache(2);
+
+        //When 조회하는 동안 자기 키의 무효화 기록이 크기를 넘어서 밀려난다
+        cache.get(1L, StatisticsType.Weekly, 0, () -> {
+            cache.evict(1L, StatisticsType.Weekly, 0);
+            cache.evict(2L, StatisticsType.Weekly, 0);
+            cache.evict(3L, StatisticsType.Weekly, 0);
+            return info(1);
+        });
+        //전체를 지우기 전에 시작한 조회도 저장하지 않는다
+        long version = cache.version();
+        cache.clear();
+        cache.put(3L, StatisticsType.Weekly, 0, info(3), version);
+
+        //Then
+        assertNull(cache.getIfPresent(1L, StatisticsType.Weekly, 0));
+        assertNull(cache.getIfPresent(3L, StatisticsType.Weekly, 0));
+    }
+}
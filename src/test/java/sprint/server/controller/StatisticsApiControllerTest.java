@@ -12,9 +12,11 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 import sprint.server.domain.Running;
 import sprint.server.domain.member.Member;
+import sprint.server.domain.statistics.Statistics;
 import sprint.server.domain.statistics.StatisticsType;
 import sprint.server.repository.MemberRepository;
 import sprint.server.repository.RunningRepository;
+import sprint.server.repository.StatisticsRepository;
 import sprint.server.service.StatisticsService;
 
 
@@ -38,6 +40,7 @@ class StatisticsApiControllerTest {
 
     @Autowired private RunningRepository runningRepository;
     @Autowired private StatisticsService statisticsService;
+    @Autowired private StatisticsRepository statisticsRepository;
 
     @Autowired private MockMvc mvc;
 
@@ -54,9 +57,9 @@ class StatisticsApiControllerTest {
         running1.setDuration(12);
         running1.setMember(member);
         runningRepository.save(running1);
-        statisticsService.updateStatistics(running1, StatisticsType.Daily);
-        statisticsService.updateStatistics(running1, StatisticsType.Weekly);
-        statisticsService.updateStatistics(running1, StatisticsType.Monthly);
+        saveStatistics(running1, StatisticsType.Daily);
+        saveStatistics(running1, StatisticsType.Weekly);
+        saveStatistics(running1, StatisticsType.Monthly);
 
         Running running2 = new Running();
         running2.setStartTime(Timestamp.valueOf("2022-08-12 07:48:29.391"));
@@ -66,9 +69,9 @@ class StatisticsApiControllerTest {
         running2.setDuration(9);
         running2.setMember(member);
         runningRepository.save(running2);
-        statisticsService.updateStatistics(running2, StatisticsType.Daily);
-        statisticsService.updateStatistics(running2, StatisticsType.Weekly);
-        statisticsService.updateStatistics(running2, StatisticsType.Monthly);
+        saveStatistics(running2, StatisticsType.Daily);
+        saveStatistics(running2, StatisticsType.Weekly);
+        saveStatistics(running2, StatisticsType.Monthly);
 
         Running running3 = new Running();
         running3.setStartTime(Timestamp.valueOf("2021-08-01 07:48:29.391"));
@@ -78,9 +81,9 @@ class StatisticsApiControllerTest {
         running3.setDuration(10);
         running3.setMember(member);
         runningRepository.save(running3);
-        statisticsService.updateStatistics(running3, StatisticsType.Daily);
-        statisticsService.updateStatistics(running3, StatisticsType.Weekly);
-        statisticsService.updateStatistics(running3, StatisticsType.Monthly);
+        saveStatistics(running3, StatisticsType.Daily);
+        saveStatistics(running3, StatisticsType.Weekly);
+        saveStatistics(running3, StatisticsType.Monthly);
 
         //when
         String url = "/api/statistics/"+member.getId();
@@ -105,9 +108,9 @@ class StatisticsApiControllerTest {
         running1.setDuration(12);
         running1.setMember(member);
         runningRepository.save(running1);
-        statisticsService.updateStatistics(running1, StatisticsType.Daily);
-        statisticsService.updateStatistics(running1, StatisticsType.Weekly);
-        statisticsService.updateStatistics(running1, StatisticsType.Monthly);
+        saveStatistics(running1, StatisticsType.Daily);
+        saveStatistics(running1, StatisticsType.Weekly);
+        saveStatistics(running1, StatisticsType.Monthly);
 
         Running running2 = new Running();
         running2.setStartTime(Timestamp.valueOf("2022-08-12 07:48:29.391"));
@@ -117,9 +120,9 @@ class StatisticsApiControllerTest {
         running2.setDuration(9);
         running2.setMember(member);
         runningRepository.save(running2);
-        statisticsService.updateStatistics(running2, StatisticsType.Daily);
-        statisticsService.updateStatistics(running2, StatisticsType.Weekly);
-        statisticsService.updateStatistics(running2, StatisticsType.Monthly);
+        saveStatistics(running2, StatisticsType.Daily);
+        saveStatistics(running2, StatisticsType.Weekly);
+        saveStatistics(running2, StatisticsType.Monthly);
 
         List<Double> result = new ArrayList<>(Arrays.asList(new Double[]{12.323,0.0,0.0,0.0,0.0,0.0,0.0,0.0,0.0,0.0,0.0,15.23,0.0,0.0,0.0,0.0,0.0,0.0,0.0,0.0,0.0,0.0,0.0,0.0,0.0,0.0,0.0,0.0,0.0,0.0,0.0}));
         //when
@@ -131,4 +134,16 @@ class StatisticsApiControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").value(result));
     }
-}
\ No newline at end of file
+
+    private void saveStatistics(Running running, StatisticsType statisticsType) {
+        statisticsRepository.save(Statistics.builder()
+                .member(running.getMember())
+                .statisticsType(statisticsType)
+                .time(new Timestamp(statisticsService.getCalendarStart(running.getStartTime(), statisticsType).getTimeInMillis()))
+                .distance(running.getDistance())
+                .totalSeconds(running.getDuration())
+                .energy(running.getEnergy())
+                .count(1)
+                .build());
+    }
+}
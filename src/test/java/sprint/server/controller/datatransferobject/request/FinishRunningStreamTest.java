@@ -0,0 +1,42 @@
+package sprint.server.controller.datatransferobject.request;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import sprint.server.controller.exception.ApiException;
+import sprint.server.domain.track.TrackAccumulator;
+
+import java.io.IOException;
+
+class FinishRunningStreamTest {
+    private static final String POINT = "{\"latitude\":37.33028771,\"longitude\":-122.02810514,\"speed\":4.05,\"timestamp\":\"2022-08-02 07:48:26.382Z\"}";
+
+    private FinishRunningStream read(String runningData) throws IOException {
+        String json = "{\"userId\":1,\"runningId\":1,\"duration\":3,\"runningData\":" + runningData + "}";
+        try (JsonParser parser = new JsonFactory().createParser(json)) {
+            return FinishRunningStream.read(parser, new TrackAccumulator());
+        }
+    }
+
+    @Test
+    void 포인트_배열을_끝까지_읽는다() throws IOException {
+        //When
+        FinishRunningStream stream = read("[" + POINT + "," + POINT + "]");
+
+        //Then
+        Assertions.assertEquals(1L, stream.getUserId());
+        Assertions.assertEquals(1L, stream.getRunningId());
+    }
+
+    @Test
+    void 객체가_아닌_포인트가_있으면_예외를_던진다() {
+        for (String runningData : new String[]{"[" + POINT + ",1," + POINT + "]", "[" + POINT + ",\"x\"]", "[[" + POINT + "]]", "[null]"}) {
+            //When
+            ApiException thrown = Assertions.assertThrows(ApiException.class, () -> read(runningData), runningData);
+
+            //Then
+            Assertions.assertEquals("RN001", thrown.getErrorCode());
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package sprint.server.domain.statistics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MemberActivityTest {
+
+    @Test
+    void 연속_기록_계산() {
+        //Given
+        MemberActivity activity = new MemberActivity(1L);
+        LocalDate today = LocalDate.of(2022, 3, 10);
+        for (int i = 1; i <= 3; i++) activity.mark(today.minusDays(i));
+        //시작일보다 이전 기록이 나중에 들어오는 경우
+        for (int i = 10; i <= 14; i++) activity.mark(today.minusDays(i));
+
+        //Then
+        assertTrue(activity.isActive(today.minusDays(14)));
+        assertFalse(activity.isActive(today.minusDays(15)));
+        assertEquals(3, activity.currentStreak(today));
+        assertEquals(5, activity.longestStreak());
+
+        activity.mark(today);
+        assertEquals(4, activity.currentStreak(today));
+        assertEquals(0, activity.currentStreak(today.plusDays(2)));
+    }
+
+    @Test
+    void 기록이_없으면_0() {
+        MemberActivity activity = new MemberActivity(1L);
+        assertEquals(0, activity.currentStreak(LocalDate.now()));
+        assertEquals(0, activity.longestStreak());
+        assertFalse(activity.isActive(LocalDate.now()));
+    }
+}
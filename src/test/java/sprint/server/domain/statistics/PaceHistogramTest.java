@@ -0,0 +1,84 @@
+package sprint.server.domain.statistics;
+
+import org.junit.jupiter.api.Test;
+import sprint.server.domain.RunningRawData;
+import sprint.server.domain.track.DistanceKernel;
+import sprint.server.domain.track.TrackEncoder;
+import sprint.server.domain.track.TrackTimestamps;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaceHistogramTest {
+
+    private static final double DEGREES_PER_METER = 180 / (Math.PI * DistanceKernel.EARTH_RADIUS);
+
+    @Test
+    void 트랙으로_만든_히스토그램의_백분위() {
+        //Given 1km 를 초속 3m(333초/km), 이어서 1km 를 초속 2.5m(400초/km)로 북쪽으로 뛴다
+        TrackEncoder encoder = new TrackEncoder();
+        double latitude = 37.5;
+        long epochMillis = 1_660_000_000_000L;
+        encoder.add(latitude, 127.0, 0, epochMillis);
+        for (int i = 0; i < 1000; i++) {
+            double speed = i < 333 ? 3 : 2.5;
+            latitude += speed * DEGREES_PER_METER;
+            epochMillis += 1000;
+            encoder.add(latitude, 127.0, speed, epochMillis);
+        }
+
+        //When
+        PaceHistogram histogram = PaceHistogram.of(encoder.toByteArray());
+
+        //Then
+        assertEquals(1000 + 1667.5, histogram.getTotalDistance(), 5);
+        assertEquals(400, histogram.percentile(50), 400 * 0.02);
+        assertEquals(333.3, histogram.percentile(10), 333.3 * 0.02);
+        assertEquals(400, histogram.percentile(100), 400 * 0.02);
+    }
+
+    @Test
+    void 구간끼리_더해서_합친다() {
+        //Given
+        PaceHistogram first = new PaceHistogram();
+        first.add(300, 3000);
+        PaceHistogram second = new PaceHistogram();
+        second.add(360, 1000);
+        second.add(10_000, 500);
+
+        //When
+        first.merge(second);
+
+        //Then
+        assertEquals(4500, first.getTotalDistance());
+        assertEquals(300, first.percentile(50), 300 * 0.01);
+        assertEquals(360, first.percentile(80), 360 * 0.01);
+        //범위를 넘는 페이스는 마지막 구간에 들어간다
+        assertEquals(PaceHistogram.BUCKETS - 1, PaceHistogram.bucketOf(10_000));
+        assertEquals(0, PaceHistogram.bucketOf(60));
+        assertTrue(Double.isNaN(new PaceHistogram().percentile(50)));
+    }
+
+    @Test
+    void 로우데이터의_잘못된_timestamp_는_건너뛴다() {
+        //Given 초속 3m 로 북쪽으로 뛰는 로우데이터 중간에 timestamp 가 잘못된 포인트가 있다
+        List<RunningRawData> rawData = new ArrayList<>();
+        double latitude = 37.5;
+        long epochMillis = 1_660_000_000_000L;
+        for (int i = 0; i <= 100; i++) {
+            rawData.add(new RunningRawData(null, latitude, 127.0, 3, TrackTimestamps.toTimestampString(epochMillis)));
+            if (i == 50) rawData.add(new RunningRawData(null, latitude, 127.0, 3, "2022-08-02 07:xx:26.382Z"));
+            latitude += 3 * DEGREES_PER_METER;
+            epochMillis += 1000;
+        }
+
+        //When
+        PaceHistogram histogram = PaceHistogram.of(rawData);
+
+        //Then
+        assertEquals(300, histogram.getTotalDistance(), 5);
+        assertEquals(333.3, histogram.percentile(50), 333.3 * 0.02);
+    }
+}
@@ -0,0 +1,80 @@
+package sprint.server.domain.track;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+class DistanceKernelTest {
+
+    private static double legacyDistance(double startLongitude, double endLongitude, double startLatitude, double endLatitude) {
+        double dLat = Math.toRadians(endLatitude - startLatitude);
+        double dLon = Math.toRadians(endLongitude - startLongitude);
+        double a = Math.pow(Math.sin(dLat / 2), 2) +
+                Math.pow(Math.sin(dLon / 2), 2) *
+                        Math.cos(Math.toRadians(startLatitude)) *
+                        Math.cos(Math.toRadians(endLatitude));
+        return 6378137.0 * 2 * Math.asin(Math.sqrt(a));
+    }
+
+    private static double distance(DistanceKernel kernel, double startLatitude, double startLongitude,
+                                   double endLatitude, double endLongitude) {
+        double lat1 = DistanceKernel.toRadians(startLatitude);
+        double lat2 = DistanceKernel.toRadians(endLatitude);
+        return kernel.distance(lat1, DistanceKernel.toRadians(startLongitude), Math.cos(lat1),
+                lat2, DistanceKernel.toRadians(endLongitude), Math.cos(lat2));
+    }
+
+    @Test
+    void 거리_계산_오차_테스트() {
+        Random random = new Random(7);
+        for (int i = 0; i < 100000; i++) {
+            //Given 위도 ±80도, 1km 이하 구간
+            double latitude = (random.nextDouble() * 2 - 1) * 80;
+            double longitude = (random.nextDouble() * 2 - 1) * 179;
+            double endLatitude = latitude + (random.nextDouble() * 2 - 1) * 0.006;
+            double endLongitude = longitude + (random.nextDouble() * 2 - 1) * 0.006;
+
+            //When
+            double legacy = legacyDistance(longitude, endLongitude, latitude, endLatitude);
+            double haversine = distance(DistanceKernel.HAVERSINE, latitude, longitude, endLatitude, endLongitude);
+            double equirectangular = distance(DistanceKernel.EQUIRECTANGULAR, latitude, longitude, endLatitude, endLongitude);
+
+            //Then
+            Assertions.assertEquals(legacy, haversine, legacy * 1e-9 + 1e-9);
+            Assertions.assertEquals(legacy, equirectangular, legacy * 4e-8 + 1e-9);
+        }
+    }
+
+    @Test
+    void 날짜_변경선_테스트() {
+        double haversine = distance(DistanceKernel.HAVERSINE, 10, 179.9999, 10, -179.9999);
+        double equirectangular = distance(DistanceKernel.EQUIRECTANGULAR, 10, 179.9999, 10, -179.9999);
+
+        Assertions.assertEquals(haversine, equirectangular, 1e-6);
+        Assertions.assertTrue(haversine < 30);
+    }
+
+    @Test
+    void 배열_계산과_누적_계산_비교_테스트() {
+        //Given 1초 간격, 중간에 멈춘 구간 포함
+        int count = 1000;
+        double[] latitude = new double[count];
+        double[] longitude = new double[count];
+        long[] epochMillis = new long[count];
+        TrackAccumulator accumulator = new TrackAccumulator();
+        for (int i = 0; i < count; i++) {
+            latitude[i] = 37.33 + i * 0.00003;
+            longitude[i] = 127.02 + i * 0.00002;
+            epochMillis[i] = i * 1000L + (i >= 500 ? 10000 : 0);
+            accumulator.add(latitude[i], longitude[i], epochMillis[i]);
+        }
+
+        //When
+        double total = DistanceKernel.HAVERSINE.totalDistance(latitude, longitude, epochMillis, count);
+
+        //Then
+        Assertions.assertEquals(accumulator.getDistance(), total, 1e-6);
+        Assertions.assertEquals(1, accumulator.getPauseCount());
+    }
+}
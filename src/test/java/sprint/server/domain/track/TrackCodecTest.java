@@ -0,0 +1,118 @@
+package sprint.server.domain.track;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import sprint.server.domain.RunningRawData;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class TrackCodecTest {
+
+    @Test
+    void 트랙_인코딩_디코딩_테스트() {
+        //Given
+        List<RunningRawData> runningRawData = new ArrayList<>();
+        runningRawData.add(new RunningRawData(null, 37.33028771, -122.02810514, 4.05, "2022-08-02 07:48:26.382Z"));
+        runningRawData.add(new RunningRawData(null, 37.33028312, -122.02805328, 4.05, "2022-08-02 07:48:27.310Z"));
+        runningRawData.add(new RunningRawData(null, 37.33028179, -122.02799851, 4.21, "2022-08-02 07:48:28.280Z"));
+        runningRawData.add(new RunningRawData(null, 37.33027655, -122.02794361, -1, "2022-08-02 07:48:29.391Z"));
+
+        TrackEncoder encoder = new TrackEncoder();
+        runningRawData.forEach(encoder::add);
+
+        //When
+        byte[] data = encoder.toByteArray();
+        List<RunningRawData> result = TrackDecoder.decode(data);
+
+        //Then
+        Assertions.assertEquals(4, encoder.getPointCount());
+        Assertions.assertEquals(runningRawData.size(), result.size());
+        for (int i = 0; i < result.size(); i++) {
+            Assertions.assertEquals(runningRawData.get(i).getLatitude(), result.get(i).getLatitude(), 1e-7);
+            Assertions.assertEquals(runningRawData.get(i).getLongitude(), result.get(i).getLongitude(), 1e-7);
+            Assertions.assertEquals(runningRawData.get(i).getSpeed(), result.get(i).getSpeed(), 0.01);
+            Assertions.assertEquals(runningRawData.get(i).getTimestamp(), result.get(i).getTimestamp());
+        }
+    }
+
+    @Test
+    void 긴_트랙_압축_테스트() {
+        //Given 1초 간격 한시간 러닝
+        TrackEncoder encoder = new TrackEncoder();
+        long start = TrackTimestamps.toEpochMillis("2022-08-02 07:48:26.382Z");
+        for (int i = 0; i < 3600; i++) {
+            encoder.add(37.33 + i * 0.00003, -122.02 + i * 0.00002, 3 + (i % 10) * 0.1, start + i * 1000L);
+        }
+
+        //When
+        byte[] data = encoder.toByteArray();
+
+        //Then 포인트당 평균 4byte 미만
+        Assertions.assertTrue(data.length < 3600 * 4);
+        int count = 0;
+        try (TrackDecoder decoder = new TrackDecoder(data)) {
+            while (decoder.next()) {
+                Assertions.assertEquals(start + count * 1000L, decoder.getEpochMillis());
+                count++;
+            }
+        }
+        Assertions.assertEquals(3600, count);
+    }
+
+    @Test
+    void 세그먼트_이어붙이기_테스트() {
+        //Given 러닝 중 업로드된 청크 두개와 종료 요청의 나머지 포인트
+        long start = TrackTimestamps.toEpochMillis("2022-08-02 07:48:26.382Z");
+        List<RunningTrackChunk> chunks = new ArrayList<>();
+        TrackAccumulator progress = new TrackAccumulator();
+        TrackAccumulator whole = new TrackAccumulator();
+        int index = 0;
+        for (int sequence = 1; sequence <= 2; sequence++) {
+            TrackEncoder encoder = new TrackEncoder();
+            for (int i = 0; i < 100; i++, index++) {
+                encoder.add(37.33 + index * 0.00003, -122.02, 3, start + index * 1000L);
+                progress.add(37.33 + index * 0.00003, -122.02, start + index * 1000L);
+                whole.add(37.33 + index * 0.00003, -122.02, start + index * 1000L);
+            }
+            chunks.add(new RunningTrackChunk(1L, sequence, encoder));
+        }
+        TrackEncoder tail = new TrackEncoder();
+        TrackAccumulator tailAccumulator = new TrackAccumulator();
+        for (int i = 0; i < 50; i++, index++) {
+            tail.add(37.33 + index * 0.00003, -122.02, 3, start + index * 1000L);
+            tailAccumulator.add(37.33 + index * 0.00003, -122.02, start + index * 1000L);
+            whole.add(37.33 + index * 0.00003, -122.02, start + index * 1000L);
+        }
+
+        //When
+        RunningTrack track = new RunningTrack(1L, chunks, tail);
+        progress.append(tailAccumulator);
+
+        //Then
+        List<RunningRawData> result = TrackDecoder.decode(track.getData());
+        Assertions.assertEquals(250, track.getPointCount());
+        Assertions.assertEquals(250, result.size());
+        for (int i = 0; i < result.size(); i++) {
+            Assertions.assertEquals(37.33 + i * 0.00003, result.get(i).getLatitude(), 1e-7);
+            Assertions.assertEquals(TrackTimestamps.toTimestampString(start + i * 1000L), result.get(i).getTimestamp());
+        }
+        Assertions.assertEquals(whole.getDistance(), progress.getDistance(), 1e-6);
+        Assertions.assertEquals(whole.getElapsedSeconds(), progress.getElapsedSeconds());
+    }
+
+    @Test
+    void 타임스탬프_변환_테스트() {
+        Assertions.assertEquals(1659426506382L, TrackTimestamps.toEpochMillis("2022-08-02 07:48:26.382Z"));
+        Assertions.assertEquals(1659426506382L, TrackTimestamps.toEpochMillis("2022-08-02T07:48:26.382"));
+        Assertions.assertEquals(1659426506000L, TrackTimestamps.toEpochMillis("2022-08-02 07:48:26"));
+        Assertions.assertEquals("2022-08-02 07:48:26.382Z", TrackTimestamps.toTimestampString(1659426506382L));
+        Assertions.assertEquals("2024-02-29 00:00:00.000Z", TrackTimestamps.toTimestampString(TrackTimestamps.toEpochMillis("2024-02-29 00:00:00.000Z")));
+        //범위를 벗어나거나 구분자가 다르면 다른 날짜로 넘기지 않고 예외를 던진다
+        for (String invalid : new String[]{"2022-13-45 99:99:99", "2022-02-29 00:00:00", "2022-08-02 24:00:00",
+                "2022-08-02 07:60:00", "2022-08-02 07:48:60", "2022-00-02 07:48:26", "2022/08/02 07:48:26",
+                "2022-08-02_07:48:26", "2022-08-02 07.48.26"}) {
+            Assertions.assertThrows(IllegalArgumentException.class, () -> TrackTimestamps.toEpochMillis(invalid), invalid);
+        }
+    }
+}
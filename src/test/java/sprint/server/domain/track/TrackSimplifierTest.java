@@ -0,0 +1,58 @@
+package sprint.server.domain.track;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import sprint.server.domain.RunningRawData;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+class TrackSimplifierTest {
+
+    @Test
+    void 해상도별_트랙_단순화_테스트() {
+        //Given 1초 간격으로 약 3m씩 직선 두개를 달리는 트랙 + 1m 이하 GPS 흔들림
+        Random random = new Random(3);
+        TrackEncoder encoder = new TrackEncoder();
+        int count = 2000;
+        for (int i = 0; i < count; i++) {
+            double latitude = 37.5 + (i < 1000 ? i : 1000) * 0.000027 + (random.nextDouble() - 0.5) * 0.000008;
+            double longitude = 127.0 + (i < 1000 ? 0 : i - 1000) * 0.000034 + (random.nextDouble() - 0.5) * 0.000008;
+            encoder.add(latitude, longitude, 3, 1659426506382L + i * 1000L);
+        }
+        byte[] full = encoder.toByteArray();
+
+        //When
+        Map<TrackResolution, TrackEncoder> levels = TrackSimplifier.simplify(full);
+
+        //Then 해상도가 낮을수록 포인트가 줄어들고, 양 끝 포인트는 항상 남는다
+        Assertions.assertFalse(levels.containsKey(TrackResolution.FULL));
+        int high = levels.get(TrackResolution.HIGH).getPointCount();
+        int medium = levels.get(TrackResolution.MEDIUM).getPointCount();
+        int low = levels.get(TrackResolution.LOW).getPointCount();
+        Assertions.assertTrue(high < count / 2);
+        Assertions.assertTrue(medium <= high && low <= medium);
+        Assertions.assertTrue(low >= 3);
+
+        List<RunningRawData> original = TrackDecoder.decode(full);
+        List<RunningRawData> simplified = TrackDecoder.decode(levels.get(TrackResolution.LOW).toByteArray());
+        Assertions.assertEquals(original.get(0).getTimestamp(), simplified.get(0).getTimestamp());
+        Assertions.assertEquals(original.get(count - 1).getTimestamp(), simplified.get(simplified.size() - 1).getTimestamp());
+    }
+
+    @Test
+    void 출발점과_도착점이_같은_트랙_테스트() {
+        //Given 정사각형을 한바퀴 도는 트랙
+        double[] latitude = {37.5, 37.5, 37.501, 37.501, 37.5};
+        double[] longitude = {127.0, 127.001, 127.001, 127.0, 127.0};
+
+        //When
+        double[] significance = TrackSimplifier.significance(latitude, longitude, latitude.length);
+
+        //Then 모든 꼭짓점이 남는다
+        for (double value : significance) {
+            Assertions.assertTrue(value > TrackResolution.LOW.getTolerance());
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package sprint.server.domain.usermatch;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EloRatingTest {
+
+    @Test
+    void 순위가_높으면_오르고_합은_유지된다() {
+        //Given
+        double[] ratings = {1500, 1500, 1500, 1500, 1500};
+        int[] rankings = {1, 2, 3, 3, 5};
+
+        //When
+        double[] updated = EloRating.update(ratings, rankings);
+
+        //Then 같은 순위는 무승부
+        assertEquals(1500 + EloRating.K * 0.5, updated[0], 1e-9);
+        assertEquals(updated[2], updated[3], 1e-9);
+        assertEquals(1500 - EloRating.K * 0.5, updated[4], 1e-9);
+        double sum = 0;
+        for (double rating : updated) sum += rating;
+        assertEquals(7500, sum, 1e-9);
+    }
+
+    @Test
+    void 강한_상대를_이기면_더_많이_오른다() {
+        //When
+        double[] updated = EloRating.update(new double[]{1400, 1600}, new int[]{1, 2});
+
+        //Then
+        assertTrue(updated[0] - 1400 > EloRating.K / 2);
+        assertEquals(1500, EloRating.update(new double[]{1500}, new int[]{1})[0]);
+    }
+}
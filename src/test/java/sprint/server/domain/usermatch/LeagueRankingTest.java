@@ -0,0 +1,18 @@
+package sprint.server.domain.usermatch;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeagueRankingTest {
+
+    @Test
+    void 점수가_같으면_같은_순위를_준다() {
+        //When
+        int[] rankings = LeagueRanking.rank(new int[]{30, 50, 30, 10, 50});
+
+        //Then
+        assertArrayEquals(new int[]{3, 1, 3, 5, 1}, rankings);
+        assertArrayEquals(new int[]{1}, LeagueRanking.rank(new int[]{0}));
+    }
+}
@@ -0,0 +1,29 @@
+package sprint.server.domain.usermatch;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MemberLeagueCareerTest {
+
+    @Test
+    void 같은_리그는_한번만_반영한다() {
+        //Given
+        MemberLeagueCareer career = new MemberLeagueCareer(1L);
+        Timestamp firstLeague = Timestamp.valueOf("2022-08-03 04:00:00");
+        Timestamp secondLeague = Timestamp.valueOf("2022-08-10 04:00:00");
+
+        //When
+        assertTrue(career.record(4, firstLeague));
+        assertFalse(career.record(4, firstLeague));
+        assertTrue(career.record(2, secondLeague));
+
+        //Then
+        assertEquals(2, career.getLeagueCount());
+        assertEquals(2, career.getBestRanking());
+        assertEquals(1, career.getPodiumCount());
+        assertEquals(secondLeague, career.getLastMatchTime());
+    }
+}
@@ -0,0 +1,82 @@
+package sprint.server.domain.usermatch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TeamAssignerTest {
+
+    @Test
+    void 점수_내림차순으로_5명씩_나눈다() {
+        //Given
+        long[] memberIds = {1, 2, 3, 4, 5, 6, 7};
+        long[] scores = {10, 70, 30, 70, 50, 60, 20};
+
+        //When
+        int[] order = TeamAssigner.assign(memberIds, scores, memberIds.length);
+
+        //Then 같은 점수는 memberId 오름차순
+        long[] expected = {2, 4, 6, 5, 3, 7, 1};
+        for (int i = 0; i < order.length; i++) {
+            assertEquals(expected[i], memberIds[order[i]]);
+        }
+        assertEquals(2, TeamAssigner.teamCount(order.length));
+        //7명은 4명, 3명으로 나눈다
+        assertEquals(0, TeamAssigner.teamOf(3, order.length));
+        assertEquals(1, TeamAssigner.teamOf(4, order.length));
+        assertEquals(4, TeamAssigner.teamStart(1, order.length));
+        assertEquals(7, TeamAssigner.teamStart(2, order.length));
+    }
+
+    @Test
+    void 팀_인원은_많아야_1명_차이난다() {
+        for (int count = 1; count <= 200; count++) {
+            int[] sizes = new int[TeamAssigner.teamCount(count)];
+            for (int position = 0; position < count; position++) {
+                int team = TeamAssigner.teamOf(position, count);
+                assertTrue(position >= TeamAssigner.teamStart(team, count));
+                assertTrue(position < TeamAssigner.teamStart(team + 1, count));
+                sizes[team]++;
+            }
+            int min = Integer.MAX_VALUE;
+            int max = 0;
+            for (int size : sizes) {
+                min = Math.min(min, size);
+                max = Math.max(max, size);
+            }
+            assertTrue(max <= TeamAssigner.TEAM_SIZE);
+            assertTrue(max - min <= 1);
+        }
+    }
+
+    @Test
+    void 많은_신청자도_정렬된다() {
+        //Given
+        Random random = new Random(1);
+        int count = 100_000;
+        long[] memberIds = new long[count];
+        long[] scores = new long[count];
+        for (int i = 0; i < count; i++) {
+            memberIds[i] = i;
+            scores[i] = random.nextInt(1000);
+        }
+
+        //When
+        int[] order = TeamAssigner.assign(memberIds, scores, count);
+
+        //Then
+        boolean[] seen = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            assertFalse(seen[order[i]]);
+            seen[order[i]] = true;
+            if (i > 0) {
+                int previous = order[i - 1];
+                int current = order[i];
+                assertTrue(scores[previous] > scores[current]
+                        || scores[previous] == scores[current] && memberIds[previous] < memberIds[current]);
+            }
+        }
+    }
+}
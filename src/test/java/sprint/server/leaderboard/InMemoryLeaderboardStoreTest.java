@@ -0,0 +1,66 @@
+package sprint.server.leaderboard;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+class InMemoryLeaderboardStoreTest {
+
+    @Test
+    void 리더보드_갱신_순위_테스트() {
+        //Given
+        LeaderboardStore store = new InMemoryLeaderboardStore();
+        store.create("Weekly:2022-08-01", null);
+        store.update("Weekly:2022-08-01", Map.of(1L, 100.0, 2L, 300.0, 3L, 200.0));
+        //만들어지지 않은 리더보드는 갱신하지 않는다
+        store.update("Monthly:2022-08-01", Map.of(1L, 100.0));
+
+        //When 채우는 동안 들어온 더 큰 값은 유지된다
+        store.fill("Weekly:2022-08-01", Map.of(1L, 50.0, 4L, 250.0));
+        store.update("Weekly:2022-08-01", Map.of(1L, 400.0));
+
+        //Then
+        Assertions.assertEquals(Arrays.asList(1L, 2L, 4L, 3L), memberIds(store.top("Weekly:2022-08-01", 10)));
+        Assertions.assertEquals(Arrays.asList(4L, 3L), memberIds(store.range("Weekly:2022-08-01", 2, 5)));
+        LeaderboardEntry entry = store.find("Weekly:2022-08-01", 4L);
+        Assertions.assertEquals(2, entry.getRank());
+        Assertions.assertEquals(250.0, entry.getScore());
+        Assertions.assertNull(store.find("Weekly:2022-08-01", 5L));
+        Assertions.assertEquals(4, store.size("Weekly:2022-08-01"));
+        Assertions.assertFalse(store.exists("Monthly:2022-08-01"));
+        Assertions.assertEquals(Map.of(2L, 300.0), store.scores("Weekly:2022-08-01", Arrays.asList(2L, 5L)));
+    }
+
+    @Test
+    void 순위가_정렬한_결과와_같다() {
+        //Given
+        LeaderboardStore store = new InMemoryLeaderboardStore();
+        store.create("Totally", null);
+        Random random = new Random(7);
+        Map<Long, Double> expected = new HashMap<>();
+
+        //When 같은 점수를 포함해서 여러번 바꾼다
+        for (int i = 0; i < 5000; i++) {
+            long memberId = random.nextInt(1000);
+            double score = random.nextInt(300);
+            expected.put(memberId, score);
+            store.update("Totally", Map.of(memberId, score));
+        }
+
+        //Then
+        List<Long> sorted = expected.entrySet().stream()
+                .sorted(Comparator.<Map.Entry<Long, Double>>comparingDouble(e -> -e.getValue()).thenComparing(Map.Entry::getKey))
+                .map(Map.Entry::getKey).collect(Collectors.toList());
+        Assertions.assertEquals(sorted, memberIds(store.top("Totally", sorted.size())));
+        for (int rank = 0; rank < sorted.size(); rank += 37) {
+            Assertions.assertEquals(rank, store.find("Totally", sorted.get(rank)).getRank());
+            Assertions.assertEquals(sorted.get(rank), store.range("Totally", rank, 1).get(0).getMemberId());
+        }
+    }
+
+    private static List<Long> memberIds(List<LeaderboardEntry> entries) {
+        return entries.stream().map(LeaderboardEntry::getMemberId).collect(Collectors.toList());
+    }
+}
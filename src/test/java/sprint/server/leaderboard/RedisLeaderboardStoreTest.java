@@ -0,0 +1,28 @@
+package sprint.server.leaderboard;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+class RedisLeaderboardStoreTest {
+
+    @Test
+    void 같은_점수는_메모리_리더보드와_같이_memberId_오름차순이다() {
+        //Given
+        List<Long> memberIds = Arrays.asList(10L, 9L, 1L, 100L, 2L, Long.MAX_VALUE, 0L);
+
+        //When ZREVRANGE 는 같은 점수를 member 문자열 내림차순으로 정렬한다
+        List<Long> sorted = memberIds.stream()
+                .map(RedisLeaderboardStore::member)
+                .sorted(Comparator.reverseOrder())
+                .map(RedisLeaderboardStore::memberId)
+                .collect(Collectors.toList());
+
+        //Then
+        Assertions.assertEquals(Arrays.asList(0L, 1L, 2L, 9L, 10L, 100L, Long.MAX_VALUE), sorted);
+    }
+}
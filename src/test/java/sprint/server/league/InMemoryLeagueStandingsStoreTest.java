@@ -0,0 +1,71 @@
+package sprint.server.league;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+class InMemoryLeagueStandingsStoreTest {
+
+    private static final String WEEK = "2022-08-01";
+    private static final LocalDate WEDNESDAY = LocalDate.of(2022, 8, 3);
+
+    private static LeagueStanding member(long memberId) {
+        return new LeagueStanding(memberId, "member" + memberId, memberId * 10, 0, 0);
+    }
+
+    @Test
+    void 기록이_바뀌면_팀_순위표가_다시_정렬된다() {
+        //Given
+        LeagueStandingsStore store = new InMemoryLeagueStandingsStore();
+        store.create(WEEK, 1, Arrays.asList(member(1), member(2), member(3)), null);
+        store.create(WEEK, 2, Arrays.asList(member(4)), null);
+        //등록되지 않은 멤버의 기록은 무시한다
+        store.record(WEEK, Arrays.asList(new LeagueRecord(9L, WEDNESDAY, 5000, 1)));
+
+        //When
+        store.record(WEEK, Arrays.asList(
+                new LeagueRecord(1L, WEDNESDAY, 2000, 1),
+                new LeagueRecord(2L, WEDNESDAY, 3000, 1),
+                new LeagueRecord(1L, WEDNESDAY.plusDays(1), 1500, 1),
+                //같은 날의 이전 값이 늦게 들어와도 더 큰 값을 유지한다
+                new LeagueRecord(2L, WEDNESDAY, 1000, 1)));
+
+        //Then
+        List<LeagueStanding> standings = store.find(WEEK, 1);
+        Assertions.assertEquals(Arrays.asList(1L, 2L, 3L), memberIds(standings));
+        Assertions.assertEquals(3500, standings.get(0).getDistance());
+        Assertions.assertEquals(2, standings.get(0).getCount());
+        Assertions.assertEquals(55, standings.get(0).getScore());
+        Assertions.assertEquals(40, standings.get(1).getScore());
+        Assertions.assertEquals(10L, standings.get(0).getMatchId());
+        Assertions.assertEquals(Arrays.asList(4L), memberIds(store.find(WEEK, 2)));
+        Assertions.assertEquals(2, store.findTeam(WEEK, 4L));
+        Assertions.assertNull(store.findTeam(WEEK, 9L));
+        Assertions.assertNull(store.find(WEEK, 3));
+        Assertions.assertNull(store.find("2022-08-08", 1));
+    }
+
+    @Test
+    void 다시_등록해도_기록이_유지된다() {
+        //Given
+        LeagueStandingsStore store = new InMemoryLeagueStandingsStore();
+        store.create(WEEK, 1, Arrays.asList(member(1)), null);
+        store.record(WEEK, Arrays.asList(new LeagueRecord(1L, WEDNESDAY, 2000, 1)));
+
+        //When
+        store.create(WEEK, 1, Arrays.asList(member(1), member(2)), null);
+
+        //Then
+        List<LeagueStanding> standings = store.find(WEEK, 1);
+        Assertions.assertEquals(Arrays.asList(1L, 2L), memberIds(standings));
+        Assertions.assertEquals(2000, standings.get(0).getDistance());
+    }
+
+    private static List<Long> memberIds(List<LeagueStanding> standings) {
+        return standings.stream().map(LeagueStanding::getMemberId).collect(Collectors.toList());
+    }
+}
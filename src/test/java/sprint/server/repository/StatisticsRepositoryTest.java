@@ -7,12 +7,17 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.transaction.annotation.Transactional;
 import sprint.server.domain.member.Member;
+import sprint.server.domain.member.Provider;
+import sprint.server.domain.member.ProviderPK;
 import sprint.server.domain.statistics.Statistics;
 import sprint.server.domain.statistics.StatisticsType;
 
 import java.sql.Timestamp;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 
 @SpringBootTest
 @Transactional
@@ -70,4 +75,45 @@ class StatisticsRepositoryTest {
 
 
 
-}
\ No newline at end of file
+
+    @Test
+    void 다섯_기간_통계_집계_테스트() {
+        //Given 새 멤버에 종류마다 기간 안의 행과 기간 밖의 행을 만든다
+        Member member = memberRepository.save(new Member(null, new ProviderPK(Provider.KAKAO, "ROLLUP_" + System.nanoTime())));
+        Map<StatisticsType, Double> expected = new EnumMap<>(StatisticsType.class);
+        saveStatistics(member, StatisticsType.Daily, "2022-08-02 00:00:00.0", 100, expected);
+        saveStatistics(member, StatisticsType.Daily, "2022-08-01 00:00:00.0", 1, null);
+        saveStatistics(member, StatisticsType.Weekly, "2022-08-01 00:00:00.0", 200, expected);
+        saveStatistics(member, StatisticsType.Weekly, "2022-07-25 00:00:00.0", 2, null);
+        saveStatistics(member, StatisticsType.Monthly, "2022-08-01 00:00:00.0", 300, expected);
+        saveStatistics(member, StatisticsType.Monthly, "2022-07-01 00:00:00.0", 3, null);
+        saveStatistics(member, StatisticsType.Yearly, "2022-01-01 00:00:00.0", 400, expected);
+        saveStatistics(member, StatisticsType.Yearly, "2021-01-01 00:00:00.0", 4, null);
+        saveStatistics(member, StatisticsType.Totally, null, 500, expected);
+
+        //When 2022-08-02 가 속한 기간으로 조회
+        List<StatisticsRepository.PeriodSum> sums = statisticsRepository.sumRollups(member.getId(),
+                Timestamp.valueOf("2022-08-02 00:00:00.0"), Timestamp.valueOf("2022-08-02 23:59:59.999"),
+                Timestamp.valueOf("2022-08-01 00:00:00.0"), Timestamp.valueOf("2022-08-07 23:59:59.999"),
+                Timestamp.valueOf("2022-08-01 00:00:00.0"), Timestamp.valueOf("2022-08-31 23:59:59.999"),
+                Timestamp.valueOf("2022-01-01 00:00:00.0"), Timestamp.valueOf("2022-12-31 23:59:59.999"));
+
+        //Then 기간 밖의 행은 더해지지 않는다
+        Assertions.assertEquals(StatisticsType.values().length, sums.size());
+        for (StatisticsRepository.PeriodSum sum : sums) {
+            double distance = expected.get(sum.getStatisticsType());
+            Assertions.assertEquals(distance, sum.getDistance());
+            Assertions.assertEquals(distance * 3, sum.getTotalSeconds());
+            Assertions.assertEquals(distance / 10, sum.getEnergy());
+            Assertions.assertEquals(1L, sum.getRowCount());
+        }
+    }
+
+    private void saveStatistics(Member member, StatisticsType statisticsType, String time, double distance,
+                                Map<StatisticsType, Double> expected) {
+        statisticsRepository.save(Statistics.builder().member(member).statisticsType(statisticsType)
+                .distance(distance).totalSeconds(distance * 3).energy(distance / 10).count(1)
+                .time(time == null ? null : Timestamp.valueOf(time)).build());
+        if (expected != null) expected.put(statisticsType, distance);
+    }
+}
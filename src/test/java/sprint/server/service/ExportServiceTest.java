@@ -0,0 +1,150 @@
+package sprint.server.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import sprint.server.domain.Running;
+import sprint.server.domain.RunningRawData;
+import sprint.server.domain.member.Member;
+import sprint.server.domain.member.Provider;
+import sprint.server.domain.member.ProviderPK;
+import sprint.server.domain.track.RunningTrack;
+import sprint.server.domain.track.TrackEncoder;
+import sprint.server.domain.track.TrackTimestamps;
+import sprint.server.repository.MemberRepository;
+import sprint.server.repository.RunningRawDataRepository;
+import sprint.server.repository.RunningRepository;
+import sprint.server.repository.RunningTrackRepository;
+
+import javax.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class ExportServiceTest {
+
+    @Autowired ExportService exportService;
+    @Autowired MemberRepository memberRepository;
+    @Autowired RunningRepository runningRepository;
+    @Autowired RunningTrackRepository runningTrackRepository;
+    @Autowired RunningRawDataRepository runningRawDataRepository;
+    @Autowired EntityManager em;
+
+    private Member member;
+    private Running first;
+    private Running legacy;
+    private Running last;
+
+    @BeforeEach
+    void setUp() {
+        member = memberRepository.save(new Member(null, new ProviderPK(Provider.KAKAO, "EXPORT_" + System.nanoTime())));
+        //트랙 blob 으로 저장된 러닝 -> 로우데이터만 있는 러닝 -> 트랙 blob 으로 저장된 러닝
+        first = running("2022-08-02 07:00:00", 1000, 300, 100);
+        track(first, "2022-08-02 07:00:00.000Z");
+        legacy = running("2022-08-03 07:00:00", 2000, 600, 200);
+        runningRawDataRepository.save(new RunningRawData(legacy, 37.1, 127.1, 3.0, "2022-08-03 07:00:00.000Z"));
+        runningRawDataRepository.save(new RunningRawData(legacy, 37.2, 127.2, 3.0, "not a timestamp"));
+        runningRawDataRepository.save(new RunningRawData(legacy, 37.3, 127.3, 3.0, "2022-08-03 07:00:10.500Z"));
+        last = running("2022-08-04 07:00:00", 3000, 900, 300);
+        track(last, "2022-08-04 07:00:00.000Z");
+        em.flush();
+    }
+
+    @Test
+    void 러닝_CSV_내보내기() throws IOException {
+        //When
+        StringWriter writer = new StringWriter();
+        exportService.writeRunnings(member.getId(), ExportFormat.CSV, writer);
+
+        //Then
+        String[] lines = writer.toString().split("\n");
+        assertEquals(4, lines.length);
+        assertEquals("runningId,startTime,distance,duration,energy", lines[0]);
+        assertEquals(first.getId() + ",2022-08-02 07:00:00.000,1000.0,300.0,100.0", lines[1]);
+        assertEquals(legacy.getId() + ",2022-08-03 07:00:00.000,2000.0,600.0,200.0", lines[2]);
+        assertEquals(last.getId() + ",2022-08-04 07:00:00.000,3000.0,900.0,300.0", lines[3]);
+    }
+
+    @Test
+    void 러닝_GPX_내보내기는_잘못된_로우데이터를_건너뛴다() throws IOException {
+        //When
+        StringWriter writer = new StringWriter();
+        exportService.writeRunnings(member.getId(), ExportFormat.GPX, writer);
+
+        //Then
+        String gpx = writer.toString();
+        assertTrue(gpx.startsWith("<?xml"));
+        assertTrue(gpx.endsWith("</gpx>\n"));
+        int firstTrack = gpx.indexOf("<trk><name>" + first.getId() + "</name>");
+        int legacyTrack = gpx.indexOf("<trk><name>" + legacy.getId() + "</name>");
+        int lastTrack = gpx.indexOf("<trk><name>" + last.getId() + "</name>");
+        assertTrue(0 < firstTrack && firstTrack < legacyTrack && legacyTrack < lastTrack);
+        assertEquals(3, count(gpx, "<trk>"));
+        assertEquals(3, count(gpx, "</trk>"));
+
+        //로우데이터 3개 중 timestamp 가 잘못된 1개는 빠진다
+        String legacyGpx = gpx.substring(legacyTrack, lastTrack);
+        assertEquals(2, count(legacyGpx, "<trkpt"));
+        assertTrue(legacyGpx.contains("<time>2022-08-03T07:00:00.000Z</time>"));
+        assertTrue(legacyGpx.contains("<time>2022-08-03T07:00:10.500Z</time>"));
+        assertTrue(gpx.substring(firstTrack, legacyTrack).contains("<time>2022-08-02T07:00:00.000Z</time>"));
+        assertTrue(gpx.substring(lastTrack).contains("<time>2022-08-04T07:00:00.000Z</time>"));
+    }
+
+    @Test
+    void gzip_내보내기() throws IOException {
+        //Given
+        StringWriter plain = new StringWriter();
+        exportService.writeRunnings(member.getId(), ExportFormat.CSV, plain);
+
+        //When
+        ResponseEntity<StreamingResponseBody> response = exportService.stream("running-" + member.getId(), ExportFormat.CSV, true,
+                writer -> exportService.writeRunnings(member.getId(), ExportFormat.CSV, writer));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        //Then
+        assertEquals("application/gzip", response.getHeaders().getContentType().toString());
+        assertEquals("attachment; filename=\"running-" + member.getId() + ".csv.gz\"",
+                response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            assertEquals(plain.toString(), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private Running running(String startTime, double distance, double duration, double energy) {
+        Running running = new Running();
+        running.setStartTime(Timestamp.valueOf(startTime));
+        running.setDistance(distance);
+        running.setDuration(duration);
+        running.setEnergy(energy);
+        running.setWeight(80);
+        running.setMember(member);
+        return runningRepository.save(running);
+    }
+
+    private void track(Running running, String timestamp) {
+        TrackEncoder encoder = new TrackEncoder();
+        encoder.add(37.5, 127.0, 3.0, TrackTimestamps.toEpochMillis(timestamp));
+        runningTrackRepository.save(new RunningTrack(running.getId(), encoder));
+    }
+
+    private static int count(String value, String token) {
+        int count = 0;
+        for (int i = value.indexOf(token); i >= 0; i = value.indexOf(token, i + 1)) count++;
+        return count;
+    }
+}
@@ -0,0 +1,106 @@
+package sprint.server.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import sprint.server.domain.statistics.StatisticsType;
+import sprint.server.leaderboard.InMemoryLeaderboardStore;
+import sprint.server.leaderboard.LeaderboardStore;
+import sprint.server.repository.MemberRepository;
+import sprint.server.repository.StatisticsRepository;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * DB 없이 리더보드를 채우는 과정만 확인한다 (레포지토리는 필요한 메소드만 응답하는 프록시)
+ */
+class LeaderboardServiceTest {
+
+    @Test
+    void 리더보드_채우기가_실패하면_다음_조회때_다시_채운다() {
+        //Given 첫 번째 채우기는 점수를 반쯤 넣고 실패한다
+        AtomicBoolean failFill = new AtomicBoolean(true);
+        LeaderboardStore store = new InMemoryLeaderboardStore() {
+            @Override
+            public void fill(String board, Map<Long, Double> scores) {
+                if (failFill.getAndSet(false)) {
+                    super.fill(board, Map.of(1L, 100.0));
+                    throw new IllegalStateException("fill failed");
+                }
+                super.fill(board, scores);
+            }
+        };
+        LeaderboardService leaderboardService = leaderboardService(store, new AtomicBoolean(false));
+
+        //When
+        Assertions.assertThrows(IllegalStateException.class, () -> leaderboardService.findTop(StatisticsType.Totally, 10));
+
+        //Then 만들어진 채로 남지 않고 다음 조회때 전체 점수로 채워진다
+        Assertions.assertFalse(store.exists("Totally"));
+        Assertions.assertEquals(2, leaderboardService.findTop(StatisticsType.Totally, 10).size());
+        Assertions.assertTrue(store.exists("Totally"));
+        Assertions.assertEquals(300.0, store.find("Totally", 2L).getScore());
+    }
+
+    @Test
+    void 리더보드_점수_조회가_실패하면_만들어진_리더보드를_지운다() {
+        //Given
+        LeaderboardStore store = new InMemoryLeaderboardStore();
+        AtomicBoolean failRead = new AtomicBoolean(true);
+        LeaderboardService leaderboardService = leaderboardService(store, failRead);
+
+        //When
+        Assertions.assertThrows(IllegalStateException.class, () -> leaderboardService.findTop(StatisticsType.Totally, 10));
+
+        //Then
+        Assertions.assertFalse(store.exists("Totally"));
+        failRead.set(false);
+        Assertions.assertEquals(2, leaderboardService.findTop(StatisticsType.Totally, 10).size());
+    }
+
+    @Test
+    void 현재_리더보드를_지우면_다음_조회때_다시_채운다() {
+        //Given
+        LeaderboardStore store = new InMemoryLeaderboardStore();
+        LeaderboardService leaderboardService = leaderboardService(store, new AtomicBoolean(false));
+        leaderboardService.findTop(StatisticsType.Totally, 10);
+        store.update("Totally", Map.of(1L, 9999.0));
+
+        //When 통계를 다시 계산한 뒤
+        leaderboardService.deleteCurrentBoards();
+
+        //Then
+        Assertions.assertFalse(store.exists("Totally"));
+        leaderboardService.findTop(StatisticsType.Totally, 10);
+        Assertions.assertEquals(100.0, store.find("Totally", 1L).getScore());
+    }
+
+    private static LeaderboardService leaderboardService(LeaderboardStore store, AtomicBoolean failRead) {
+        StatisticsRepository statisticsRepository = proxy(StatisticsRepository.class, method -> {
+            if (!method.equals("findTotalScores")) throw new UnsupportedOperationException(method);
+            if (failRead.get()) throw new IllegalStateException("read failed");
+            return Arrays.asList(score(1L, 100.0), score(2L, 300.0));
+        });
+        MemberRepository memberRepository = proxy(MemberRepository.class, method -> {
+            if (!method.equals("findAllById")) throw new UnsupportedOperationException(method);
+            return Collections.emptyList();
+        });
+        //기간 계산만 사용한다
+        StatisticsService statisticsService = new StatisticsService(null, null, null, null, null);
+        return new LeaderboardService(store, statisticsRepository, statisticsService, null, null, memberRepository);
+    }
+
+    private static StatisticsRepository.MemberScore score(Long memberId, Double distance) {
+        return proxy(StatisticsRepository.MemberScore.class, method -> method.equals("getMemberId") ? (Object) memberId : (Object) distance);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Function<String, Object> answer) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> answer.apply(method.getName()));
+    }
+}
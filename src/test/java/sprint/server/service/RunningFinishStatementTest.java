@@ -0,0 +1,58 @@
+package sprint.server.service;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import sprint.server.controller.datatransferobject.request.FinishRunningRequest;
+import sprint.server.domain.RunningRawData;
+import sprint.server.domain.member.Member;
+import sprint.server.domain.track.TrackTimestamps;
+import sprint.server.event.RunningFinishedHandler;
+import sprint.server.repository.MemberRepository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class RunningFinishStatementTest {
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired RunningService runningService;
+    @Autowired EntityManager entityManager;
+    @Autowired EntityManagerFactory entityManagerFactory;
+    @Autowired List<RunningFinishedHandler> handlers;
+
+    @Test
+    void finishRunning_5000_points() {
+        //Given
+        Member member = memberRepository.findById(1L).orElse(null);
+        long runningId = runningService.addRun(member,"2021-07-02 07:48:26.382");
+        long start = TrackTimestamps.toEpochMillis("2022-08-02 07:48:26.382Z");
+        List<RunningRawData> runningRawData = new ArrayList<>();
+        for(int i = 0; i < 5000; i++){
+            runningRawData.add(new RunningRawData(null, 37.33 + i * 0.00003, 127.02 + i * 0.00002, 3,
+                    TrackTimestamps.toTimestampString(start + i * 1000L)));
+        }
+        FinishRunningRequest request = new FinishRunningRequest(member.getId(), runningId, 5000, runningRawData);
+        entityManager.flush();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        //When
+        runningService.finishRunning(request);
+        entityManager.flush();
+
+        //Then 포인트 개수와 상관없이 트랙 1, 해상도별 트랙 3, outbox 핸들러별 1행만 insert 된다
+        assertEquals(1 + 3 + handlers.size(), statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 10,
+                "prepared statements : " + statistics.getPrepareStatementCount());
+    }
+}
@@ -5,8 +5,11 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.transaction.annotation.Transactional;
+import sprint.server.controller.datatransferobject.request.AddRunningPointsRequest;
 import sprint.server.controller.datatransferobject.request.FinishRunningRequest;
+import sprint.server.controller.exception.ApiException;
 import sprint.server.domain.RunningRawData;
 import sprint.server.domain.Running;
 import sprint.server.domain.member.Member;
@@ -61,6 +64,41 @@ class RunningServiceTest {
     }
 
 
+    @Test
+    void finishRunningInvalidTimestamp() {
+        //Given
+        Member member = memberRepository.findById(1L).orElse(null);
+        long id = runningService.addRun(member,"2021-07-02 07:48:26.382");
+        Running running = runningRepository.findById(id).get();
+        List<RunningRawData> runningRawData = new ArrayList<>();
+        runningRawData.add(new RunningRawData(running,37.33028771,-122.02810514,4.05,"2022-08-02 07:48:26.382Z"));
+        runningRawData.add(new RunningRawData(running,37.33028771,-122.02810514,4.05,"2022-08-02T07:4"));
+        FinishRunningRequest tempRequest = new FinishRunningRequest(member.getId(), id, 3, runningRawData);
+
+        //When
+        ApiException thrown = assertThrows(ApiException.class, () -> runningService.finishRunning(tempRequest));
+
+        //Then
+        assertEquals("RN001", thrown.getErrorCode());
+    }
+
+    @Test
+    void addRunningPointsInvalidTimestamp() {
+        //Given
+        Member member = memberRepository.findById(1L).orElse(null);
+        long id = runningService.addRun(member,"2021-07-02 07:48:26.382");
+        Running running = runningRepository.findById(id).get();
+        List<RunningRawData> runningRawData = new ArrayList<>();
+        runningRawData.add(new RunningRawData(running,37.33028771,-122.02810514,4.05,"2022-08-02 07:xx:26.382Z"));
+        AddRunningPointsRequest request = new AddRunningPointsRequest(member.getId(), 1, runningRawData);
+
+        //When
+        ApiException thrown = assertThrows(ApiException.class, () -> runningService.addRunningPoints(id, request));
+
+        //Then
+        assertEquals("RN001", thrown.getErrorCode());
+    }
+
     @Test
     void fetchRunningPages() throws JsonProcessingException {
         //Given
@@ -99,4 +137,27 @@ class RunningServiceTest {
         assertEquals(runnings.getContent().get(2).getId(),running2Id);
     }
 
-}
\ No newline at end of file
+    @Test
+    void fetchRunningSlice() {
+        //Given
+        Member member = memberRepository.findById(1L).orElse(null);
+        long running1Id = runningService.addRun(member,"2021-07-02 07:48:26.382");
+        long running2Id = runningService.addRun(member,"2021-08-03 07:48:26.382");
+        long running3Id = runningService.addRun(member,"2022-08-01 07:48:26.382");
+        long running4Id = runningService.addRun(member,"2022-08-13 07:48:26.382");
+        List<Member> members = new ArrayList<>();
+        members.add(member);
+
+        //When
+        Slice<Running> first = runningService.fetchRunningSlice(null,members,3);
+        Slice<Running> next = runningService.fetchRunningSlice(running2Id,members,3);
+
+        //Then
+        assertEquals(first.getContent().get(0).getId(),running4Id);
+        assertEquals(first.getContent().get(1).getId(),running3Id);
+        assertEquals(first.getContent().get(2).getId(),running2Id);
+        assertTrue(first.hasNext());
+        assertEquals(next.getContent().get(0).getId(),running1Id);
+    }
+
+}
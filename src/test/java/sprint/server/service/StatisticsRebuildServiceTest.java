@@ -0,0 +1,170 @@
+package sprint.server.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import sprint.server.controller.datatransferobject.response.StatisticsRebuildReport;
+import sprint.server.domain.Running;
+import sprint.server.domain.member.Member;
+import sprint.server.domain.member.Provider;
+import sprint.server.domain.member.ProviderPK;
+import sprint.server.domain.statistics.Statistics;
+import sprint.server.domain.statistics.StatisticsType;
+import sprint.server.repository.MemberRepository;
+import sprint.server.repository.RunningRepository;
+import sprint.server.repository.StatisticsRepository;
+
+import java.sql.Timestamp;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 재계산은 별도 커넥션으로 읽고 쓰므로 테스트 트랜잭션 없이 새 멤버의 데이터를 만들고 지운다
+ */
+@SpringBootTest
+class StatisticsRebuildServiceTest {
+
+    @Autowired StatisticsRebuildService statisticsRebuildService;
+    @Autowired StatisticsRepository statisticsRepository;
+    @Autowired RunningRepository runningRepository;
+    @Autowired MemberRepository memberRepository;
+
+    private Member member;
+    private final List<Running> runnings = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        member = memberRepository.save(new Member(null, new ProviderPK(Provider.KAKAO, "REBUILD_" + System.nanoTime())));
+        //화요일, 수요일 러닝
+        runnings.add(running("2022-08-02 07:00:00", 1000, 300, 100));
+        runnings.add(running("2022-08-03 07:00:00", 2000, 600, 200));
+
+        //맞는 행 : 8/2 일, 월, 년, 전체
+        statistics(StatisticsType.Daily, "2022-08-02 00:00:00", 1000, 300, 100, 1);
+        statistics(StatisticsType.Monthly, "2022-08-01 00:00:00", 3000, 900, 300, 2);
+        statistics(StatisticsType.Yearly, "2022-01-01 00:00:00", 3000, 900, 300, 2);
+        statistics(StatisticsType.Totally, null, 3000, 900, 300, 2);
+        //다른 행 : 주간 거리와 횟수가 어긋남
+        statistics(StatisticsType.Weekly, "2022-08-01 00:00:00", 2500, 900, 300, 3);
+        //남는 행 : 러닝이 없는 날
+        statistics(StatisticsType.Daily, "2022-07-01 00:00:00", 500, 100, 50, 1);
+        //없는 행 : 8/3 일간 통계
+    }
+
+    @AfterEach
+    void tearDown() {
+        statisticsRepository.deleteAll(findStatistics());
+        runningRepository.deleteAll(runnings);
+        memberRepository.delete(member);
+    }
+
+    @Test
+    void 재계산_차이만_확인하면_저장하지_않는다() {
+        //When
+        StatisticsRebuildReport report = statisticsRebuildService.rebuild(false, Collections.singletonList(member.getId()));
+
+        //Then
+        assertFalse(report.isApplied());
+        assertEquals(1, report.getMembers());
+        assertEquals(2, report.getRunnings());
+        assertDiff(report);
+        List<Statistics> statistics = findStatistics();
+        assertEquals(6, statistics.size());
+        assertEquals(2500, find(statistics, StatisticsType.Weekly, "2022-08-01 00:00:00").getDistance());
+        assertNotNull(find(statistics, StatisticsType.Daily, "2022-07-01 00:00:00"));
+    }
+
+    @Test
+    void 재계산_적용하면_러닝_기록대로_다시_저장한다() {
+        //When
+        StatisticsRebuildReport report = statisticsRebuildService.rebuild(true, Collections.singletonList(member.getId()));
+
+        //Then
+        assertTrue(report.isApplied());
+        assertDiff(report);
+        List<Statistics> statistics = findStatistics();
+        assertEquals(6, statistics.size());
+        assertRow(find(statistics, StatisticsType.Daily, "2022-08-02 00:00:00"), 1000, 300, 100, 1);
+        assertRow(find(statistics, StatisticsType.Daily, "2022-08-03 00:00:00"), 2000, 600, 200, 1);
+        assertRow(find(statistics, StatisticsType.Weekly, "2022-08-01 00:00:00"), 3000, 900, 300, 2);
+        assertRow(find(statistics, StatisticsType.Monthly, "2022-08-01 00:00:00"), 3000, 900, 300, 2);
+        assertRow(find(statistics, StatisticsType.Yearly, "2022-01-01 00:00:00"), 3000, 900, 300, 2);
+        assertRow(find(statistics, StatisticsType.Totally, null), 3000, 900, 300, 2);
+        assertNull(find(statistics, StatisticsType.Daily, "2022-07-01 00:00:00"));
+
+        //다시 실행하면 차이가 없다
+        StatisticsRebuildReport again = statisticsRebuildService.rebuild(false, Collections.singletonList(member.getId()));
+        for (StatisticsType statisticsType : StatisticsType.values()) {
+            StatisticsRebuildReport.Diff diff = again.getDiffs().get(statisticsType);
+            assertEquals(0, diff.getChanged() + diff.getMissing() + diff.getExtra(), statisticsType.name());
+        }
+        assertEquals(6, again.getDiffs().values().stream().mapToLong(StatisticsRebuildReport.Diff::getUnchanged).sum());
+    }
+
+    private void assertDiff(StatisticsRebuildReport report) {
+        Map<StatisticsType, StatisticsRebuildReport.Diff> diffs = report.getDiffs();
+        assertEquals(1, diffs.get(StatisticsType.Daily).getUnchanged());
+        assertEquals(1, diffs.get(StatisticsType.Daily).getMissing());
+        assertEquals(1, diffs.get(StatisticsType.Daily).getExtra());
+        assertEquals(0, diffs.get(StatisticsType.Daily).getChanged());
+        assertEquals(1, diffs.get(StatisticsType.Weekly).getChanged());
+        assertEquals(0, diffs.get(StatisticsType.Weekly).getUnchanged());
+        for (StatisticsType statisticsType : EnumSet.of(StatisticsType.Monthly, StatisticsType.Yearly, StatisticsType.Totally)) {
+            StatisticsRebuildReport.Diff diff = diffs.get(statisticsType);
+            assertEquals(1, diff.getUnchanged(), statisticsType.name());
+            assertEquals(0, diff.getChanged() + diff.getMissing() + diff.getExtra(), statisticsType.name());
+        }
+        assertEquals(3, report.getSamples().size());
+    }
+
+    private void assertRow(Statistics statistics, double distance, double totalSeconds, double energy, int count) {
+        assertNotNull(statistics);
+        assertEquals(distance, statistics.getDistance(), 1e-6);
+        assertEquals(totalSeconds, statistics.getTotalSeconds(), 1e-6);
+        assertEquals(energy, statistics.getEnergy(), 1e-6);
+        assertEquals(count, statistics.getCount());
+    }
+
+    private Running running(String startTime, double distance, double duration, double energy) {
+        Running running = new Running();
+        running.setStartTime(Timestamp.valueOf(startTime));
+        running.setDistance(distance);
+        running.setDuration(duration);
+        running.setEnergy(energy);
+        running.setWeight(80);
+        running.setMember(member);
+        return runningRepository.save(running);
+    }
+
+    private void statistics(StatisticsType statisticsType, String time, double distance, double totalSeconds,
+                            double energy, int count) {
+        statisticsRepository.save(Statistics.builder()
+                .member(member)
+                .statisticsType(statisticsType)
+                .time(time == null ? null : Timestamp.valueOf(time))
+                .distance(distance)
+                .totalSeconds(totalSeconds)
+                .energy(energy)
+                .count(count)
+                .build());
+    }
+
+    private List<Statistics> findStatistics() {
+        List<Statistics> statistics = new ArrayList<>();
+        for (StatisticsType statisticsType : StatisticsType.values()) {
+            statistics.addAll(statisticsRepository.findAllByStatisticsTypeAndMemberId(statisticsType, member.getId()));
+        }
+        return statistics;
+    }
+
+    private Statistics find(List<Statistics> statistics, StatisticsType statisticsType, String time) {
+        for (Statistics statistic : statistics) {
+            if (statistic.getStatisticsType() != statisticsType) continue;
+            if (time == null || statistic.getTime() != null && statistic.getTime().equals(Timestamp.valueOf(time))) return statistic;
+        }
+        return null;
+    }
+}
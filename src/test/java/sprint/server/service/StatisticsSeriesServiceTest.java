@@ -0,0 +1,109 @@
+package sprint.server.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import sprint.server.controller.datatransferobject.response.RangeStatisticsResponse;
+import sprint.server.controller.exception.ApiException;
+import sprint.server.domain.Running;
+import sprint.server.domain.member.Member;
+import sprint.server.domain.member.Provider;
+import sprint.server.domain.member.ProviderPK;
+import sprint.server.repository.MemberDailyTotalRepository;
+import sprint.server.repository.MemberRepository;
+import sprint.server.repository.RunningRepository;
+
+import javax.persistence.EntityManager;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+
+@SpringBootTest
+@Transactional
+class StatisticsSeriesServiceTest {
+
+    @Autowired StatisticsSeriesService statisticsSeriesService;
+    @Autowired RunningRepository runningRepository;
+    @Autowired MemberRepository memberRepository;
+    @Autowired MemberDailyTotalRepository memberDailyTotalRepository;
+    @Autowired EntityManager em;
+
+    private Running finishRunning(Member member, String startTime, double distance) {
+        Running running = new Running();
+        running.setStartTime(Timestamp.valueOf(startTime));
+        running.setDistance(distance);
+        running.setDuration(600);
+        running.setEnergy(100);
+        running.setWeight(80);
+        running.setMember(member);
+        runningRepository.save(running);
+        statisticsSeriesService.addRunning(running);
+        //누적 기록은 update 쿼리로 바뀌므로 다음 조회에서 다시 읽도록 비운다
+        em.flush();
+        em.clear();
+        return running;
+    }
+
+    @Test
+    void 기간_통계_테스트() {
+        //Given
+        Member member = memberRepository.findById(1L).orElse(null);
+        finishRunning(member, "2001-01-01 07:00:00.000", 1000);
+        finishRunning(member, "2001-01-03 07:00:00.000", 2000);
+        finishRunning(member, "2001-01-03 19:00:00.000", 3000);
+        //이전 날짜의 러닝이 나중에 들어오는 경우
+        finishRunning(member, "2001-01-02 07:00:00.000", 500);
+
+        //When
+        RangeStatisticsResponse all = statisticsSeriesService.findRange(member.getId(), LocalDate.of(2001, 1, 1), LocalDate.of(2001, 1, 31));
+        RangeStatisticsResponse last = statisticsSeriesService.findRange(member.getId(), LocalDate.of(2001, 1, 2), LocalDate.of(2001, 1, 3));
+        RangeStatisticsResponse empty = statisticsSeriesService.findRange(member.getId(), LocalDate.of(2001, 1, 4), LocalDate.of(2001, 1, 31));
+
+        //Then
+        Assertions.assertEquals(6500, all.getDistance(), 1e-6);
+        Assertions.assertEquals(4, all.getCount());
+        Assertions.assertEquals(5500, last.getDistance(), 1e-6);
+        Assertions.assertEquals(1800, last.getTotalSeconds(), 1e-6);
+        Assertions.assertEquals(3, last.getCount());
+        Assertions.assertEquals(0, empty.getDistance(), 1e-6);
+        Assertions.assertEquals(0, empty.getCount());
+    }
+
+    @Test
+    void 누적_기록이_없는_멤버는_저장하지_않고_계산한다() {
+        //Given
+        Member empty = memberRepository.save(new Member(null, new ProviderPK(Provider.KAKAO, "S_" + System.nanoTime())));
+        Member old = memberRepository.save(new Member(null, new ProviderPK(Provider.KAKAO, "S_" + System.nanoTime())));
+        //누적 기록 도입 전에 끝난 러닝 (addRunning 을 거치지 않음)
+        for (String startTime : new String[]{"2001-01-01 07:00:00.000", "2001-01-03 07:00:00.000"}) {
+            Running running = new Running();
+            running.setStartTime(Timestamp.valueOf(startTime));
+            running.setDistance(1000);
+            running.setDuration(600);
+            running.setEnergy(100);
+            running.setWeight(80);
+            running.setMember(old);
+            runningRepository.save(running);
+        }
+        em.flush();
+        em.clear();
+
+        //When
+        RangeStatisticsResponse none = statisticsSeriesService.findRange(empty.getId(), LocalDate.of(2001, 1, 1), LocalDate.of(2001, 1, 31));
+        RangeStatisticsResponse last = statisticsSeriesService.findRange(old.getId(), LocalDate.of(2001, 1, 2), LocalDate.of(2001, 1, 31));
+
+        //Then
+        Assertions.assertEquals(0, none.getCount());
+        Assertions.assertEquals(1000, last.getDistance(), 1e-6);
+        Assertions.assertEquals(1, last.getCount());
+        Assertions.assertFalse(memberDailyTotalRepository.existsByMemberId(empty.getId()));
+        Assertions.assertFalse(memberDailyTotalRepository.existsByMemberId(old.getId()));
+    }
+
+    @Test
+    void 잘못된_기간_테스트() {
+        Assertions.assertThrows(ApiException.class,
+                () -> statisticsSeriesService.findRange(1L, LocalDate.of(2001, 1, 2), LocalDate.of(2001, 1, 1)));
+    }
+}
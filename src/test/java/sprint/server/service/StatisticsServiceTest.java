@@ -5,19 +5,30 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.Rollback;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import sprint.server.controller.datatransferobject.response.StatisticsInfoVO;
 import sprint.server.domain.Running;
 import sprint.server.domain.member.Member;
+import sprint.server.domain.member.Provider;
+import sprint.server.domain.member.ProviderPK;
+import sprint.server.domain.outbox.OutboxEvent;
+import sprint.server.domain.outbox.OutboxStatus;
+import sprint.server.domain.statistics.Statistics;
 import sprint.server.domain.statistics.StatisticsType;
 import sprint.server.repository.MemberRepository;
+import sprint.server.repository.OutboxEventRepository;
 import sprint.server.repository.RunningRepository;
+import sprint.server.repository.StatisticsRepository;
 
+import javax.persistence.EntityManager;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.List;
+import java.util.Map;
 
 @SpringBootTest
 @Transactional
@@ -26,6 +37,10 @@ class StatisticsServiceTest {
     @Autowired StatisticsService statisticsService;
     @Autowired RunningRepository runningRepository;
     @Autowired MemberRepository memberRepository;
+    @Autowired EntityManager em;
+    @Autowired StatisticsAccumulator statisticsAccumulator;
+    @Autowired OutboxEventRepository outboxEventRepository;
+    @Autowired StatisticsRepository statisticsRepository;
             ;
     @Test
     void 기본_MonthlyStreak_테스트() {
@@ -42,9 +57,9 @@ class StatisticsServiceTest {
         running.setMember(member);
         runningRepository.save(running);
 
-        statisticsService.updateStatistics(running, StatisticsType.Daily);
-        statisticsService.updateStatistics(running, StatisticsType.Weekly);
-        statisticsService.updateStatistics(running, StatisticsType.Monthly);
+        saveStatistics(running, StatisticsType.Daily);
+        saveStatistics(running, StatisticsType.Weekly);
+        saveStatistics(running, StatisticsType.Monthly);
 
         //When
         List<Double> result = statisticsService.findMonthlyStreak(member.getId(), Calendar.getInstance());
@@ -69,9 +84,9 @@ class StatisticsServiceTest {
         running.setMember(member);
         runningRepository.save(running);
 
-        statisticsService.updateStatistics(running, StatisticsType.Daily);
-        statisticsService.updateStatistics(running, StatisticsType.Weekly);
-        statisticsService.updateStatistics(running, StatisticsType.Monthly);
+        saveStatistics(running, StatisticsType.Daily);
+        saveStatistics(running, StatisticsType.Weekly);
+        saveStatistics(running, StatisticsType.Monthly);
 
         Calendar calendar = Calendar.getInstance();
         calendar.setTime(Timestamp.valueOf("2021-08-02 07:48:29.391"));
@@ -88,4 +103,125 @@ class StatisticsServiceTest {
     }
 
 
-}
\ No newline at end of file
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void 러닝_통계_한번에_누적_테스트() {
+
+        //Given 통계는 커밋 후에 모이므로 테스트 트랜잭션 없이 실행한다
+        Member member = memberRepository.findById(1L).orElse(null);
+        Calendar calendar = Calendar.getInstance();
+        statisticsAccumulator.flush();
+        Map<StatisticsType, StatisticsInfoVO> before = statisticsService.findAllStatistics(member.getId(), calendar);
+
+        List<OutboxEvent> outboxEvents = new ArrayList<>();
+        try {
+            //When 두 러닝을 모았다가 한번에 반영한다
+            for (int i = 0; i < 2; i++) {
+                Running running = new Running();
+                running.setStartTime(new Timestamp(calendar.getTimeInMillis()));
+                running.setDistance(1000);
+                running.setDuration(300);
+                running.setEnergy(100);
+                running.setWeight(80);
+                running.setMember(member);
+                runningRepository.save(running);
+                OutboxEvent outboxEvent = outboxEventRepository.save(new OutboxEvent("statistics", running.getId(),
+                        member.getId(), new Timestamp(System.currentTimeMillis())));
+                outboxEvents.add(outboxEvent);
+                statisticsService.accumulateStatistics(running, outboxEvent.getId());
+            }
+            int flushed = statisticsAccumulator.flush();
+            Map<StatisticsType, StatisticsInfoVO> after = statisticsService.findAllStatistics(member.getId(), calendar);
+
+            //Then
+            Assertions.assertEquals(2, flushed);
+            for (StatisticsType statisticsType : StatisticsType.values()) {
+                Assertions.assertEquals(before.get(statisticsType).getDistance() + 2000, after.get(statisticsType).getDistance(), 1e-6);
+                Assertions.assertEquals(before.get(statisticsType).getTotalSeconds() + 600, after.get(statisticsType).getTotalSeconds(), 1e-6);
+                Assertions.assertEquals(before.get(statisticsType).getEnergy() + 200, after.get(statisticsType).getEnergy(), 1e-6);
+            }
+        } finally {
+            outboxEventRepository.deleteAll(outboxEvents);
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void 같은_outbox_행이_다시_실행되어도_한번만_누적된다() {
+
+        //Given 통계는 커밋 후에 모이므로 테스트 트랜잭션 없이 실행한다
+        Member member = memberRepository.findById(1L).orElse(null);
+        Calendar calendar = Calendar.getInstance();
+        statisticsAccumulator.flush();
+        Map<StatisticsType, StatisticsInfoVO> before = statisticsService.findAllStatistics(member.getId(), calendar);
+
+        Running running = new Running();
+        running.setStartTime(new Timestamp(calendar.getTimeInMillis()));
+        running.setDistance(1000);
+        running.setDuration(300);
+        running.setEnergy(100);
+        running.setWeight(80);
+        running.setMember(member);
+        runningRepository.save(running);
+        OutboxEvent outboxEvent = outboxEventRepository.save(new OutboxEvent("statistics", running.getId(), member.getId(),
+                new Timestamp(System.currentTimeMillis())));
+
+        try {
+            //When 리스가 만료되어 flush 전에 한번, flush 후에 한번 더 실행된다
+            statisticsService.accumulateStatistics(running, outboxEvent.getId());
+            statisticsService.accumulateStatistics(running, outboxEvent.getId());
+            int first = statisticsAccumulator.flush();
+            statisticsService.accumulateStatistics(running, outboxEvent.getId());
+            int second = statisticsAccumulator.flush();
+            Map<StatisticsType, StatisticsInfoVO> after = statisticsService.findAllStatistics(member.getId(), calendar);
+
+            //Then
+            Assertions.assertEquals(1, first);
+            Assertions.assertEquals(0, second);
+            Assertions.assertEquals(OutboxStatus.DONE, outboxEventRepository.findById(outboxEvent.getId()).get().getStatus());
+            for (StatisticsType statisticsType : StatisticsType.values()) {
+                Assertions.assertEquals(before.get(statisticsType).getDistance() + 1000, after.get(statisticsType).getDistance(), 1e-6);
+                Assertions.assertEquals(before.get(statisticsType).getTotalSeconds() + 300, after.get(statisticsType).getTotalSeconds(), 1e-6);
+                Assertions.assertEquals(before.get(statisticsType).getEnergy() + 100, after.get(statisticsType).getEnergy(), 1e-6);
+            }
+        } finally {
+            outboxEventRepository.deleteById(outboxEvent.getId());
+        }
+    }
+
+    @Test
+    void 통계_행이_없는_기간은_0으로_조회된다() {
+        //Given 쉬는 날이라 일간 행이 없고 주간, 전체 행만 있는 멤버
+        Member member = memberRepository.save(new Member(null, new ProviderPK(Provider.KAKAO, "ROLLUP_" + System.nanoTime())));
+        statisticsRepository.save(Statistics.builder().member(member).statisticsType(StatisticsType.Weekly)
+                .time(Timestamp.valueOf("2022-08-01 00:00:00.0")).distance(2000).totalSeconds(600).energy(200).count(2).build());
+        statisticsRepository.save(Statistics.builder().member(member).statisticsType(StatisticsType.Totally)
+                .distance(5000).totalSeconds(1500).energy(500).count(5).build());
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTime(Timestamp.valueOf("2022-08-03 12:00:00.0"));
+
+        //When
+        Map<StatisticsType, StatisticsInfoVO> result = statisticsService.findAllStatistics(member.getId(), calendar);
+
+        //Then
+        Assertions.assertEquals(0, result.get(StatisticsType.Daily).getDistance());
+        Assertions.assertEquals(2000, result.get(StatisticsType.Weekly).getDistance());
+        Assertions.assertEquals(600, result.get(StatisticsType.Weekly).getTotalSeconds());
+        Assertions.assertEquals(0, result.get(StatisticsType.Monthly).getDistance());
+        Assertions.assertEquals(0, result.get(StatisticsType.Yearly).getDistance());
+        Assertions.assertEquals(5000, result.get(StatisticsType.Totally).getDistance());
+    }
+
+    private void saveStatistics(Running running, StatisticsType statisticsType) {
+        statisticsRepository.save(Statistics.builder()
+                .member(running.getMember())
+                .statisticsType(statisticsType)
+                .time(new Timestamp(statisticsService.getCalendarStart(running.getStartTime(), statisticsType).getTimeInMillis()))
+                .distance(running.getDistance())
+                .totalSeconds(running.getDuration())
+                .energy(running.getEnergy())
+                .count(1)
+                .build());
+    }
+}
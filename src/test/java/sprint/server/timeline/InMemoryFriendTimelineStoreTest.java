@@ -0,0 +1,49 @@
+package sprint.server.timeline;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+class InMemoryFriendTimelineStoreTest {
+
+    @Test
+    void 타임라인_저장_조회_테스트() {
+        //Given
+        FriendTimelineStore store = new InMemoryFriendTimelineStore();
+        store.rebuild(1L, Arrays.asList(3L, 1L, 2L));
+        store.rebuild(2L, Collections.emptyList());
+
+        //When
+        store.push(Arrays.asList(1L, 2L, 3L), 10L);
+        store.push(Arrays.asList(1L, 2L), 10L);
+
+        //Then 만들어진 타임라인에만 한번씩 들어간다
+        Assertions.assertEquals(Arrays.asList(10L, 3L, 2L), store.read(1L, null, 3));
+        Assertions.assertEquals(Collections.singletonList(1L), store.read(1L, 2L, 3));
+        Assertions.assertEquals(Collections.singletonList(10L), store.read(2L, null, 3));
+        Assertions.assertFalse(store.exists(3L));
+        Assertions.assertTrue(store.read(3L, null, 3).isEmpty());
+    }
+
+    @Test
+    void 타임라인_최대_개수_테스트() {
+        //Given
+        FriendTimelineStore store = new InMemoryFriendTimelineStore();
+        List<Long> runningIds = LongStream.rangeClosed(1, FriendTimelineStore.CAPACITY).boxed().collect(Collectors.toList());
+        store.rebuild(1L, runningIds);
+
+        //When
+        store.push(Collections.singletonList(1L), FriendTimelineStore.CAPACITY + 1L);
+
+        //Then 가장 오래된 러닝부터 밀려난다
+        Assertions.assertEquals(FriendTimelineStore.CAPACITY, store.size(1L));
+        Assertions.assertEquals(Collections.singletonList(2L), store.read(1L, 3L, 3));
+        store.evict(1L);
+        Assertions.assertFalse(store.exists(1L));
+    }
+}